@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.benchmarks;
+
+import org.gwtproject.uibinder.processor.UiBinderProcessor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles sources in process with javac, running the {@link UiBinderProcessor}, against the class
+ * path of the running VM.
+ */
+class Compilation {
+
+  /**
+   * Deletes a directory and everything in it.
+   */
+  static void delete(File directory) throws IOException {
+    if (!directory.exists()) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(directory.toPath())) {
+      for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+  private final List<File> sources;
+  private final List<File> sourcePath;
+  private final List<String> processorOptions = new ArrayList<>();
+
+  private long generatedBinders;
+  private long generatedBytes;
+
+  /**
+   * @param sources the sources to compile
+   * @param sourcePath where to find templates, and the sources they depend on
+   */
+  Compilation(List<File> sources, List<File> sourcePath) {
+    if (compiler == null) {
+      throw new IllegalStateException("No system Java compiler, run on a JDK");
+    }
+    this.sources = sources;
+    this.sourcePath = sourcePath;
+  }
+
+  /**
+   * Adds an {@code -A} option for the processor.
+   */
+  Compilation withOption(String name, String value) {
+    processorOptions.add("-A" + name + "=" + value);
+    return this;
+  }
+
+  /**
+   * Compiles the sources into a fresh directory, which is deleted afterwards.
+   *
+   * @throws IllegalStateException if the compilation fails
+   */
+  void run() throws IOException {
+    File output = Files.createTempDirectory("uibinder-benchmark").toFile();
+    try {
+      File classes = new File(output, "classes");
+      File generated = new File(output, "generated");
+      if (!classes.mkdir() || !generated.mkdir()) {
+        throw new IOException("Unable to create " + output);
+      }
+
+      List<String> options = new ArrayList<>(Arrays.asList(
+          "-nowarn", "-source", "8", "-target", "8",
+          "-classpath", System.getProperty("java.class.path"),
+          "-d", classes.getPath(), "-s", generated.getPath()));
+      options.add("-sourcepath");
+      options.add(join(sourcePath));
+      options.addAll(processorOptions);
+
+      DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+      try (StandardJavaFileManager fileManager =
+          compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+        CompilationTask task = compiler.getTask(new StringWriter(), fileManager, diagnostics,
+            options, null, fileManager.getJavaFileObjectsFromFiles(sources));
+        task.setProcessors(Collections.singletonList(new UiBinderProcessor()));
+        if (!task.call()) {
+          throw new IllegalStateException("Compilation failed: " + diagnostics.getDiagnostics());
+        }
+      }
+
+      countGenerated(generated);
+    } finally {
+      delete(output);
+    }
+  }
+
+  /**
+   * Returns the number of binder implementations generated by all runs so far.
+   */
+  long getGeneratedBinders() {
+    return generatedBinders;
+  }
+
+  /**
+   * Returns the size of all sources generated by all runs so far.
+   */
+  long getGeneratedBytes() {
+    return generatedBytes;
+  }
+
+  private void countGenerated(File generated) throws IOException {
+    try (Stream<Path> paths = Files.walk(generated.toPath())) {
+      for (Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+        generatedBytes += Files.size(path);
+        if (path.getFileName().toString().endsWith("BinderImpl.java")) {
+          generatedBinders++;
+        }
+      }
+    }
+  }
+
+  private static String join(List<File> files) {
+    StringBuilder path = new StringBuilder();
+    for (File file : files) {
+      if (path.length() > 0) {
+        path.append(File.pathSeparatorChar);
+      }
+      path.append(file.getPath());
+    }
+    return path.toString();
+  }
+}
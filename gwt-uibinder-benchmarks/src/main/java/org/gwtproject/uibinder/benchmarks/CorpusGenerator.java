@@ -0,0 +1,245 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a synthetic corpus of UiBinder owner classes and their templates, all using the legacy
+ * widgets of gwt-user, so that it compiles without anything but the processor's own dependencies.
+ *
+ * <p>Each binder has a tree of panels {@link #nestingDepth} deep, where each panel has {@link
+ * #fanOut} children, and the leaves are widgets picked from the {@link WidgetMix}. The template
+ * also has a {@code ui:style} of {@link #styleRules} rules, {@link #messages} {@code ui:msg}
+ * elements, and {@link #handlers} buttons with a {@code @UiHandler} each.
+ */
+public class CorpusGenerator {
+
+  /**
+   * The widgets the leaves of the templates are made of.
+   */
+  public enum WidgetMix {
+    /**
+     * Labels only.
+     */
+    LABELS("Label"),
+    /**
+     * Common form widgets.
+     */
+    FORM("Label", "TextBox", "CheckBox", "ListBox", "Button"),
+    /**
+     * Form widgets, and widgets with HTML content.
+     */
+    MIXED("Label", "TextBox", "CheckBox", "HTML", "Anchor", "Image", "ListBox", "InlineLabel");
+
+    private final String[] widgets;
+
+    WidgetMix(String... widgets) {
+      this.widgets = widgets;
+    }
+  }
+
+  private static final String[] PANELS = {"FlowPanel", "VerticalPanel", "HorizontalPanel",
+      "SimplePanel"};
+
+  private static final String PACKAGE = "org.gwtproject.uibinder.benchmarks.corpus";
+
+  private int binders = 10;
+  private int nestingDepth = 3;
+  private int fanOut = 3;
+  private WidgetMix widgetMix = WidgetMix.MIXED;
+  private int styleRules = 10;
+  private int messages = 2;
+  private int handlers = 2;
+
+  public CorpusGenerator binders(int binders) {
+    this.binders = binders;
+    return this;
+  }
+
+  public CorpusGenerator nestingDepth(int nestingDepth) {
+    this.nestingDepth = nestingDepth;
+    return this;
+  }
+
+  public CorpusGenerator fanOut(int fanOut) {
+    this.fanOut = fanOut;
+    return this;
+  }
+
+  public CorpusGenerator widgetMix(WidgetMix widgetMix) {
+    this.widgetMix = widgetMix;
+    return this;
+  }
+
+  public CorpusGenerator styleRules(int styleRules) {
+    this.styleRules = styleRules;
+    return this;
+  }
+
+  public CorpusGenerator messages(int messages) {
+    this.messages = messages;
+    return this;
+  }
+
+  public CorpusGenerator handlers(int handlers) {
+    this.handlers = handlers;
+    return this;
+  }
+
+  /**
+   * Writes the corpus below the given source root.
+   *
+   * @return the owner classes, to compile
+   */
+  public List<File> generate(File sourceRoot) throws IOException {
+    File packageDir = new File(sourceRoot, PACKAGE.replace('.', File.separatorChar));
+    if (!packageDir.isDirectory() && !packageDir.mkdirs()) {
+      throw new IOException("Unable to create " + packageDir);
+    }
+
+    List<File> owners = new ArrayList<>();
+    for (int i = 0; i < binders; i++) {
+      String className = "Binder" + i;
+      File owner = new File(packageDir, className + ".java");
+      write(owner, ownerClass(className));
+      write(new File(packageDir, className + ".ui.xml"), template(i));
+      owners.add(owner);
+    }
+    return owners;
+  }
+
+  private String ownerClass(String className) {
+    StringBuilder java = new StringBuilder();
+    java.append("package ").append(PACKAGE).append(";\n\n")
+        .append("import org.gwtproject.uibinder.client.UiBinder;\n")
+        .append("import org.gwtproject.uibinder.client.UiField;\n")
+        .append("import org.gwtproject.uibinder.client.UiHandler;\n")
+        .append("import org.gwtproject.uibinder.client.UiTemplate;\n\n")
+        .append("import com.google.gwt.event.dom.client.ClickEvent;\n")
+        .append("import com.google.gwt.user.client.ui.Button;\n")
+        .append("import com.google.gwt.user.client.ui.Label;\n")
+        .append("import com.google.gwt.user.client.ui.Widget;\n\n")
+        .append("public class ").append(className).append(" {\n\n")
+        .append("  @UiTemplate(legacyWidgets = true)\n")
+        .append("  interface Binder extends UiBinder<Widget, ").append(className).append("> {\n")
+        .append("  }\n\n")
+        .append("  @UiField Label title;\n");
+    for (int i = 0; i < handlers; i++) {
+      java.append("  @UiField Button button").append(i).append(";\n");
+    }
+    for (int i = 0; i < handlers; i++) {
+      java.append("\n  @UiHandler(\"button").append(i).append("\")\n")
+          .append("  void onButton").append(i).append("Click(ClickEvent event) {\n")
+          .append("    title.setText(\"").append(i).append("\");\n")
+          .append("  }\n");
+    }
+    return java.append("}\n").toString();
+  }
+
+  private String template(int binder) {
+    StringBuilder xml = new StringBuilder();
+    xml.append("<!DOCTYPE ui:UiBinder SYSTEM \"http://dl.google.com/gwt/DTD/xhtml.ent\">\n")
+        .append("<ui:UiBinder xmlns:ui='urn:ui:com.google.gwt.uibinder'\n")
+        .append("  xmlns:g='urn:import:com.google.gwt.user.client.ui'>\n");
+
+    if (styleRules > 0) {
+      xml.append("  <ui:style>\n");
+      for (int i = 0; i < styleRules; i++) {
+        xml.append("    .rule").append(i).append(" {\n")
+            .append("      padding: ").append(i % 8).append("px;\n")
+            .append("      color: #").append(String.format("%06x", (binder * 31 + i) & 0xffffff))
+            .append(";\n")
+            .append("    }\n");
+      }
+      xml.append("  </ui:style>\n");
+    }
+
+    xml.append("  <g:HTMLPanel>\n")
+        .append("    <h1><g:Label ui:field='title'>Binder ").append(binder)
+        .append("</g:Label></h1>\n");
+    for (int i = 0; i < messages; i++) {
+      xml.append("    <p><b><ui:msg description='message ").append(i).append("'>Message ").append(i)
+          .append(" of binder ").append(binder).append(".</ui:msg></b></p>\n");
+    }
+    for (int i = 0; i < handlers; i++) {
+      xml.append("    <g:Button ui:field='button").append(i).append("'>Button ").append(i)
+          .append("</g:Button>\n");
+    }
+
+    int[] leaf = {0};
+    appendPanel(xml, "    ", 0, leaf);
+    return xml.append("  </g:HTMLPanel>\n")
+        .append("</ui:UiBinder>\n").toString();
+  }
+
+  private void appendPanel(StringBuilder xml, String indent, int depth, int[] leaf) {
+    if (depth == nestingDepth) {
+      appendWidget(xml, indent, leaf[0]++);
+      return;
+    }
+
+    // a SimplePanel only takes one child
+    String panel = fanOut == 1 ? PANELS[depth % PANELS.length]
+        : PANELS[depth % (PANELS.length - 1)];
+    xml.append(indent).append("<g:").append(panel);
+    if (styleRules > 0) {
+      xml.append(" styleName='{style.rule").append(depth % styleRules).append("}'");
+    }
+    xml.append(">\n");
+    for (int i = 0; i < fanOut; i++) {
+      appendPanel(xml, indent + "  ", depth + 1, leaf);
+    }
+    xml.append(indent).append("</g:").append(panel).append(">\n");
+  }
+
+  private void appendWidget(StringBuilder xml, String indent, int leaf) {
+    String widget = widgetMix.widgets[leaf % widgetMix.widgets.length];
+    xml.append(indent);
+    switch (widget) {
+      case "Image":
+        xml.append("<g:Image url='leaf").append(leaf).append(".png' altText='leaf ")
+            .append(leaf).append("'/>");
+        break;
+      case "TextBox":
+        xml.append("<g:TextBox visibleLength='").append(10 + leaf % 20).append("'/>");
+        break;
+      case "ListBox":
+        xml.append("<g:ListBox visibleItemCount='").append(1 + leaf % 5).append("'/>");
+        break;
+      case "HTML":
+        xml.append("<g:HTML>Leaf <b>").append(leaf).append("</b></g:HTML>");
+        break;
+      case "Anchor":
+        xml.append("<g:Anchor href='#leaf").append(leaf).append("'>Leaf ").append(leaf)
+            .append("</g:Anchor>");
+        break;
+      default:
+        xml.append("<g:").append(widget).append(" text='Leaf ").append(leaf).append("'/>");
+        break;
+    }
+    xml.append('\n');
+  }
+
+  private static void write(File file, String content) throws IOException {
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The binders of the example project, compiled along with the synthetic corpus.
+ *
+ * <p>They are read from the example project in the source tree, at the path of the {@value
+ * #EXAMPLES_PROPERTY} system property, which defaults to the one next to the working directory.
+ */
+class Examples {
+
+  static final String EXAMPLES_PROPERTY = "uibinder.examples";
+
+  private static final String DEFAULT_EXAMPLES = "../gwt-uibinder-example";
+
+  private static final String VIEWS = "org/gwtproject/uibinder/example/view/impl";
+
+  private final File client;
+  private final File shared;
+
+  Examples() {
+    File root = new File(System.getProperty(EXAMPLES_PROPERTY, DEFAULT_EXAMPLES));
+    client = new File(root, "gwt-uibinder-example-client/src/main");
+    shared = new File(root, "gwt-uibinder-example-shared/src/main");
+  }
+
+  /**
+   * Returns the owner classes of the example templates, or nothing if the examples are not found.
+   * The classes they depend on are compiled from the {@link #getSourcePath() source path}.
+   */
+  List<File> getOwnerClasses() {
+    File[] owners = new File(client, "java/" + VIEWS)
+        .listFiles((dir, name) -> name.endsWith("Impl.java"));
+    if (owners == null) {
+      return new ArrayList<>();
+    }
+    Arrays.sort(owners);
+    return Arrays.asList(owners);
+  }
+
+  /**
+   * Returns the directories of the example sources and templates.
+   */
+  List<File> getSourcePath() {
+    return Arrays.asList(new File(client, "java"), new File(client, "resources"),
+        new File(shared, "java"));
+  }
+}
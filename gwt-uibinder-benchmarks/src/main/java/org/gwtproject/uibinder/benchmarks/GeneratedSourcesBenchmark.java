@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.benchmarks;
+
+import org.gwtproject.uibinder.benchmarks.CorpusGenerator.WidgetMix;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates binders whose output is mostly the client bundle, CSS resource and messages
+ * interface: templates with large {@code ui:style} blocks and many {@code ui:msg}, and few
+ * widgets.
+ *
+ * <p>The {@code bytes} counter is the size of the generated sources per second. The writers only
+ * run within a compilation, so this includes compiling the owner classes and generated sources;
+ * use {@code -Auibinder.profile} to split the time of a single build by phase.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class GeneratedSourcesBenchmark {
+
+  /**
+   * The size of the generated sources, reported as a rate.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Counters {
+
+    public long bytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      bytes = 0;
+    }
+  }
+
+  @Param("20")
+  public int binders;
+
+  @Param("100")
+  public int styleRules;
+
+  @Param("20")
+  public int messages;
+
+  /**
+   * The value of {@code -Auibinder.compactOutput}.
+   */
+  @Param({"false", "true"})
+  public boolean compactOutput;
+
+  private File corpus;
+  private Compilation compilation;
+
+  @Setup(Level.Trial)
+  public void generateCorpus() throws IOException {
+    corpus = Files.createTempDirectory("uibinder-corpus").toFile();
+    compilation = new Compilation(new CorpusGenerator()
+        .binders(binders)
+        .nestingDepth(1)
+        .fanOut(2)
+        .widgetMix(WidgetMix.LABELS)
+        .styleRules(styleRules)
+        .messages(messages)
+        .handlers(0)
+        .generate(corpus), Collections.singletonList(corpus))
+        .withOption("uibinder.compactOutput", String.valueOf(compactOutput));
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteCorpus() throws IOException {
+    Compilation.delete(corpus);
+  }
+
+  @Benchmark
+  public void compile(Counters counters) throws IOException {
+    long before = compilation.getGeneratedBytes();
+    compilation.run();
+    counters.bytes += compilation.getGeneratedBytes() - before;
+  }
+}
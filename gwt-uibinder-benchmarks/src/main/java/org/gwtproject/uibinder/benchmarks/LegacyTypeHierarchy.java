@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+
+/**
+ * The type hierarchy helpers of {@code AptUtil} as they were before the per-round index, as the
+ * baseline of {@link TypeHierarchyBenchmark}: supertypes are deduplicated with {@code
+ * List.contains}, and each method is checked against every method kept so far.
+ */
+class LegacyTypeHierarchy {
+
+  private final Elements elements;
+
+  LegacyTypeHierarchy(Elements elements) {
+    this.elements = elements;
+  }
+
+  List<? extends TypeMirror> getFlattenedSupertypeHierarchy(TypeMirror type) {
+    List<TypeMirror> superTypes = new ArrayList<>();
+
+    if (type == null) {
+      return superTypes;
+    }
+
+    Deque<TypeMirror> stack = new ArrayDeque<>();
+    stack.push(type);
+
+    while (!stack.isEmpty()) {
+      TypeElement current = asTypeElement(stack.pop());
+
+      TypeMirror superTypeClass = current.getSuperclass();
+      if (superTypeClass != null && superTypeClass.getKind() != TypeKind.NONE) {
+        if (!superTypes.contains(superTypeClass)) {
+          stack.push(superTypeClass);
+          superTypes.add(superTypeClass);
+        }
+      }
+
+      for (TypeMirror superTypeInterface : current.getInterfaces()) {
+        if (!superTypes.contains(superTypeInterface)) {
+          stack.push(superTypeInterface);
+          superTypes.add(superTypeInterface);
+        }
+      }
+    }
+
+    return superTypes;
+  }
+
+  List<? extends ExecutableElement> getInheritableMethods(TypeMirror type) {
+    Map<ExecutableElement, TypeElement> inheritableMethods = new LinkedHashMap<>();
+
+    List<TypeMirror> typeHierarchy = new ArrayList<>(getFlattenedSupertypeHierarchy(type));
+    typeHierarchy.add(0, type);
+
+    // we're going to be looking at methods from child up through ancestry
+    for (TypeMirror typeMirror : typeHierarchy) {
+      TypeElement typeElement = asTypeElement(typeMirror);
+      if (typeElement != null) {
+        List<ExecutableElement> methods = ElementFilter
+            .methodsIn(typeElement.getEnclosedElements());
+        for (ExecutableElement method : methods) {
+          // check to see if this method is overridden by anything we already have
+          if (!inheritableMethods.entrySet().stream()
+              .anyMatch(entry ->
+                  elements.overrides(entry.getKey(), method, entry.getValue()))) {
+            inheritableMethods.put(method, typeElement);
+          }
+        }
+      }
+    }
+
+    return new ArrayList<>(inheritableMethods.keySet());
+  }
+
+  private static TypeElement asTypeElement(TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED
+        ? (TypeElement) ((DeclaredType) type).asElement() : null;
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.benchmarks;
+
+import org.gwtproject.uibinder.benchmarks.CorpusGenerator.WidgetMix;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiles the example binders and a synthetic corpus with the processor, in process.
+ *
+ * <p>The primary result is compilations per second; the {@code binders} counter is the number of
+ * binders generated per second. Run with {@code -prof gc} for allocation: {@code
+ * gc.alloc.rate.norm} is per compilation, divide it by the number of binders of one compilation,
+ * which is the {@code binders} counter over the primary result, as the corpus is compiled along
+ * with the binders of every example view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ProcessorBenchmark {
+
+  /**
+   * The number of binders generated, reported as a rate.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Counters {
+
+    public long binders;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      binders = 0;
+    }
+  }
+
+  @Param("50")
+  public int binders;
+
+  @Param("3")
+  public int nestingDepth;
+
+  @Param("3")
+  public int fanOut;
+
+  @Param("MIXED")
+  public WidgetMix widgetMix;
+
+  @Param("10")
+  public int styleRules;
+
+  @Param("2")
+  public int messages;
+
+  @Param("2")
+  public int handlers;
+
+  /**
+   * The value of {@code -Auibinder.threads}.
+   */
+  @Param("1")
+  public int threads;
+
+  /**
+   * The value of {@code -Auibinder.warmCache}. Each compilation of the trial runs in the same JVM,
+   * like in a build daemon, so all but the first find the cache warm.
+   */
+  @Param("false")
+  public String warmCache;
+
+  private File corpus;
+  private Compilation compilation;
+
+  @Setup(Level.Trial)
+  public void generateCorpus() throws IOException {
+    corpus = Files.createTempDirectory("uibinder-corpus").toFile();
+    List<File> sources = new ArrayList<>(new CorpusGenerator()
+        .binders(binders)
+        .nestingDepth(nestingDepth)
+        .fanOut(fanOut)
+        .widgetMix(widgetMix)
+        .styleRules(styleRules)
+        .messages(messages)
+        .handlers(handlers)
+        .generate(corpus));
+
+    Examples examples = new Examples();
+    sources.addAll(examples.getOwnerClasses());
+    List<File> sourcePath = new ArrayList<>(examples.getSourcePath());
+    sourcePath.add(corpus);
+
+    compilation = new Compilation(sources, sourcePath)
+        .withOption("uibinder.threads", String.valueOf(threads))
+        .withOption("uibinder.warmCache", warmCache);
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteCorpus() throws IOException {
+    Compilation.delete(corpus);
+  }
+
+  @Benchmark
+  public void compile(Counters counters) throws IOException {
+    long before = compilation.getGeneratedBinders();
+    compilation.run();
+    counters.binders += compilation.getGeneratedBinders() - before;
+  }
+}
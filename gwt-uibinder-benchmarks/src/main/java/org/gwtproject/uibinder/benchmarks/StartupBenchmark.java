@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.benchmarks;
+
+import org.gwtproject.uibinder.benchmarks.CorpusGenerator.WidgetMix;
+import org.gwtproject.uibinder.processor.UiBinderProcessor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the first compilation of a small module in a fresh JVM, which is what every javac
+ * invocation of a build pays.
+ *
+ * <p>With {@code styleRules=0} the templates have no {@code ui:style}, so the CSS engine of gwt-dev
+ * is never loaded. {@code eager=true} loads the classes of gwt-dev the processor used to load in
+ * every compilation, styles or not, before compiling, for a comparison with that behavior. Add
+ * {@code -prof cl} for the number of classes loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+  private static final String[] EAGERLY_LOADED_CLASSES = {
+      "com.google.gwt.dev.util.log.PrintWriterTreeLogger",
+      "com.google.gwt.resources.rg.GssResourceGenerator$GssOptions"
+  };
+
+  @Param("5")
+  public int binders;
+
+  @Param({"0", "10"})
+  public int styleRules;
+
+  @Param({"false", "true"})
+  public boolean eager;
+
+  private File corpus;
+  private Compilation compilation;
+
+  @Setup(Level.Trial)
+  public void generateCorpus() throws IOException {
+    corpus = Files.createTempDirectory("uibinder-corpus").toFile();
+    compilation = new Compilation(new CorpusGenerator()
+        .binders(binders)
+        .nestingDepth(2)
+        .fanOut(2)
+        .widgetMix(WidgetMix.LABELS)
+        .styleRules(styleRules)
+        .messages(0)
+        .handlers(2)
+        .generate(corpus), Collections.singletonList(corpus));
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteCorpus() throws IOException {
+    Compilation.delete(corpus);
+  }
+
+  @Benchmark
+  public void compile() throws ClassNotFoundException, IOException {
+    if (eager) {
+      for (String className : EAGERLY_LOADED_CLASSES) {
+        Class.forName(className, true, UiBinderProcessor.class.getClassLoader());
+      }
+    }
+    compilation.run();
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.benchmarks;
+
+import org.gwtproject.uibinder.processor.AptUtil;
+
+import com.sun.source.util.JavacTask;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+/**
+ * Computes the supertypes and inheritable methods of every class of the GWT widget set, the way
+ * the processor does for the owner class, each field class, each handler and each element parser
+ * of a round, with the per-round index of {@link AptUtil} and with the {@link
+ * LegacyTypeHierarchy implementation} it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeHierarchyBenchmark {
+
+  private static final List<String> WIDGET_PACKAGES = Arrays.asList(
+      "com.google.gwt.user.client.ui",
+      "com.google.gwt.user.cellview.client");
+
+  /**
+   * The number of times each type is looked at in a round.
+   */
+  @Param("4")
+  public int lookupsPerType;
+
+  private JavacTask task;
+  private ProcessingEnvironment processingEnvironment;
+  private LegacyTypeHierarchy legacy;
+  private List<TypeElement> widgetTypes;
+
+  @Setup(Level.Trial)
+  public void analyze() throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    JavaFileObject empty = new SimpleJavaFileObject(URI.create("string:///Empty.java"),
+        JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return "class Empty {}";
+      }
+    };
+    task = (JavacTask) compiler.getTask(null, null, null,
+        Arrays.asList("-proc:none", "-classpath", System.getProperty("java.class.path")), null,
+        Collections.singletonList(empty));
+    task.analyze();
+
+    Elements elements = task.getElements();
+    processingEnvironment = new AnalyzedEnvironment(elements, task.getTypes());
+    legacy = new LegacyTypeHierarchy(elements);
+
+    widgetTypes = new ArrayList<>();
+    for (String packageName : WIDGET_PACKAGES) {
+      PackageElement packageElement = elements.getPackageElement(packageName);
+      for (Element element : packageElement.getEnclosedElements()) {
+        if (element.getKind() == ElementKind.CLASS
+            && element.getModifiers().contains(Modifier.PUBLIC)) {
+          widgetTypes.add((TypeElement) element);
+        }
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void clear() {
+    AptUtil.setProcessingEnvironment(null);
+  }
+
+  /**
+   * One round with the index, which starts out empty.
+   */
+  @Benchmark
+  public void indexed(Blackhole blackhole) {
+    AptUtil.setProcessingEnvironment(processingEnvironment);
+    for (int i = 0; i < lookupsPerType; i++) {
+      for (TypeElement type : widgetTypes) {
+        blackhole.consume(AptUtil.getFlattenedSupertypeHierarchy(type.asType()));
+        blackhole.consume(AptUtil.getInheritableMethods(type.asType()));
+      }
+    }
+  }
+
+  /**
+   * The same lookups without the index.
+   */
+  @Benchmark
+  public void legacy(Blackhole blackhole) {
+    for (int i = 0; i < lookupsPerType; i++) {
+      for (TypeElement type : widgetTypes) {
+        blackhole.consume(legacy.getFlattenedSupertypeHierarchy(type.asType()));
+        blackhole.consume(legacy.getInheritableMethods(type.asType()));
+      }
+    }
+  }
+
+  /**
+   * The little of a processing environment the type hierarchy helpers need, over a compiler that
+   * analyzed its sources.
+   */
+  private static class AnalyzedEnvironment implements ProcessingEnvironment {
+
+    private final Elements elements;
+    private final Types types;
+
+    AnalyzedEnvironment(Elements elements, Types types) {
+      this.elements = elements;
+      this.types = types;
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    public Messager getMessager() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Filer getFiler() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Elements getElementUtils() {
+      return elements;
+    }
+
+    @Override
+    public Types getTypeUtils() {
+      return types;
+    }
+
+    @Override
+    public SourceVersion getSourceVersion() {
+      return SourceVersion.RELEASE_8;
+    }
+
+    @Override
+    public Locale getLocale() {
+      return Locale.ROOT;
+    }
+  }
+}
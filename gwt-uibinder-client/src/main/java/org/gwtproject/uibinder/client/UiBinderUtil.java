@@ -21,6 +21,8 @@ import org.gwtproject.dom.client.Node;
 import org.gwtproject.dom.client.Style.Display;
 import org.gwtproject.safehtml.shared.annotations.IsSafeHtml;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Static helper methods used by UiBinder. These methods are likely to move,
@@ -58,8 +60,42 @@ public class UiBinderUtil {
     }
   }
 
+  /**
+   * A template parsed by {@link #fromTemplate}, with the paths to the elements whose ids are
+   * placeholders.
+   */
+  private static class Template {
+    final Node element;
+
+    /**
+     * For each placeholder, the indexes of the child elements leading to its element from {@link
+     * #element}, or {@code null} if some placeholder is not the id of an element.
+     */
+    final int[][] idPaths;
+
+    Template(Node element, int[][] idPaths) {
+      this.element = element;
+      this.idPaths = idPaths;
+    }
+  }
+
+  /**
+   * The prefix of the placeholders standing for the ids of elements in the HTML given to {@link
+   * #fromTemplate}, followed by the index of the id.
+   */
+  public static final String TEMPLATE_ID_PREFIX = "gwtuibinder-template-id-";
+
+  /**
+   * The number of distinct HTML strings whose parsed templates {@link #fromTemplate} keeps, the
+   * least recently used being dropped. Ids are placeholders in the HTML, so this only matters for
+   * HTML with other values that differ between instances.
+   */
+  private static final int MAX_TEMPLATES = 256;
+
   private static Element hiddenDiv;
 
+  private static Map<String, Template> templates;
+
   /**
    * Attaches the element to the dom temporarily.  Keeps track of where it is
    * attached so that things can be put back latter.
@@ -90,6 +126,56 @@ public class UiBinderUtil {
     return newbie;
   }
 
+  /**
+   * Same as {@link #fromHtml(String)}, but each distinct HTML is only parsed once, into an inert
+   * {@code <template>} element never attached to the document, and the element returned is a deep
+   * copy of the one parsed. Where {@code <template>} is not supported, the HTML is parsed in the
+   * detached element instead.
+   *
+   * <p>The ids of the elements, which differ for each instance, are given apart: the HTML has the
+   * placeholder {@code TEMPLATE_ID_PREFIX + i} in place of {@code ids[i]}, and the ids are set on
+   * the copy. Should a placeholder not be the id of an element, the ids are put in the HTML, and it
+   * is parsed with {@link #fromHtml(String)}.
+   */
+  public static Element fromTemplate(@IsSafeHtml String html, String... ids) {
+    if (templates == null) {
+      templates = new LinkedHashMap<String, Template>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+          return size() > MAX_TEMPLATES;
+        }
+      };
+    }
+
+    Template template = templates.get(html);
+    if (template == null) {
+      template = parseTemplate(html, ids.length);
+      templates.put(html, template);
+    }
+
+    if (template.idPaths == null) {
+      String htmlWithIds = html;
+      // From the last, so that the placeholder of 1 does not match the one of 10
+      for (int i = ids.length - 1; i >= 0; i--) {
+        htmlWithIds = htmlWithIds.replace(TEMPLATE_ID_PREFIX + i, ids[i]);
+      }
+      return fromHtml(htmlWithIds);
+    }
+
+    Element copy = Element.as(template.element.cloneNode(true));
+    for (int i = 0; i < ids.length; i++) {
+      Element element = copy;
+      for (int childIndex : template.idPaths[i]) {
+        element = element.getFirstChildElement();
+        for (int j = 0; j < childIndex; j++) {
+          element = element.getNextSiblingElement();
+        }
+      }
+      element.setId(ids[i]);
+    }
+    return copy;
+  }
+
   private static void ensureHiddenDiv() {
     // If the hidden DIV has not been created, create it.
     if (hiddenDiv == null) {
@@ -99,6 +185,65 @@ public class UiBinderUtil {
     }
   }
 
+  /**
+   * Returns the first child of {@code parent} that is an element, as {@link
+   * Element#getFirstChildElement()} does, which a document fragment does not have.
+   */
+  private static Node firstChildElement(Node parent) {
+    Node child = parent.getFirstChild();
+    while (child != null && child.getNodeType() != Node.ELEMENT_NODE) {
+      child = child.getNextSibling();
+    }
+    return child;
+  }
+
+  /**
+   * Parses the HTML of {@link #fromTemplate}, and finds the elements with the placeholder ids.
+   */
+  private static Template parseTemplate(String html, int idCount) {
+    Element template = Document.get().createElement("template");
+    template.setInnerHTML(html);
+    Node content = (Node) template.getPropertyObject("content");
+    Node parsed = firstChildElement(content != null ? content : template);
+
+    int[][] idPaths = new int[idCount][];
+    if (idCount > 0) {
+      findIdPaths(Element.as(parsed), new int[0], idPaths);
+      for (int[] idPath : idPaths) {
+        if (idPath == null) {
+          return new Template(parsed, null);
+        }
+      }
+    }
+    return new Template(parsed, idPaths);
+  }
+
+  /**
+   * Records the path to {@code element} and to its descendants whose ids are placeholders.
+   */
+  private static void findIdPaths(Element element, int[] path, int[][] idPaths) {
+    String id = element.getId();
+    if (id != null && id.startsWith(TEMPLATE_ID_PREFIX)) {
+      try {
+        int index = Integer.parseInt(id.substring(TEMPLATE_ID_PREFIX.length()));
+        if (index < idPaths.length) {
+          idPaths[index] = path;
+        }
+      } catch (NumberFormatException e) {
+        // Not one of the placeholders
+      }
+    }
+
+    int childIndex = 0;
+    for (Element child = element.getFirstChildElement(); child != null;
+        child = child.getNextSiblingElement()) {
+      int[] childPath = new int[path.length + 1];
+      System.arraycopy(path, 0, childPath, 0, path.length);
+      childPath[path.length] = childIndex++;
+      findIdPaths(child, childPath, idPaths);
+    }
+  }
+
   private static void orphan(Node node) {
     node.getParentNode().removeChild(node);
   }
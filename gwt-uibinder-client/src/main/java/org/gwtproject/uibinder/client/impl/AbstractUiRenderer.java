@@ -21,12 +21,8 @@ import org.gwtproject.dom.client.EventTarget;
 import org.gwtproject.dom.client.NativeEvent;
 import org.gwtproject.event.dom.client.DomEvent;
 import org.gwtproject.event.shared.HasHandlers;
-import org.gwtproject.safehtml.shared.SafeHtml;
-import org.gwtproject.safehtml.shared.SafeHtmlUtils;
 import org.gwtproject.uibinder.client.UiRenderer;
 
-import java.util.HashMap;
-
 /**
  * Abstract implementation of a safe HTML binder to make implementation of generated rendering
  * simpler.
@@ -46,10 +42,22 @@ public abstract class AbstractUiRenderer implements UiRenderer {
     private Element root;
 
     /**
-     * Maps strings describing event types and field names to methods
-     * contained in type {@code T} (which are indexed by an integer).
+     * Names of the events handled by methods contained in type {@code T}.
+     */
+    private String[] eventTypes;
+
+    /**
+     * Names of the fields with handlers, {@link AbstractUiRenderer#ROOT_FAKE_NAME} for the root.
+     */
+    private String[] fieldNames;
+
+    /**
+     * Index of the method handling each event type and field, or {@code -1}, by event type index
+     * times the number of fields plus field index.
      */
-    private HashMap<String, Integer> table;
+    private int[] methodIndexes;
+
+    private int rootFieldIndex;
 
     /**
      * Fire an event to the receiver.
@@ -73,7 +81,7 @@ public abstract class AbstractUiRenderer implements UiRenderer {
       }
       eventTarget = target;
       root = findRootElementOrNull(parentOrRoot, RENDERED_ATTRIBUTE);
-      methodIndex = computeDispatchEvent(table, root, event);
+      methodIndex = computeDispatchEvent(root, event);
       DomEvent.fireNativeEvent(event, this);
     }
 
@@ -99,10 +107,70 @@ public abstract class AbstractUiRenderer implements UiRenderer {
     }
 
     /**
-     * Initializes the dispatch table if necessary.
+     * Initializes the dispatch table. The arrays are kept, not copied, so that dispatchers share
+     * the static tables generated for them.
+     *
+     * @param eventTypes names of the events handled
+     * @param fieldNames names of the fields with handlers
+     * @param methodIndexes index of the method handling each event type and field, or {@code -1},
+     *        by event type index times the number of fields plus field index
      */
-    protected void initDispatchTable(String[] keys, Integer[] values) {
-      table = buildDispatchMap(keys, values);
+    protected void initDispatchTable(String[] eventTypes, String[] fieldNames,
+        int[] methodIndexes) {
+      this.eventTypes = eventTypes;
+      this.fieldNames = fieldNames;
+      this.methodIndexes = methodIndexes;
+      rootFieldIndex = indexOf(fieldNames, ROOT_FAKE_NAME);
+    }
+
+    /**
+     * Obtains the index of the method that will receive an event.
+     * @param root of a previously rendered DOM structure
+     * @param event event to handle
+     * @return index of the method that will process the event or NO_HANDLER_FOUND.
+     */
+    private int computeDispatchEvent(Element root, NativeEvent event) {
+      int eventTypeIndex = indexOf(eventTypes, event.getType());
+      if (eventTypeIndex == NO_HANDLER_FOUND) {
+        return NO_HANDLER_FOUND;
+      }
+
+      EventTarget target = event.getEventTarget();
+      if (!Element.is(target)) {
+        return NO_HANDLER_FOUND;
+      }
+
+      int offset = eventTypeIndex * fieldNames.length;
+      String uiId = root.getAttribute(RENDERED_ATTRIBUTE);
+      Element cursor = Element.as(target);
+
+      while (cursor != null && cursor != root && cursor.getNodeType() != Element.DOCUMENT_NODE) {
+        int fieldIndex = getFieldIndex(uiId, cursor, fieldNames);
+        if (fieldIndex != NO_HANDLER_FOUND
+            && methodIndexes[offset + fieldIndex] != NO_HANDLER_FOUND) {
+          return methodIndexes[offset + fieldIndex];
+        }
+        cursor = cursor.getParentElement();
+      }
+
+      if (cursor == root && rootFieldIndex != NO_HANDLER_FOUND) {
+        return methodIndexes[offset + rootFieldIndex];
+      }
+
+      return NO_HANDLER_FOUND;
+    }
+  }
+
+  /**
+   * Elements of the fields of a previously rendered DOM structure, kept on its root.
+   */
+  private static class InnerFields {
+    final String[] fieldNames;
+    final Element[] elements;
+
+    InnerFields(String[] fieldNames, Element[] elements) {
+      this.fieldNames = fieldNames;
+      this.elements = elements;
     }
   }
 
@@ -118,7 +186,19 @@ public abstract class AbstractUiRenderer implements UiRenderer {
 
   public static final String UI_ID_SEPARATOR = ":";
 
-  private static final int NO_HANDLER_FOUND = -1;
+  static final int NO_HANDLER_FOUND = -1;
+
+  /**
+   * Property of the root element of a rendered DOM structure holding its {@link InnerFields}.
+   */
+  private static final String INNER_FIELDS_PROPERTY = "__gwtuirenderedFields";
+
+  /**
+   * Prefix of the ids returned by {@link #nextUiId()}, which {@code createUniqueId()} never returns.
+   */
+  private static final String UI_ID_PREFIX = "gwtr";
+
+  private static int uiIdCounter;
 
   /**
    * Build id strings used to identify DOM elements related to ui:fields.
@@ -131,48 +211,56 @@ public abstract class AbstractUiRenderer implements UiRenderer {
   }
 
   /**
-   * Retrieves a specific element within a previously rendered element.
-   * 
+   * Returns the part of the id attribute common to all elements of a rendering: shorter and cheaper
+   * than {@code Document.createUniqueId()}, and unique within the document for all renderers.
+   */
+  protected static String nextUiId() {
+    return UI_ID_PREFIX + Integer.toString(uiIdCounter++, 36);
+  }
+
+  /**
+   * Retrieves a specific element within a previously rendered element. The first lookup on a
+   * rendered element finds the elements of all {@code fieldNames} in one pass over its subtree,
+   * and keeps them on its root for the later ones, so that this works for detached elements too.
+   *
    * @param parent parent element containing the element of interest
-   * @param fieldName name of the field to retrieve
+   * @param fieldNames names of all the fields that may be retrieved from the rendered element,
+   *        always the same array for a given renderer
+   * @param fieldIndex index of the field to retrieve in {@code fieldNames}
    * @param attribute that identifies the root element as such
-   * @return the element identified by {@code fieldName}
+   * @return the element identified by {@code fieldNames[fieldIndex]}
    *
    * @throws IllegalArgumentException if the {@code parent} does not point to or contains
-   *         a previously rendered element. In DevMode also when the root element is not
-   *         attached to the DOM
-   * @throws IllegalStateException parent does not contain an element matching
-   *         {@code filedName}
+   *         a previously rendered element, or it does not contain the field
    *
-   * @throws RuntimeException if the root element is not attached to the DOM and not running in
-   *         DevMode
-   * 
    * @throws NullPointerException if {@code parent} == null
    */
-  protected static Element findInnerField(Element parent, String fieldName, String attribute) {
+  protected static Element findInnerField(Element parent, String[] fieldNames, int fieldIndex,
+      String attribute) {
     Element root = findRootElement(parent, attribute);
 
     if (parent != root && !isRenderedElementSingleChild(root)) {
       throw new IllegalArgumentException(
           "Parent Element of previously rendered element contains more than one child"
-          + " while getting \"" + fieldName + "\"");
+          + " while getting \"" + fieldNames[fieldIndex] + "\"");
     }
 
-    String uiId = root.getAttribute(attribute);
-    String renderedId = buildInnerId(fieldName, uiId);
-
-    Element elementById = Document.get().getElementById(renderedId);
-    if (elementById == null) {
-      if (!isAttachedToDom(root)) {
-        throw new RuntimeException("UiRendered element is not attached to DOM while getting \""
-            + fieldName + "\"");
-      } else {
-        // In prod mode we do not distinguish between being unattached or not finding the element
-        throw new IllegalArgumentException("UiRendered element is not attached to DOM, or \""
-            + fieldName + "\" not found within rendered element");
-      }
+    InnerFields innerFields = (InnerFields) root.getPropertyObject(INNER_FIELDS_PROPERTY);
+    Element field = innerFields == null || innerFields.fieldNames != fieldNames ? null
+        : innerFields.elements[fieldIndex];
+    if (field == null || !root.isOrHasChild(field)) {
+      // First lookup, or the rendered DOM structure changed since the fields were found
+      innerFields = new InnerFields(fieldNames,
+          findInnerFields(root, root.getAttribute(attribute), fieldNames));
+      root.setPropertyObject(INNER_FIELDS_PROPERTY, innerFields);
+      field = innerFields.elements[fieldIndex];
     }
-    return elementById;
+
+    if (field == null) {
+      throw new IllegalArgumentException(
+          "\"" + fieldNames[fieldIndex] + "\" not found within rendered element");
+    }
+    return field;
   }
 
   /**
@@ -197,86 +285,6 @@ public abstract class AbstractUiRenderer implements UiRenderer {
     return root;
   }
 
-  /**
-   * Inserts an attribute into the first tag found in a {@code safeHtml} template.
-   * This method assumes that the {@code safeHtml} template begins with an open HTML tag.
-   * {@code SafeHtml} templates produced by UiBinder always meet these conditions.
-   * <p>
-   * This method does not attempt to ensure {@code atributeName} and {@code attributeValue}
-   * contain safe values.
-   *
-   * @returns the {@code safeHtml} template with "{@code attributeName}={@code attributeValue}"
-   *          inserted as an attribute of the first tag found
-   */
-  protected static SafeHtml stampUiRendererAttribute(SafeHtml safeHtml, String attributeName,
-                                                     String attributeValue) {
-    String html = safeHtml.asString();
-    int endOfFirstTag = html.indexOf(">");
-
-    assert endOfFirstTag > 1 : "Safe html template does not start with an HTML open tag";
-
-    if (html.charAt(endOfFirstTag - 1) == '/') {
-      endOfFirstTag--;
-    }
-
-    html = html.substring(0, endOfFirstTag) + " " + attributeName + "=\"" + attributeValue + "\""
-            + html.substring(endOfFirstTag);
-    return SafeHtmlUtils.fromTrustedString(html);
-  }
-
-  /**
-   * Converts an array of keys and values into a map.
-   */
-  private static HashMap<String, Integer> buildDispatchMap(String[] keys, Integer[] values) {
-    HashMap<String, Integer> result = new HashMap<String, Integer>(keys.length);
-    for (int i = 0; i < keys.length; i++) {
-      result.put(keys[i], values[i]);
-    }
-    return result;
-  }
-
-  /**
-   * Obtains the index of the method that will receive an event.
-   * @param table event types and field names indexed by the method that
-   *              can handle an event.
-   * @param root of a previously rendered DOM structure
-   * @param event event to handle
-   * @return index of the method that will process the event or NO_HANDLER_FOUND.
-   */
-  private static int computeDispatchEvent(HashMap<String, Integer> table, Element root,
-      NativeEvent event) {
-    String uiId = root.getAttribute(RENDERED_ATTRIBUTE);
-
-    EventTarget eventTarget = event.getEventTarget();
-    if (!Element.is(eventTarget)) {
-      return NO_HANDLER_FOUND;
-    }
-
-    Element cursor = Element.as(eventTarget);
-
-    while (cursor != null && cursor != root && cursor.getNodeType() != Element.DOCUMENT_NODE) {
-      String fieldName = getFieldName(uiId, cursor);
-      if (fieldName == null) {
-        cursor = cursor.getParentElement();
-        continue;
-      }
-      String key = event.getType() + UI_ID_SEPARATOR + fieldName;
-      if (table.containsKey(key)) {
-        return table.get(key);
-      }
-      cursor = cursor.getParentElement();
-    }
-
-    if (cursor == root) {
-      String key = event.getType() + UI_ID_SEPARATOR + ROOT_FAKE_NAME;
-      if (table.containsKey(key)) {
-        return table.get(key);
-      }
-    }
-
-    return NO_HANDLER_FOUND;
-  }
-
   /**
    * Retrieves the root of a previously rendered element contained within the {@code parent}.
    * The {@code parent} must either contain the previously rendered DOM structure as its only child,
@@ -308,29 +316,97 @@ public abstract class AbstractUiRenderer implements UiRenderer {
   }
 
   /**
-   * Obtains the field name of a previously rendered DOM Element.
+   * Walks the subtree of {@code root} once to find the elements of the given fields.
+   *
+   * @return the element of each of {@code fieldNames}, or {@code null} where there is none
+   */
+  private static Element[] findInnerFields(Element root, String uiId, String[] fieldNames) {
+    Element[] elements = new Element[fieldNames.length];
+    Element cursor = root.getFirstChildElement();
+    while (cursor != null) {
+      int fieldIndex = getFieldIndex(uiId, cursor, fieldNames);
+      if (fieldIndex != NO_HANDLER_FOUND && elements[fieldIndex] == null) {
+        elements[fieldIndex] = cursor;
+      }
+
+      // Next element in document order, without leaving the subtree of root
+      Element next = cursor.getFirstChildElement();
+      while (next == null && cursor != root) {
+        next = cursor.getNextSiblingElement();
+        if (next == null) {
+          cursor = cursor.getParentElement();
+        }
+      }
+      cursor = next;
+    }
+    return elements;
+  }
+
+  /**
+   * Obtains the index of the field of a previously rendered DOM Element.
    * @param uiId identifier of the fields contained in a previously rendered DOM structure
    * @param element which may correspond to {@code ui:field}
-   * @return the field name or {@code null} if the {@code element} does not have
-   *         an id attribute as would be produced by {@link #buildInnerId(String, String)}) with
-   *         {@code fieldName} and {@code uiId}
+   * @param fieldNames names of the fields to look for
+   * @return the index of the field in {@code fieldNames} or {@code NO_HANDLER_FOUND} if the
+   *         {@code element} does not have an id attribute as would be produced by
+   *         {@link #buildInnerId(String, String)}) with one of {@code fieldNames} and {@code uiId}
    */
-  private static String getFieldName(String uiId, Element element) {
-    String id = element.getId();
-    if (id == null) {
-      return null;
+  private static int getFieldIndex(String uiId, Element element, String[] fieldNames) {
+    return getFieldIndex(uiId, element.getId(), fieldNames);
+  }
+
+  /**
+   * Obtains the index of the field an element id was built for by {@link #buildInnerId(String,
+   * String)}, comparing the id in place rather than extracting the field name.
+   * @param uiId identifier of the fields contained in a previously rendered DOM structure
+   * @param id the id of an element, or {@code null}
+   * @param fieldNames names of the fields to look for
+   * @return the index of the field in {@code fieldNames} or {@code NO_HANDLER_FOUND}
+   */
+  static int getFieldIndex(String uiId, String id, String[] fieldNames) {
+    int split = uiId.length();
+    if (id == null || id.length() <= split || id.charAt(split) != UI_ID_SEPARATOR.charAt(0)
+        || !id.startsWith(uiId)) {
+      return NO_HANDLER_FOUND;
     }
-    int split = id.indexOf(UI_ID_SEPARATOR);
-    return split != -1 && uiId.length() == split && id.startsWith(uiId)
-        ? id.substring(split + 1)
-        : null;
+    int fieldNameLength = id.length() - split - 1;
+    for (int i = 0; i < fieldNames.length; i++) {
+      if (fieldNames[i].length() == fieldNameLength && id.endsWith(fieldNames[i])) {
+        return i;
+      }
+    }
+    return NO_HANDLER_FOUND;
   }
 
   /**
-   * In DevMode, walks up the parents of the {@code rendered} element to ascertain that it is
-   * attached to the document. Always returns <code>true</code> in ProdMode.
+   * Returns the index of {@code value} in {@code values}, or {@code NO_HANDLER_FOUND}.
+   */
+  static int indexOf(String[] values, String value) {
+    for (int i = 0; i < values.length; i++) {
+      if (values[i].equals(value)) {
+        return i;
+      }
+    }
+    return NO_HANDLER_FOUND;
+  }
+
+  /**
+   * Checks that the {@code rendered} element is attached to the body of the document, with the
+   * {@code contains} of the browser rather than by walking up its parents. When assertions are
+   * enabled, the parents are also walked to verify the result.
    */
   private static boolean isAttachedToDom(Element rendered) {
+    boolean attached = Document.get().getBody().isOrHasChild(rendered);
+    assert attached == isAttachedToDomSlow(rendered)
+        : "isOrHasChild disagrees with the parents of the rendered element";
+    return attached;
+  }
+
+  /**
+   * Walks up the parents of the {@code rendered} element to ascertain that it is attached to the
+   * body of the document.
+   */
+  private static boolean isAttachedToDomSlow(Element rendered) {
     Element body = Document.get().getBody();
 
     while (rendered != null && rendered.hasParentElement() && !body.equals(rendered)) {
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.client.impl;
+
+import static org.gwtproject.uibinder.client.impl.AbstractUiRenderer.NO_HANDLER_FOUND;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the field and event lookups of {@link AbstractUiRenderer} that run on plain strings.
+ */
+class AbstractUiRendererTest {
+
+  private static final String[] FIELD_NAMES = {"a", "ab", AbstractUiRenderer.ROOT_FAKE_NAME};
+
+  @Test
+  public void fieldIndex() {
+    String uiId = AbstractUiRenderer.nextUiId();
+
+    for (int i = 0; i < FIELD_NAMES.length; i++) {
+      assertEquals(i, AbstractUiRenderer.getFieldIndex(uiId,
+          AbstractUiRenderer.buildInnerId(FIELD_NAMES[i], uiId), FIELD_NAMES));
+    }
+    assertEquals(NO_HANDLER_FOUND, AbstractUiRenderer.getFieldIndex(uiId,
+        AbstractUiRenderer.buildInnerId("b", uiId), FIELD_NAMES));
+  }
+
+  @Test
+  public void fieldIndexOfOtherIds() {
+    assertEquals(NO_HANDLER_FOUND, AbstractUiRenderer.getFieldIndex("gwtr1", null, FIELD_NAMES));
+    assertEquals(NO_HANDLER_FOUND, AbstractUiRenderer.getFieldIndex("gwtr1", "", FIELD_NAMES));
+    assertEquals(NO_HANDLER_FOUND, AbstractUiRenderer.getFieldIndex("gwtr1", "a", FIELD_NAMES));
+    assertEquals(NO_HANDLER_FOUND,
+        AbstractUiRenderer.getFieldIndex("gwtr1", "gwtr1:", FIELD_NAMES));
+    assertEquals(NO_HANDLER_FOUND,
+        AbstractUiRenderer.getFieldIndex("gwtr1", "gwtr1-a", FIELD_NAMES));
+    // another rendering, whose id starts with the same characters
+    assertEquals(NO_HANDLER_FOUND,
+        AbstractUiRenderer.getFieldIndex("gwtr1", "gwtr12:a", FIELD_NAMES));
+    assertEquals(NO_HANDLER_FOUND,
+        AbstractUiRenderer.getFieldIndex("gwtr12", "gwtr1:ab", FIELD_NAMES));
+    assertEquals(NO_HANDLER_FOUND,
+        AbstractUiRenderer.getFieldIndex("gwtr1", "gwtr2:a", FIELD_NAMES));
+    // a field name ending with another one
+    assertEquals(NO_HANDLER_FOUND,
+        AbstractUiRenderer.getFieldIndex("gwtr1", "gwtr1:cab", FIELD_NAMES));
+  }
+
+  @Test
+  public void nextUiId() {
+    String first = AbstractUiRenderer.nextUiId();
+    String second = AbstractUiRenderer.nextUiId();
+
+    assertNotEquals(first, second);
+    assertFalse(second.startsWith(first + AbstractUiRenderer.UI_ID_SEPARATOR));
+    assertEquals(NO_HANDLER_FOUND, AbstractUiRenderer.getFieldIndex(first,
+        AbstractUiRenderer.buildInnerId("a", second), FIELD_NAMES));
+  }
+
+  @Test
+  public void indexOf() {
+    String[] eventTypes = {"click", "mouseover"};
+
+    assertEquals(0, AbstractUiRenderer.indexOf(eventTypes, "click"));
+    assertEquals(1, AbstractUiRenderer.indexOf(eventTypes, "mouseover"));
+    assertEquals(NO_HANDLER_FOUND, AbstractUiRenderer.indexOf(eventTypes, "keydown"));
+    assertEquals(NO_HANDLER_FOUND, AbstractUiRenderer.indexOf(new String[0], "click"));
+  }
+}
@@ -21,11 +21,15 @@ import org.gwtproject.uibinder.example.view.MiscTestView;
 import org.gwtproject.uibinder.example.view.OldVsNewComparisonView;
 import org.gwtproject.uibinder.example.view.Shell;
 import org.gwtproject.uibinder.example.view.SupplementalView;
+import org.gwtproject.uibinder.example.view.TemplateCloningView;
+import org.gwtproject.uibinder.example.view.UiRendererView;
 import org.gwtproject.uibinder.example.view.UiChildTestView;
 import org.gwtproject.uibinder.example.view.impl.HomeViewImpl;
 import org.gwtproject.uibinder.example.view.impl.MiscTestViewImpl;
 import org.gwtproject.uibinder.example.view.impl.ShellImpl;
 import org.gwtproject.uibinder.example.view.impl.SupplementalViewImpl;
+import org.gwtproject.uibinder.example.view.impl.TemplateCloningViewImpl;
+import org.gwtproject.uibinder.example.view.impl.UiRendererViewImpl;
 import org.gwtproject.uibinder.example.view.impl.UiChildTestViewImpl;
 
 import com.google.gwt.user.client.ui.IsWidget;
@@ -55,7 +59,9 @@ public abstract class TestBedModule {
       Provider<OldVsNewComparisonView> oldVsNewComparisonViewProvider,
       Provider<UiChildTestView> uiChildTestViewProvider,
       Provider<SupplementalView> supplementalViewProvider,
-      Provider<MiscTestView> miscTestViewProvider) {
+      Provider<MiscTestView> miscTestViewProvider,
+      Provider<TemplateCloningView> templateCloningViewProvider,
+      Provider<UiRendererView> uiRendererViewProvider) {
     Map<Token, Provider<? extends IsWidget>> navMap = new LinkedHashMap<>();
 
     navMap.put(Token.DEFAULT, homeViewProvider);
@@ -64,6 +70,8 @@ public abstract class TestBedModule {
     navMap.put(Token.create("uichild", "UiChild Test"), uiChildTestViewProvider);
     navMap.put(Token.create("supplemental", "Supplemental View"), supplementalViewProvider);
     navMap.put(Token.create("misc", "Misc Tests"), miscTestViewProvider);
+    navMap.put(Token.create("templateCloning", "Template Cloning"), templateCloningViewProvider);
+    navMap.put(Token.create("uirenderer", "UiRenderer"), uiRendererViewProvider);
 
     return navMap;
   }
@@ -82,4 +90,10 @@ public abstract class TestBedModule {
 
   @Binds
   abstract MiscTestView miscTestView(MiscTestViewImpl impl);
+
+  @Binds
+  abstract TemplateCloningView templateCloningView(TemplateCloningViewImpl impl);
+
+  @Binds
+  abstract UiRendererView uiRendererView(UiRendererViewImpl impl);
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Vertispan LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.example.view.impl;
+
+import org.gwtproject.dom.client.Element;
+import org.gwtproject.dom.client.NativeEvent;
+import org.gwtproject.dom.client.SpanElement;
+import org.gwtproject.event.dom.client.ClickEvent;
+import org.gwtproject.event.dom.client.MouseOverEvent;
+import org.gwtproject.safehtml.shared.SafeHtmlBuilder;
+import org.gwtproject.uibinder.client.UiHandler;
+import org.gwtproject.uibinder.client.UiRenderer;
+import org.gwtproject.uibinder.client.UiTemplate;
+import org.gwtproject.uibinder.client.impl.AbstractUiRenderer;
+
+import java.util.function.Consumer;
+
+/**
+ * Contact cards rendered as HTML by a {@link UiRenderer} in the org.gwtproject api. The renderer
+ * dispatches the events of a card to the {@link UiHandler} methods below, which find its elements
+ * with the getters of the renderer.
+ */
+class ContactCards {
+
+  @UiTemplate("ContactCard.ui.xml")
+  interface Renderer extends UiRenderer {
+    void render(SafeHtmlBuilder sb, String name, String email);
+
+    Element getRoot(Element parent);
+
+    SpanElement getNameSpan(Element parent);
+
+    SpanElement getEmailSpan(Element parent);
+
+    void onBrowserEvent(ContactCards cards, NativeEvent event, Element parent);
+  }
+
+  private static final Renderer RENDERER = new ContactCards_RendererImpl();
+
+  private final Consumer<String> log;
+
+  ContactCards(Consumer<String> log) {
+    this.log = log;
+  }
+
+  void render(SafeHtmlBuilder sb, String name, String email) {
+    RENDERER.render(sb, name, email);
+  }
+
+  /**
+   * Dispatches an event that happened in a card, given the root of the card or its parent.
+   */
+  void onBrowserEvent(NativeEvent event, Element card) {
+    RENDERER.onBrowserEvent(this, event, card);
+  }
+
+  @UiHandler("nameSpan")
+  void onNameClick(ClickEvent event, Element root) {
+    log.accept("Clicked the name of " + RENDERER.getNameSpan(root).getInnerText());
+  }
+
+  @UiHandler("root")
+  void onCardClick(ClickEvent event, Element root) {
+    log.accept("Clicked the card of " + RENDERER.getNameSpan(root).getInnerText() + ", rendered as "
+        + RENDERER.getRoot(root).getAttribute(AbstractUiRenderer.RENDERED_ATTRIBUTE));
+  }
+
+  @UiHandler("emailSpan")
+  void onEmailOver(MouseOverEvent event, Element root) {
+    log.accept("Hovering " + RENDERER.getEmailSpan(root).getInnerText());
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Vertispan LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.example.view.impl;
+
+import org.gwtproject.dom.client.ButtonElement;
+import org.gwtproject.dom.client.Element;
+import org.gwtproject.dom.client.InputElement;
+import org.gwtproject.dom.client.SelectElement;
+import org.gwtproject.uibinder.client.UiBinder;
+import org.gwtproject.uibinder.client.UiBinderUtil;
+import org.gwtproject.uibinder.client.UiField;
+import org.gwtproject.uibinder.client.UiTemplate;
+
+/**
+ * The elements of a row editor, from a binder of org.gwtproject elements. Its elements are built
+ * with {@link UiBinderUtil#fromTemplate} when the example is compiled with
+ * {@code -Duibinder.cloneTemplates=true}, and with {@link UiBinderUtil#fromHtml} otherwise.
+ */
+class RowEditor {
+
+  @UiTemplate("RowEditor.ui.xml")
+  interface Binder extends UiBinder<Element, RowEditor> {
+  }
+
+  private static final Binder BINDER = new RowEditor_BinderImpl();
+
+  final Element root;
+
+  @UiField
+  InputElement name;
+
+  @UiField
+  InputElement email;
+
+  @UiField
+  SelectElement role;
+
+  @UiField
+  InputElement active;
+
+  @UiField
+  ButtonElement save;
+
+  RowEditor() {
+    root = BINDER.createAndBindUi(this);
+  }
+}
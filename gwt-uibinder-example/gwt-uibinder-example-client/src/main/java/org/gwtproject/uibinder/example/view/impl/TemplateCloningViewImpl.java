@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Vertispan LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.example.view.impl;
+
+import org.gwtproject.uibinder.client.UiBinder;
+import org.gwtproject.uibinder.client.UiField;
+import org.gwtproject.uibinder.client.UiHandler;
+import org.gwtproject.uibinder.client.UiTemplate;
+import org.gwtproject.uibinder.example.view.TemplateCloningView;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.event.dom.client.ClickEvent;
+import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
+import com.google.gwt.user.client.ui.HTML;
+import com.google.gwt.user.client.ui.Widget;
+
+import javax.inject.Inject;
+
+/**
+ * Measurement harness for the elements of binders: times the construction of many {@link
+ * RowEditor}s with their generated binder, which parses or clones their HTML depending on how the
+ * example was compiled, and reports the time per instance.
+ */
+public class TemplateCloningViewImpl implements TemplateCloningView {
+
+  @UiTemplate(legacyWidgets = true)
+  interface MyUiBinder extends UiBinder<Widget, TemplateCloningViewImpl> {
+  }
+
+  private static final int[] INSTANCES = {100, 500, 2000};
+
+  private MyUiBinder uiBinder = new TemplateCloningViewImpl_MyUiBinderImpl();
+
+  private Widget widget;
+
+  @UiField
+  HTML results;
+
+  @Inject
+  public TemplateCloningViewImpl() {
+  }
+
+  @Override
+  public Widget asWidget() {
+    if (widget == null) {
+      widget = uiBinder.createAndBindUi(this);
+    }
+    return widget;
+  }
+
+  @UiHandler("run")
+  protected void onRunClick(ClickEvent event) {
+    SafeHtmlBuilder table = new SafeHtmlBuilder();
+    table.appendHtmlConstant("<table><tr><th>Instances</th><th>Row editor (us)</th></tr>");
+    for (int instances : INSTANCES) {
+      table.appendHtmlConstant("<tr><td>").append(instances)
+          .appendHtmlConstant("</td><td>").append(time(instances))
+          .appendHtmlConstant("</td></tr>");
+    }
+    table.appendHtmlConstant("</table>");
+    results.setHTML(table.toSafeHtml());
+  }
+
+  /**
+   * Returns the microseconds per instance to build the given number of row editors, after building
+   * as many to warm up.
+   */
+  private static double time(int instances) {
+    for (int i = 0; i < instances; i++) {
+      new RowEditor();
+    }
+    double start = Duration.currentTimeMillis();
+    for (int i = 0; i < instances; i++) {
+      new RowEditor();
+    }
+    return Math.round((Duration.currentTimeMillis() - start) * 1000 / instances * 10) / 10d;
+  }
+}
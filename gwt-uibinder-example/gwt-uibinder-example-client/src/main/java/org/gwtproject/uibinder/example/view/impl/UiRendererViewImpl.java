@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 Vertispan LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.example.view.impl;
+
+import org.gwtproject.dom.client.Element;
+import org.gwtproject.dom.client.NativeEvent;
+import org.gwtproject.safehtml.shared.SafeHtmlBuilder;
+import org.gwtproject.uibinder.client.UiBinder;
+import org.gwtproject.uibinder.client.UiField;
+import org.gwtproject.uibinder.client.UiTemplate;
+import org.gwtproject.uibinder.client.impl.AbstractUiRenderer;
+import org.gwtproject.uibinder.example.view.UiRendererView;
+
+import com.google.gwt.event.dom.client.ClickEvent;
+import com.google.gwt.event.dom.client.DomEvent;
+import com.google.gwt.event.dom.client.MouseOverEvent;
+import com.google.gwt.user.client.ui.HTML;
+import com.google.gwt.user.client.ui.Label;
+import com.google.gwt.user.client.ui.Widget;
+
+import javax.inject.Inject;
+
+import jsinterop.base.Js;
+
+/**
+ * Shows {@link ContactCards} in an {@link HTML} widget, passing the events of the widget on to
+ * them with the card they happened in.
+ */
+public class UiRendererViewImpl implements UiRendererView {
+
+  @UiTemplate(legacyWidgets = true)
+  interface MyUiBinder extends UiBinder<Widget, UiRendererViewImpl> {
+  }
+
+  private static final String[][] CONTACTS = {
+      {"Ada Lovelace", "ada@example.com"},
+      {"Alan Turing", "alan@example.com"},
+      {"Grace Hopper", "grace@example.com"},
+  };
+
+  private MyUiBinder uiBinder = new UiRendererViewImpl_MyUiBinderImpl();
+
+  private ContactCards contactCards = new ContactCards(this::showMessage);
+
+  private Widget widget;
+
+  @UiField
+  HTML cards;
+
+  @UiField
+  Label log;
+
+  @Inject
+  public UiRendererViewImpl() {
+  }
+
+  @Override
+  public Widget asWidget() {
+    if (widget == null) {
+      widget = uiBinder.createAndBindUi(this);
+
+      SafeHtmlBuilder sb = new SafeHtmlBuilder();
+      for (String[] contact : CONTACTS) {
+        contactCards.render(sb, contact[0], contact[1]);
+      }
+      cards.setHTML(sb.toSafeHtml().asString());
+
+      cards.addDomHandler(this::onCardsEvent, ClickEvent.getType());
+      cards.addDomHandler(this::onCardsEvent, MouseOverEvent.getType());
+    }
+    return widget;
+  }
+
+  private void showMessage(String message) {
+    log.setText(message);
+  }
+
+  /**
+   * Passes an event on the cards on, with the root of the card it happened in, which is marked with
+   * the rendered attribute.
+   */
+  private void onCardsEvent(DomEvent<?> event) {
+    com.google.gwt.dom.client.Element card =
+        com.google.gwt.dom.client.Element.as(event.getNativeEvent().getEventTarget());
+    while (card != null && !card.hasAttribute(AbstractUiRenderer.RENDERED_ATTRIBUTE)) {
+      card = card.getParentElement();
+    }
+    if (card != null) {
+      // Both apis wrap the same browser objects
+      contactCards.onBrowserEvent(Js.<NativeEvent>uncheckedCast(event.getNativeEvent()),
+          Js.<Element>uncheckedCast(card));
+    }
+  }
+}
@@ -210,7 +210,7 @@ abstract class AbstractFieldWriter implements FieldWriter {
   public void writeFieldDefinition(IndentedWriter w, OwnerField ownerField, int getterCount)
       throws UnableToCompleteException {
 
-    TypeElement renderablePanelType = AptUtil.getElementUtils()
+    TypeElement renderablePanelType = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getRenderablePanelFqn());
 
     boolean outputAttachDetachCallbacks = getAssignableType() != null
@@ -386,8 +386,7 @@ abstract class AbstractFieldWriter implements FieldWriter {
   }
 
   private ExecutableElement findMethod(TypeElement type, String methodName) {
-    // TODO Move this and getClassHierarchyBreadthFirst to JClassType
-    for (TypeElement nextType : UiBinderWriter.getClassHierarchyBreadthFirst(type)) {
+    for (TypeElement nextType : AptUtil.getClassHierarchyBreadthFirst(type)) {
       return AptUtil.findMethod(nextType.asType(), methodName, new TypeMirror[0]);
     }
     return null;
@@ -397,7 +396,7 @@ abstract class AbstractFieldWriter implements FieldWriter {
    * Gets a reference to the type object representing Element.
    */
   private TypeElement getDomElement() {
-    TypeElement domElement = AptUtil.getElementUtils()
+    TypeElement domElement = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getDomElementFqn());
     assert domElement != null;
     return domElement;
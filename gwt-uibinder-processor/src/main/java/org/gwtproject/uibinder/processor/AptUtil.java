@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -67,17 +68,50 @@ public class AptUtil {
   private static ThreadLocal<ProcessingEnvironment>
       processingEnvironmentThreadLocal = new ThreadLocal<>();
 
+  private static ThreadLocal<ResourceIndex> resourceIndexThreadLocal = new ThreadLocal<>();
+
+  private static ThreadLocal<TypeHierarchyIndex> typeHierarchyIndexThreadLocal =
+      new ThreadLocal<>();
+
+  private static ThreadLocal<WellKnownTypes> wellKnownTypesThreadLocal = new ThreadLocal<>();
+
+  /**
+   * Sets the processing environment of the round, which starts with an empty {@link
+   * TypeHierarchyIndex} and {@link WellKnownTypes}.
+   */
   public static void setProcessingEnvironment(ProcessingEnvironment processingEnvironment) {
     if (processingEnvironment == null) {
       processingEnvironmentThreadLocal.remove();
+      resourceIndexThreadLocal.remove();
+      typeHierarchyIndexThreadLocal.remove();
+      wellKnownTypesThreadLocal.remove();
+      return;
     }
     processingEnvironmentThreadLocal.set(processingEnvironment);
+    typeHierarchyIndexThreadLocal.set(new TypeHierarchyIndex());
+    wellKnownTypesThreadLocal.set(new WellKnownTypes(processingEnvironment.getElementUtils(),
+        processingEnvironment.getTypeUtils()));
+  }
+
+  /**
+   * Sets the index {@link #findResource} uses until the processing environment is cleared, or
+   * null to always ask the Filer.
+   */
+  public static void setResourceIndex(ResourceIndex resourceIndex) {
+    resourceIndexThreadLocal.set(resourceIndex);
   }
 
   static ProcessingEnvironment getProcessingEnvironment() {
     return processingEnvironmentThreadLocal.get();
   }
 
+  /**
+   * Returns the types the generator refers to by name, as resolved in the current round.
+   */
+  public static WellKnownTypes getWellKnownTypes() {
+    return wellKnownTypesThreadLocal.get();
+  }
+
   public static Elements getElementUtils() {
     return getProcessingEnvironment().getElementUtils();
   }
@@ -245,6 +279,18 @@ public class AptUtil {
         ), pkg, relativeName);
   }
 
+  /**
+   * Returns the class file of the given type on the class path, or null if there is none.
+   */
+  public static FileObject findClassFile(TypeElement type) {
+    String packageName = getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    String binaryName = getElementUtils().getBinaryName(type).toString();
+    String simpleBinaryName = packageName.isEmpty() ? binaryName
+        : binaryName.substring(packageName.length() + 1);
+    return findResource(Collections.singletonList(StandardLocation.CLASS_PATH), packageName,
+        simpleBinaryName + ".class");
+  }
+
   /**
    * Locates a resource by searching multiple locations.
    *
@@ -256,7 +302,15 @@ public class AptUtil {
       return null;
     }
 
+    ResourceIndex resourceIndex = resourceIndexThreadLocal.get();
     for (Location location : searchLocations) {
+      if (resourceIndex != null) {
+        FileObject fileObject = resourceIndex.find(location, pkg, relativeName);
+        if (fileObject != null) {
+          return fileObject;
+        }
+        continue;
+      }
       try {
         FileObject fileObject = getFiler().getResource(location, pkg, relativeName);
         if (fileObject != null) {
@@ -271,6 +325,17 @@ public class AptUtil {
     return null;
   }
 
+  /**
+   * Returns the top-level type enclosing the given type, or the type itself.
+   */
+  public static TypeElement getTopLevelType(TypeElement type) {
+    TypeElement topLevelType = type;
+    while (topLevelType.getEnclosingElement() instanceof TypeElement) {
+      topLevelType = (TypeElement) topLevelType.getEnclosingElement();
+    }
+    return topLevelType;
+  }
+
   public static List<Element> getEnumValues(TypeElement enumTypeElement) {
     if (!ElementKind.ENUM.equals(enumTypeElement.getKind())) {
       return null;
@@ -287,11 +352,28 @@ public class AptUtil {
    * interfaces (and their super-interfaces), then the supertype and its interfaces, and so on.
    */
   public static List<? extends TypeMirror> getFlattenedSupertypeHierarchy(TypeMirror type) {
-    List<TypeMirror> superTypes = new ArrayList<>();
-
     if (type == null) {
-      return superTypes;
+      return new ArrayList<>();
+    }
+
+    TypeElement typeElement = asTypeElement(type);
+    TypeHierarchyIndex index = typeHierarchyIndexThreadLocal.get();
+    if (typeElement == null || index == null) {
+      return computeFlattenedSupertypeHierarchy(type);
+    }
+
+    String key = typeElement.getQualifiedName().toString();
+    List<TypeMirror> superTypes = index.flattenedSupertypeHierarchies.get(key);
+    if (superTypes == null) {
+      superTypes = Collections.unmodifiableList(computeFlattenedSupertypeHierarchy(type));
+      index.flattenedSupertypeHierarchies.put(key, superTypes);
     }
+    return superTypes;
+  }
+
+  private static List<TypeMirror> computeFlattenedSupertypeHierarchy(TypeMirror type) {
+    List<TypeMirror> superTypes = new ArrayList<>();
+    Set<TypeMirror> seen = new HashSet<>();
 
     Deque<TypeMirror> stack = new ArrayDeque<>();
     stack.push(type);
@@ -309,14 +391,14 @@ public class AptUtil {
       }
 
       if (superTypeClass != null && superTypeClass.getKind() != TypeKind.NONE) {
-        if (!superTypes.contains(superTypeClass)) {
+        if (seen.add(superTypeClass)) {
           stack.push(superTypeClass);
           superTypes.add(superTypeClass);
         }
       }
 
       for (TypeMirror superTypeInterface : current.getInterfaces()) {
-        if (!superTypes.contains(superTypeInterface)) {
+        if (seen.add(superTypeInterface)) {
           stack.push(superTypeInterface);
           superTypes.add(superTypeInterface);
         }
@@ -339,11 +421,32 @@ public class AptUtil {
    * @return an array of {@link ExecutableElement} objects representing inheritable methods
    */
   public static List<? extends ExecutableElement> getInheritableMethods(TypeMirror type) {
+    TypeElement typeElement = asTypeElement(type);
+    TypeHierarchyIndex index = typeHierarchyIndexThreadLocal.get();
+    if (typeElement == null || index == null) {
+      return computeInheritableMethods(type);
+    }
+
+    String key = typeElement.getQualifiedName().toString();
+    List<ExecutableElement> methods = index.inheritableMethods.get(key);
+    if (methods == null) {
+      methods = Collections.unmodifiableList(computeInheritableMethods(type));
+      index.inheritableMethods.put(key, methods);
+    }
+    return methods;
+  }
+
+  private static List<ExecutableElement> computeInheritableMethods(TypeMirror type) {
     Map<ExecutableElement, TypeElement> inheritableMethods = new LinkedHashMap<>();
 
+    // a method can only override methods of the same name and arity
+    Map<String, List<ExecutableElement>> methodsBySignature = new HashMap<>();
+
     List<TypeMirror> typeHierarchy = new ArrayList<>(getFlattenedSupertypeHierarchy(type));
     typeHierarchy.add(0, type);
 
+    Elements elementUtils = getElementUtils();
+
     // we're going to be looking at methods from child up through ancestry
     for (TypeMirror typeMirror : typeHierarchy) {
       TypeElement typeElement = asTypeElement(typeMirror);
@@ -351,11 +454,20 @@ public class AptUtil {
         List<ExecutableElement> methods = ElementFilter
             .methodsIn(typeElement.getEnclosedElements());
         for (ExecutableElement method : methods) {
+          List<ExecutableElement> candidates = methodsBySignature.computeIfAbsent(
+              method.getSimpleName() + "/" + method.getParameters().size(),
+              k -> new ArrayList<>());
+
           // check to see if this method is overridden by anything we already have
-          if (!inheritableMethods.entrySet().stream()
-              .anyMatch(entry ->
-                  getElementUtils().overrides(entry.getKey(), method, entry.getValue()))) {
-            inheritableMethods.put(method, typeElement);
+          boolean overridden = false;
+          for (ExecutableElement candidate : candidates) {
+            if (elementUtils.overrides(candidate, method, inheritableMethods.get(candidate))) {
+              overridden = true;
+              break;
+            }
+          }
+          if (!overridden && inheritableMethods.put(method, typeElement) == null) {
+            candidates.add(method);
           }
         }
       }
@@ -364,6 +476,54 @@ public class AptUtil {
     return new ArrayList<>(inheritableMethods.keySet());
   }
 
+  /**
+   * Returns a list of the given type and all its superclasses and implemented interfaces in a
+   * breadth-first traversal.
+   *
+   * @param typeElement the base type
+   * @return a breadth-first collection of its type hierarchy
+   */
+  public static List<TypeElement> getClassHierarchyBreadthFirst(TypeElement typeElement) {
+    TypeHierarchyIndex index = typeHierarchyIndexThreadLocal.get();
+    if (index == null) {
+      return computeClassHierarchyBreadthFirst(typeElement);
+    }
+
+    String key = typeElement.getQualifiedName().toString();
+    List<TypeElement> hierarchy = index.breadthFirstHierarchies.get(key);
+    if (hierarchy == null) {
+      hierarchy = Collections.unmodifiableList(computeClassHierarchyBreadthFirst(typeElement));
+      index.breadthFirstHierarchies.put(key, hierarchy);
+    }
+    return hierarchy;
+  }
+
+  private static List<TypeElement> computeClassHierarchyBreadthFirst(TypeElement typeElement) {
+    List<TypeElement> list = new ArrayList<>();
+    Deque<TypeElement> q = new ArrayDeque<>();
+
+    q.add(typeElement);
+    while (!q.isEmpty()) {
+      // Pop the front of the queue and add it to the result list.
+      TypeElement curType = q.removeFirst();
+      list.add(curType);
+
+      // Add implemented interfaces to the back of the queue (breadth first,
+      // remember?)
+      for (TypeMirror intf : curType.getInterfaces()) {
+        q.add(asTypeElement(intf));
+      }
+
+      // Add then add superclasses
+      TypeElement superClass = asTypeElement(curType.getSuperclass());
+      if (superClass != null) {
+        q.add(superClass);
+      }
+    }
+
+    return list;
+  }
+
   public static PackageElement getPackageElement(Element element) {
     while (!(element instanceof PackageElement)) {
       element = element.getEnclosingElement();
@@ -553,10 +713,7 @@ public class AptUtil {
   }
 
   public static boolean isAssignableFrom(TypeMirror m1, TypeMirror m2) {
-    m1 = getTypeUtils().erasure(m1);
-    m2 = getTypeUtils().erasure(m2);
-
-    return getTypeUtils().isAssignable(m2, m1);
+    return getWellKnownTypes().isAssignable(m2, m1);
   }
 
   public static boolean isAssignableTo(TypeMirror m1, TypeMirror m2) {
@@ -18,6 +18,8 @@ package org.gwtproject.uibinder.processor;
 import org.gwtproject.uibinder.processor.ext.MyTreeLogger;
 import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import javax.annotation.processing.AbstractProcessor;
@@ -37,15 +39,27 @@ public abstract class BaseProcessor extends AbstractProcessor {
     try {
       if (!env.processingOver()) {
         AptUtil.setProcessingEnvironment(processingEnv);
+        List<TypeElement> elements = new ArrayList<>();
         for (TypeElement annotation : annotations) {
           for (Element element : env.getElementsAnnotatedWith(annotation)) {
+            elements.add((TypeElement) element);
+          }
+        }
+        roundStarted(elements, env.getRootElements());
+        try {
+          for (TypeElement element : elements) {
             logger.setCurrentElement(element);
-            String generatedClassName = processElement((TypeElement) element, logger);
-            logger.log(Kind.NOTE, "generated type " + generatedClassName);
+            String generatedClassName = processElement(element, logger);
+            if (generatedClassName != null) {
+              logger.log(Kind.NOTE, "generated type " + generatedClassName);
+            }
           }
+        } finally {
+          roundFinished();
         }
         return true;
       }
+      processingOver(logger);
     } catch (Exception e) {
       logger.log(Kind.ERROR, "Error Processing Annotation", e);
       return false;
@@ -55,12 +69,35 @@ public abstract class BaseProcessor extends AbstractProcessor {
     return false;
   }
 
+  /**
+   * Called at the start of each round that processes elements, before any of them is processed.
+   *
+   * @param elements the elements of the round, in the order they will be processed
+   * @param rootElements the elements compiled from source this round
+   */
+  protected void roundStarted(List<TypeElement> elements, Set<? extends Element> rootElements) {
+  }
+
+  /**
+   * Called at the end of each round that processes elements, even if processing failed.
+   */
+  protected void roundFinished() {
+  }
+
+  /**
+   * Called once, after the last round has been processed.
+   *
+   * @param treeLogger the logger
+   */
+  protected void processingOver(MyTreeLogger treeLogger) {
+  }
+
   /**
    * Process single TypeElement.
    *
    * @param interfaceType the TypeElement to process
    * @param treeLogger the logger
-   * @return canonical classname
+   * @return canonical classname, or null if nothing was generated
    */
   protected abstract String processElement(TypeElement interfaceType, MyTreeLogger treeLogger)
       throws UnableToCompleteException;
@@ -0,0 +1,433 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import org.gwtproject.uibinder.processor.model.ImplicitClientBundle;
+import org.gwtproject.uibinder.processor.model.ImplicitCssResource;
+import org.gwtproject.uibinder.processor.model.ImplicitDataResource;
+import org.gwtproject.uibinder.processor.model.ImplicitImageResource;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Fingerprint of the inputs a UiBinder implementation is generated from: the template content, the
+ * owner's {@code @UiField}, {@code @UiHandler} and {@code @UiFactory} members, the signatures of
+ * the types the template references, and the content of the sources of its client bundle. It also
+ * lists the outputs of the binder, as skipping the binder is only right if they all still exist.
+ *
+ * <p>The types are those of the fields of the template, the types named by its {@code ui:with}
+ * and {@code ui:import} elements, and the types the methods of its {@code {field.reference}}s
+ * return along the way. The sources are the {@code src} of {@code ui:image}, {@code ui:data} and
+ * {@code ui:style} elements.
+ *
+ * <p>Fingerprints are kept as a small manifest under {@link StandardLocation#CLASS_OUTPUT}, so a
+ * later compilation can tell which inputs of a binder changed, and skip generating it when none
+ * did.
+ */
+class BinderFingerprint {
+
+  /**
+   * Bump whenever the generated output changes for identical inputs.
+   */
+  private static final String VERSION = "3";
+
+  private static final String MANIFEST_DIRECTORY = "META-INF/uibinder/";
+  private static final String MANIFEST_SUFFIX = ".fingerprint";
+
+  private static final String KEY_VERSION = "version";
+  private static final String KEY_TEMPLATE = "template";
+  private static final String KEY_OWNER = "owner";
+  private static final String KEY_TYPE_PREFIX = "type.";
+  private static final String KEY_SOURCE_PREFIX = "source.";
+  private static final String KEY_OUTPUT_PREFIX = "output.";
+  private static final String KEY_GENERATED_PREFIX = "generated.";
+
+  private static final String MISSING = "missing";
+
+  private static final String WITH_TAG = "with";
+  private static final String IMPORT_TAG = "import";
+  private static final String TYPE_ATTRIBUTE = "type";
+  private static final String FIELD_ATTRIBUTE = "field";
+
+  /**
+   * Reads the fingerprint recorded for the given generated type by a previous compilation.
+   *
+   * @return the fingerprint, or null if there is none
+   */
+  static BinderFingerprint read(String qualifiedImplName) {
+    Properties properties = new Properties();
+    try {
+      FileObject manifest = AptUtil.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+          manifestName(qualifiedImplName));
+      try (InputStream in = manifest.openInputStream()) {
+        properties.load(in);
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      // missing, or unreadable, which is treated the same
+      return null;
+    }
+
+    if (!VERSION.equals(properties.getProperty(KEY_VERSION))) {
+      return null;
+    }
+
+    BinderFingerprint fingerprint = new BinderFingerprint(properties.getProperty(KEY_TEMPLATE),
+        properties.getProperty(KEY_OWNER));
+    for (String key : properties.stringPropertyNames()) {
+      String value = properties.getProperty(key);
+      if (key.startsWith(KEY_TYPE_PREFIX)) {
+        fingerprint.typeHashes.put(key.substring(KEY_TYPE_PREFIX.length()), value);
+      } else if (key.startsWith(KEY_SOURCE_PREFIX)) {
+        fingerprint.sourceHashes.put(key.substring(KEY_SOURCE_PREFIX.length()), value);
+      } else if (key.startsWith(KEY_OUTPUT_PREFIX)) {
+        fingerprint.outputs.add(key.substring(KEY_OUTPUT_PREFIX.length()));
+      } else if (key.startsWith(KEY_GENERATED_PREFIX)) {
+        fingerprint.generatedFiles.add(key.substring(KEY_GENERATED_PREFIX.length()));
+      }
+    }
+    return fingerprint;
+  }
+
+  /**
+   * Computes the fingerprint of everything known before the template is parsed. The rest is added
+   * once the binder is generated.
+   */
+  static BinderFingerprint compute(CharSequence templateContent, TypeMirror ownerType) {
+    return new BinderFingerprint(hashTemplate(templateContent), hashOwner(ownerType));
+  }
+
+  private static String hashTemplate(CharSequence templateContent) {
+    return Hashing.sha256().hashString(templateContent, StandardCharsets.UTF_8).toString();
+  }
+
+  /**
+   * Hashes the annotated members of the owner class and its superclasses.
+   */
+  private static String hashOwner(TypeMirror ownerType) {
+    UiBinderApiPackage api = UiBinderApiPackage.current();
+    String[] annotations = {api.getUiFieldFqn(), api.getUiHandlerFqn(), api.getUiFactoryFqn()};
+
+    Hasher hasher = Hashing.sha256().newHasher();
+    TypeElement current = AptUtil.asTypeElement(ownerType);
+    while (current != null) {
+      hasher.putString(current.getQualifiedName(), StandardCharsets.UTF_8).putByte((byte) 0);
+      for (Element member : current.getEnclosedElements()) {
+        for (String annotation : annotations) {
+          if (AptUtil.isAnnotationPresent(member, annotation)) {
+            putMember(hasher, member);
+            break;
+          }
+        }
+      }
+
+      TypeMirror superclass = current.getSuperclass();
+      current = superclass.getKind() == TypeKind.NONE ? null : AptUtil.asTypeElement(superclass);
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Hashes the non-private members of a type and of all its supertypes, which is everything the
+   * generator may look at when binding a widget.
+   */
+  private static String hashType(TypeElement type) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    List<TypeMirror> hierarchy = new ArrayList<>(
+        AptUtil.getFlattenedSupertypeHierarchy(type.asType()));
+    hierarchy.add(0, type.asType());
+    for (TypeMirror superType : hierarchy) {
+      TypeElement element = AptUtil.asTypeElement(superType);
+      if (element == null) {
+        continue;
+      }
+      hasher.putString(superType.toString(), StandardCharsets.UTF_8).putByte((byte) 0);
+      for (Element member : element.getEnclosedElements()) {
+        if (!member.getModifiers().contains(Modifier.PRIVATE)) {
+          putMember(hasher, member);
+        }
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Hashes a source of the client bundle, see {@link TemplateContentHash#findSource}.
+   *
+   * @param key the package of the binder and the source, separated by a slash
+   */
+  private static String hashSource(String key) {
+    int index = key.indexOf('/');
+    FileObject resource = TemplateContentHash.findSource(key.substring(0, index),
+        key.substring(index + 1));
+    if (resource != null) {
+      try (InputStream in = resource.openInputStream()) {
+        return Hashing.sha256().hashBytes(ByteStreams.toByteArray(in)).toString();
+      } catch (IOException e) {
+        // same as missing, as output locations give resources that may not exist
+      }
+    }
+    return MISSING;
+  }
+
+  /**
+   * Escapes a key of the manifest, which {@link Properties#load} reads back.
+   */
+  private static String escapeKey(String key) {
+    StringBuilder escaped = new StringBuilder();
+    for (char c : key.toCharArray()) {
+      if (c < 0x20 || c > 0x7e) {
+        escaped.append(String.format("\\u%04x", (int) c));
+        continue;
+      }
+      if (c == '\\' || c == ' ' || c == '=' || c == ':' || c == '#' || c == '!') {
+        escaped.append('\\');
+      }
+      escaped.append(c);
+    }
+    return escaped.toString();
+  }
+
+  private static void putMember(Hasher hasher, Element member) {
+    hasher.putString(member.getKind().name(), StandardCharsets.UTF_8)
+        .putString(member.getModifiers().toString(), StandardCharsets.UTF_8)
+        .putString(member.getSimpleName(), StandardCharsets.UTF_8)
+        .putString(member.asType().toString(), StandardCharsets.UTF_8);
+    for (AnnotationMirror annotation : member.getAnnotationMirrors()) {
+      hasher.putString(annotation.toString(), StandardCharsets.UTF_8);
+    }
+    hasher.putByte((byte) 0);
+  }
+
+  private static String manifestName(String qualifiedImplName) {
+    return MANIFEST_DIRECTORY + qualifiedImplName + MANIFEST_SUFFIX;
+  }
+
+  private final String templateHash;
+  private final String ownerHash;
+  private final SortedMap<String, String> typeHashes = new TreeMap<>();
+  private final SortedMap<String, String> sourceHashes = new TreeMap<>();
+  private final SortedSet<String> outputs = new TreeSet<>();
+  private final SortedSet<String> generatedFiles = new TreeSet<>();
+
+  private BinderFingerprint(String templateHash, String ownerHash) {
+    this.templateHash = templateHash;
+    this.ownerHash = ownerHash;
+  }
+
+  /**
+   * Records the sources of the given client bundle, and the style files generated for it.
+   */
+  void addBundle(ImplicitClientBundle bundle) {
+    String packageName = bundle.getPackageName();
+    for (ImplicitImageResource image : bundle.getImageMethods()) {
+      if (image.getSource() != null) {
+        addSource(packageName, image.getSource());
+      }
+    }
+    for (ImplicitDataResource data : bundle.getDataMethods()) {
+      addSource(packageName, data.getSource());
+    }
+    for (ImplicitCssResource css : bundle.getCssMethods()) {
+      String generatedFile = css.getGeneratedFileName();
+      if (generatedFile != null) {
+        generatedFiles.add(packageName + "/" + generatedFile);
+      }
+      for (String source : css.getSource()) {
+        if (!source.equals(generatedFile)) {
+          addSource(packageName, source);
+        }
+      }
+    }
+  }
+
+  /**
+   * Records a source file generated for the binder, by its simple name.
+   */
+  void addOutput(String simpleName) {
+    outputs.add(simpleName);
+  }
+
+  /**
+   * Records the types the given {@code {field.reference}} goes through.
+   */
+  void addFieldReference(FieldReference reference) {
+    for (TypeMirror type : reference.getPathTypes()) {
+      addType(type);
+    }
+  }
+
+  /**
+   * Records the types named by the {@code ui:with} and {@code ui:import} elements of the template.
+   */
+  void addTemplateTypes(Document doc, String binderUri) {
+    NodeList withs = doc.getElementsByTagNameNS(binderUri, WITH_TAG);
+    for (int i = 0; i < withs.getLength(); i++) {
+      addType(((org.w3c.dom.Element) withs.item(i)).getAttribute(TYPE_ATTRIBUTE));
+    }
+    NodeList imports = doc.getElementsByTagNameNS(binderUri, IMPORT_TAG);
+    for (int i = 0; i < imports.getLength(); i++) {
+      String field = ((org.w3c.dom.Element) imports.item(i)).getAttribute(FIELD_ATTRIBUTE);
+      int index = field.lastIndexOf('.');
+      if (index > 0) {
+        addType(field.substring(0, index));
+      }
+    }
+  }
+
+  /**
+   * Records a type referenced by the template.
+   */
+  void addType(TypeMirror type) {
+    if (type == null || type.getKind() != TypeKind.DECLARED) {
+      return;
+    }
+    TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+    String name = element.getQualifiedName().toString();
+    if (!typeHashes.containsKey(name)) {
+      typeHashes.put(name, hashType(element));
+    }
+  }
+
+  private void addType(String qualifiedName) {
+    TypeElement element = AptUtil.getElementUtils().getTypeElement(qualifiedName.trim());
+    if (element != null) {
+      addType(element.asType());
+    }
+  }
+
+  private void addSource(String packageName, String source) {
+    String key = packageName + "/" + source;
+    if (!sourceHashes.containsKey(key)) {
+      sourceHashes.put(key, hashSource(key));
+    }
+  }
+
+  /**
+   * Lists the inputs that differ between this fingerprint, computed before parsing, and one
+   * recorded by an earlier compilation. The types and sources of the earlier fingerprint are hashed
+   * again against the current type model and resources.
+   *
+   * @return a human readable description of each change, empty if nothing changed
+   */
+  List<String> changesSince(BinderFingerprint previous) {
+    List<String> changes = new ArrayList<>();
+    if (!templateHash.equals(previous.templateHash)) {
+      changes.add("template changed");
+    }
+    if (!ownerHash.equals(previous.ownerHash)) {
+      changes.add("owner class changed");
+    }
+    for (Map.Entry<String, String> entry : previous.typeHashes.entrySet()) {
+      TypeElement element = AptUtil.getElementUtils().getTypeElement(entry.getKey());
+      if (element == null) {
+        changes.add("type " + entry.getKey() + " no longer exists");
+      } else if (!hashType(element).equals(entry.getValue())) {
+        changes.add("type " + entry.getKey() + " changed");
+      }
+    }
+    for (Map.Entry<String, String> entry : previous.sourceHashes.entrySet()) {
+      if (!hashSource(entry.getKey()).equals(entry.getValue())) {
+        changes.add("source " + entry.getKey() + " changed");
+      }
+    }
+    return changes;
+  }
+
+  /**
+   * Lists the outputs of this fingerprint, recorded by an earlier compilation, that no longer
+   * exist.
+   *
+   * @param writerManager the manager of the package of the binder, which tells whether its sources
+   * exist
+   * @return the names of the missing outputs, empty if there are none
+   */
+  List<String> missingOutputs(PrintWriterManager writerManager) {
+    List<String> missing = new ArrayList<>();
+    for (String output : outputs) {
+      if (!writerManager.exists(output)) {
+        missing.add(output);
+      }
+    }
+    for (String generatedFile : generatedFiles) {
+      int index = generatedFile.indexOf('/');
+      try (InputStream in = AptUtil.getFiler().getResource(StandardLocation.SOURCE_OUTPUT,
+          generatedFile.substring(0, index), generatedFile.substring(index + 1))
+          .openInputStream()) {
+        // exists
+      } catch (IOException | IllegalArgumentException e) {
+        missing.add(generatedFile);
+      }
+    }
+    return missing;
+  }
+
+  /**
+   * Writes this fingerprint to the manifest of the given generated type.
+   */
+  void write(String qualifiedImplName, Element originatingElement) throws IOException {
+    FileObject manifest = AptUtil.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+        manifestName(qualifiedImplName), originatingElement);
+
+    // written by hand rather than with Properties.store(), which adds a timestamp
+    try (Writer out = new OutputStreamWriter(manifest.openOutputStream(),
+        StandardCharsets.ISO_8859_1)) {
+      out.write(KEY_VERSION + "=" + VERSION + "\n");
+      out.write(KEY_TEMPLATE + "=" + templateHash + "\n");
+      out.write(KEY_OWNER + "=" + ownerHash + "\n");
+      for (Map.Entry<String, String> entry : typeHashes.entrySet()) {
+        out.write(KEY_TYPE_PREFIX + entry.getKey() + "=" + entry.getValue() + "\n");
+      }
+      for (Map.Entry<String, String> entry : sourceHashes.entrySet()) {
+        out.write(escapeKey(KEY_SOURCE_PREFIX + entry.getKey()) + "=" + entry.getValue() + "\n");
+      }
+      for (String output : outputs) {
+        out.write(KEY_OUTPUT_PREFIX + output + "=\n");
+      }
+      for (String generatedFile : generatedFiles) {
+        out.write(escapeKey(KEY_GENERATED_PREFIX + generatedFile) + "=\n");
+      }
+    }
+  }
+}
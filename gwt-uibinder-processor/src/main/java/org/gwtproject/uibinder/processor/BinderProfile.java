@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Wall time and allocation of the phases of generating one binder, see {@link
+ * UiBinderProcessor#OPTION_PROFILE}.
+ *
+ * <p>Phases are exclusive: entering a phase stops the clock of the current one, so nested work,
+ * like parsing a style sheet while the template is being parsed, is only counted once.
+ *
+ * <pre>
+ * Phase previous = profile.enter(Phase.CSS);
+ * try {
+ *   ...
+ * } finally {
+ *   profile.enter(previous);
+ * }
+ * </pre>
+ */
+public class BinderProfile {
+
+  /**
+   * The phases of generating a binder.
+   */
+  public enum Phase {
+    /**
+     * Reading the binder interface and its owner class.
+     */
+    SETUP("setup"),
+    /**
+     * Finding and reading the template.
+     */
+    TEMPLATE("template"),
+    /**
+     * SAX parsing the template into a DOM. When the template was parsed ahead on a pool thread,
+     * see {@link TemplateParsePool}, this is the time and allocation of that parse, measured on
+     * that thread, and the time the processor thread waited for it is not counted. When that parse
+     * failed, the parse on the processor thread is counted too, see {@link #isParseFallback()}.
+     */
+    XML("xml"),
+    /**
+     * Parsing the DOM into field writers, see {@link UiBinderParser}.
+     */
+    PARSE("parse"),
+    /**
+     * Validating the fields, see {@link FieldManager#validate()}.
+     */
+    VALIDATE("validate"),
+    /**
+     * Parsing style sheets for their class names.
+     */
+    CSS("css"),
+    /**
+     * Writing the generated sources.
+     */
+    EMIT("emit"),
+    /**
+     * Flushing the generated sources to the Filer.
+     */
+    COMMIT("commit");
+
+    private final String label;
+
+    Phase(String label) {
+      this.label = label;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+  }
+
+  /**
+   * A profile that records nothing, used when profiling is off.
+   */
+  static final BinderProfile NONE = new BinderProfile(null);
+
+  private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+
+  private static com.sun.management.ThreadMXBean allocationBean() {
+    try {
+      ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (bean instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+        if (allocationBean.isThreadAllocatedMemorySupported()
+            && allocationBean.isThreadAllocatedMemoryEnabled()) {
+          return allocationBean;
+        }
+      }
+    } catch (LinkageError e) {
+      // not a HotSpot based VM
+    }
+    return null;
+  }
+
+  /**
+   * Whether allocation is measured, which depends on the VM.
+   */
+  static boolean isAllocationMeasured() {
+    return ALLOCATION_BEAN != null;
+  }
+
+  /**
+   * Returns the bytes allocated by the current thread so far, or 0 if allocation is not measured.
+   */
+  static long allocatedBytes() {
+    return ALLOCATION_BEAN == null ? 0
+        : ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private final String binderName;
+  private final long[] nanos = new long[Phase.values().length];
+  private final long[] allocations = new long[Phase.values().length];
+  private long generatedChars;
+  private boolean parseFallback;
+
+  private Phase current;
+  private long currentSinceNanos;
+  private long currentSinceAllocated;
+
+  BinderProfile(String binderName) {
+    this.binderName = binderName;
+  }
+
+  /**
+   * Stops the clock of the current phase, if any, and starts the one of the given phase.
+   *
+   * @param phase the phase to enter, or null to stop the clock
+   * @return the phase that was current, to enter again once done
+   */
+  public Phase enter(Phase phase) {
+    if (binderName == null) {
+      return null;
+    }
+
+    long now = System.nanoTime();
+    long allocated = allocatedBytes();
+    if (current != null) {
+      nanos[current.ordinal()] += now - currentSinceNanos;
+      allocations[current.ordinal()] += allocated - currentSinceAllocated;
+    }
+
+    Phase previous = current;
+    current = phase;
+    currentSinceNanos = now;
+    currentSinceAllocated = allocated;
+    return previous;
+  }
+
+  /**
+   * Adds work done for the binder on another thread to the given phase.
+   */
+  void add(Phase phase, long phaseNanos, long allocatedBytes) {
+    if (binderName == null) {
+      return;
+    }
+    nanos[phase.ordinal()] += phaseNanos;
+    allocations[phase.ordinal()] += allocatedBytes;
+  }
+
+  void addGeneratedChars(long chars) {
+    generatedChars += chars;
+  }
+
+  /**
+   * Records that the template parsed ahead on a pool thread had to be parsed again on the processor
+   * thread, because its parse needed an entity the processor thread had not resolved, or reported a
+   * problem.
+   */
+  void addParseFallback() {
+    parseFallback = true;
+  }
+
+  String getBinderName() {
+    return binderName;
+  }
+
+  long getGeneratedChars() {
+    return generatedChars;
+  }
+
+  /**
+   * Whether the template was parsed twice, see {@link #addParseFallback()}.
+   */
+  boolean isParseFallback() {
+    return parseFallback;
+  }
+
+  long getNanos(Phase phase) {
+    return nanos[phase.ordinal()];
+  }
+
+  long getAllocatedBytes(Phase phase) {
+    return allocations[phase.ordinal()];
+  }
+
+  long getTotalNanos() {
+    long total = 0;
+    for (long phaseNanos : nanos) {
+      total += phaseNanos;
+    }
+    return total;
+  }
+
+  long getTotalAllocatedBytes() {
+    long total = 0;
+    for (long phaseAllocations : allocations) {
+      total += phaseAllocations;
+    }
+    return total;
+  }
+}
@@ -27,7 +27,6 @@ import java.util.Collection;
 import java.util.Set;
 
 import javax.lang.model.type.TypeMirror;
-import javax.lang.model.util.Elements;
 
 /**
  * Writes source implementing an {@link ImplicitClientBundle}.
@@ -57,19 +56,19 @@ public class BundleWriter {
         writerManager.makePrintWriterFor(bundleClass.getClassName()));
     this.writerManager = writerManager;
     this.logger = logger;
-    Elements elementUtils = AptUtil.getElementUtils();
+    WellKnownTypes wellKnownTypes = AptUtil.getWellKnownTypes();
 
     UiBinderApiPackage api = UiBinderApiPackage.current();
-    clientBundleType = elementUtils.getTypeElement(api.getClientBundleFqn()).asType();
-    dataResourceType = elementUtils.getTypeElement(api.getDataResourceFqn()).asType();
-    doNotEmbedType = elementUtils.getTypeElement(api.getDataResourceDoNotEmbedFqn()).asType();
-    dataMimeTypeType = elementUtils.getTypeElement(api.getDataResourceMimeTypeFqn()).asType();
-    imageOptionType = elementUtils.getTypeElement(api.getImageResourceImageOptionsFqn()).asType();
-    imageResourceType = elementUtils.getTypeElement(api.getImageResourceFqn()).asType();
-    repeatStyleType = elementUtils.getTypeElement(api.getImageResourceRepeatStyleFqn()).asType();
-    importAnnotationType = elementUtils.getTypeElement(api.getCssResourceImportFqn()).asType();
+    clientBundleType = wellKnownTypes.getType(api.getClientBundleFqn());
+    dataResourceType = wellKnownTypes.getType(api.getDataResourceFqn());
+    doNotEmbedType = wellKnownTypes.getType(api.getDataResourceDoNotEmbedFqn());
+    dataMimeTypeType = wellKnownTypes.getType(api.getDataResourceMimeTypeFqn());
+    imageOptionType = wellKnownTypes.getType(api.getImageResourceImageOptionsFqn());
+    imageResourceType = wellKnownTypes.getType(api.getImageResourceFqn());
+    repeatStyleType = wellKnownTypes.getType(api.getImageResourceRepeatStyleFqn());
+    importAnnotationType = wellKnownTypes.getType(api.getCssResourceImportFqn());
     if (!api.isGwtCreateSupported()) {
-      resourceAnnotationType = elementUtils.getTypeElement(api.getResourceAnnotationImportFqn()).asType();
+      resourceAnnotationType = wellKnownTypes.getType(api.getResourceAnnotationImportFqn());
     }
   }
 
@@ -26,10 +26,10 @@ import com.google.gwt.resources.client.CssResource;
 import java.io.PrintWriter;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.type.TypeMirror;
-import javax.lang.model.util.Elements;
 
 /**
  * Writes the source to implement an {@link ImplicitCssResource} interface.
@@ -47,9 +47,9 @@ public class CssResourceWriter {
   public CssResourceWriter(ImplicitCssResource css, PrintWriter writer, MortalLogger logger) {
     this.css = css;
     this.writer = new IndentedWriter(writer);
-    Elements elementUtils = AptUtil.getElementUtils();
-    this.cssResourceType = elementUtils.getTypeElement(CssResource.class.getName()).asType();
-    this.stringType = elementUtils.getTypeElement(String.class.getName()).asType();
+    WellKnownTypes wellKnownTypes = AptUtil.getWellKnownTypes();
+    this.cssResourceType = wellKnownTypes.getType(CssResource.class.getName());
+    this.stringType = wellKnownTypes.getType(String.class.getName());
     this.nameConverter = new CssNameConverter();
     this.logger = logger;
   }
@@ -85,7 +85,8 @@ public class CssResourceWriter {
 
   private boolean isOverride(String methodName, TypeMirror superType) {
     ExecutableElement method = AptUtil.findMethod(superType, methodName, NO_PARAMS);
-    if (method != null && AptUtil.getTypeUtils().isSameType(stringType, method.getReturnType())) {
+    if (method != null && AptUtil.getWellKnownTypes()
+        .isSameType(stringType, method.getReturnType())) {
       return true;
     }
     return false;
@@ -93,7 +94,8 @@ public class CssResourceWriter {
 
   private void writeCssMethods(TypeMirror superType)
       throws UnableToCompleteException {
-    Set<String> rawClassNames = css.getCssClassNames();
+    // sorted, as the order the style sheet parsers collect class names in is unspecified
+    Set<String> rawClassNames = new TreeSet<>(css.getCssClassNames());
     Map<String, String> convertedClassNames = null;
 
     try {
@@ -23,11 +23,13 @@ import org.gwtproject.uibinder.processor.model.OwnerField;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 import javax.lang.model.type.TypeMirror;
@@ -160,20 +162,45 @@ public class FieldManager {
     return fieldReferences.get(converted);
   }
 
+  /**
+   * Returns all <code>{field.reference}</code>s registered so far.
+   */
+  public Collection<FieldReference> getFieldReferences() {
+    return Collections.unmodifiableCollection(fieldReferences.values());
+  }
+
+  /**
+   * Returns all fields declared so far, in declaration order.
+   */
+  public Collection<FieldWriter> getFields() {
+    return Collections.unmodifiableCollection(fieldsMap.values());
+  }
+
   /**
    * Initialize with field builders the generated <b>Widgets</b> inner class. {@see
    * FieldWriter#writeFieldBuilder}.
    */
   public void initializeWidgetsInnerClass(IndentedWriter w,
       OwnerClass ownerClass) throws UnableToCompleteException {
+    initializeFields(w, ownerClass, field -> true);
+  }
+
+  /**
+   * Writes the field builders of the fields accepted by {@code filter}, in build order. Used by
+   * {@code UiRenderer}s to build the fields that do not depend on a rendering only once.
+   */
+  public void initializeFields(IndentedWriter w, OwnerClass ownerClass,
+      Predicate<FieldWriter> filter) throws UnableToCompleteException {
 
     FieldWriter[] fields = fieldsMap.values().toArray(
         new FieldWriter[fieldsMap.size()]);
     Arrays.sort(fields, BUILD_DEFINITION_SORT);
 
     for (FieldWriter field : fields) {
-      int count = getGetterCounter(field.getName());
-      field.writeFieldBuilder(w, count, ownerClass.getUiField(field.getName()));
+      if (filter.test(field)) {
+        int count = getGetterCounter(field.getName());
+        field.writeFieldBuilder(w, count, ownerClass.getUiField(field.getName()));
+      }
     }
   }
 
@@ -248,7 +275,7 @@ public class FieldManager {
   public FieldWriter registerFieldForGeneratedCssResource(
       ImplicitCssResource cssResource) throws UnableToCompleteException {
     FieldWriter field = new FieldWriterOfGeneratedCssResource(this,
-        AptUtil.getElementUtils().getTypeElement(String.class.getCanonicalName()).asType(),
+        AptUtil.getWellKnownTypes().getType(String.class.getCanonicalName()),
         cssResource, logger);
     return registerField(cssResource.getName(), field);
   }
@@ -15,8 +15,10 @@
  */
 package org.gwtproject.uibinder.processor;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
 
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeMirror;
@@ -106,6 +108,21 @@ public class FieldReference {
     return field.getReturnType(elements, logger);
   }
 
+  /**
+   * Returns the types this reference goes through, from the type of its field to the type it
+   * returns. Only to be called once the reference is validated.
+   */
+  public List<TypeMirror> getPathTypes() {
+    List<TypeMirror> types = new ArrayList<>();
+    FieldWriter field = fieldManager.lookup(elements[0]);
+    if (field != null) {
+      for (int i = 1; i <= elements.length; i++) {
+        types.add(field.getReturnType(Arrays.copyOf(elements, i), null));
+      }
+    }
+    return types;
+  }
+
   public XMLElement getSource() {
     return source;
   }
@@ -206,7 +223,7 @@ public class FieldReference {
   }
 
   private boolean isNumber(TypeMirror type) {
-    TypeElement numberType = AptUtil.getElementUtils()
+    TypeElement numberType = AptUtil.getWellKnownTypes()
         .getTypeElement(Number.class.getCanonicalName());
 
     TypeElement asElement = AptUtil.asTypeElement(type);
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import java.io.BufferedWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * The writer of a generated source file. Output is buffered, and only reaches the underlying file
+ * in large chunks and when the writer is closed by {@link PrintWriterManager#commit()}.
+ */
+class GeneratedSourceWriter extends PrintWriter {
+
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  private final boolean compact;
+
+  private long charsWritten;
+
+  /**
+   * @param compact whether the source should be written without indentation or blank lines, see
+   * {@link IndentedWriter}
+   */
+  GeneratedSourceWriter(Writer out, boolean compact) {
+    super(new BufferedWriter(out, BUFFER_SIZE), false);
+    this.compact = compact;
+  }
+
+  /**
+   * Returns the number of chars written so far.
+   */
+  long getCharsWritten() {
+    return charsWritten;
+  }
+
+  boolean isCompact() {
+    return compact;
+  }
+
+  @Override
+  public void println() {
+    // Unix-style line endings for consistent behavior across platforms.
+    write('\n');
+  }
+
+  @Override
+  public void write(int c) {
+    charsWritten++;
+    super.write(c);
+  }
+
+  @Override
+  public void write(char[] buf, int off, int len) {
+    charsWritten += len;
+    super.write(buf, off, len);
+  }
+
+  @Override
+  public void write(String s, int off, int len) {
+    charsWritten += len;
+    super.write(s, off, len);
+  }
+}
@@ -21,11 +21,13 @@ import org.gwtproject.uibinder.processor.ext.MyTreeLogger;
 
 import org.xml.sax.EntityResolver;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.processing.ProcessingEnvironment;
@@ -40,9 +42,26 @@ import javax.tools.StandardLocation;
  * requested uri starts with <code>http://dl.google.com/gwt/DTD/</code> (or one or two others),
  * provides the contents from a built in resource rather than allowing sax to make a network
  * request.
+ *
+ * <p>Resolved entities can be shared through a map of {@link ResolvedEntity}s, so that a resolver
+ * without a {@link ProcessingEnvironment}, which is safe to use on any thread, can serve them.
  */
 public class GwtResourceEntityResolver implements EntityResolver {
 
+  /**
+   * The content of an entity, and the name of the resource it was read from.
+   */
+  public static final class ResolvedEntity {
+
+    private final String name;
+    private final String content;
+
+    ResolvedEntity(String name, String content) {
+      this.name = name;
+      this.content = content;
+    }
+  }
+
   private static final Set<String> EXTERNAL_PREFIXES = Collections
       .unmodifiableSet(Arrays.stream(new String[]{
           "http://google-web-toolkit.googlecode.com/files/",
@@ -55,17 +74,40 @@ public class GwtResourceEntityResolver implements EntityResolver {
 
   private final ProcessingEnvironment processingEnvironment;
   private final MyTreeLogger logger;
+  private final Map<String, ResolvedEntity> resolvedEntities;
 
   public GwtResourceEntityResolver(MyTreeLogger logger, ProcessingEnvironment processingEnvironment,
       String pathBase) {
+    this(logger, processingEnvironment, pathBase, null);
+  }
+
+  /**
+   * @param processingEnvironment the environment to read entities from, or null to only serve the
+   * given resolved entities, and fail on any other
+   * @param resolvedEntities entities resolved so far, to be served without reading them again and
+   * completed with the ones read, or null
+   */
+  public GwtResourceEntityResolver(MyTreeLogger logger, ProcessingEnvironment processingEnvironment,
+      String pathBase, Map<String, ResolvedEntity> resolvedEntities) {
     this.logger = logger;
     this.processingEnvironment = processingEnvironment;
     this.pathBase = pathBase;
+    this.resolvedEntities = resolvedEntities;
   }
 
   @Override
-  public InputSource resolveEntity(String publicId, String systemId) {
+  public InputSource resolveEntity(String publicId, String systemId) throws SAXException {
     String matchingPrefix = findMatchingPrefix(systemId);
+    // GWT's own entities don't depend on where the template is
+    String key = matchingPrefix != null ? systemId : pathBase + systemId;
+
+    ResolvedEntity entity = resolvedEntities == null ? null : resolvedEntities.get(key);
+    if (entity == null && processingEnvironment == null) {
+      throw new SAXException("Entity not resolved yet: " + systemId);
+    }
+    if (entity != null) {
+      return toInputSource(publicId, entity);
+    }
 
     FileObject resource = null;
     if (matchingPrefix != null) {
@@ -80,6 +122,8 @@ public class GwtResourceEntityResolver implements EntityResolver {
     }
 
     if (resource == null) {
+      // found relative to this template, so only cache it for this template's location
+      key = pathBase + systemId;
       try {
         resource = processingEnvironment.getFiler()
             .getResource(StandardLocation.CLASS_OUTPUT, pathBase, systemId);
@@ -94,13 +138,16 @@ public class GwtResourceEntityResolver implements EntityResolver {
         CharSequence charSequence = resource.getCharContent(false);
         content = charSequence.toString();
       } catch (IOException ex) {
-        logger.log(Kind.ERROR, "Error reading resource: " + resource.getName());
+        if (logger != null) {
+          logger.log(Kind.ERROR, "Error reading resource: " + resource.getName());
+        }
         throw new RuntimeException(ex);
       }
-      InputSource inputSource = new InputSource(new StringReader(content));
-      inputSource.setPublicId(publicId);
-      inputSource.setSystemId(resource.getName());
-      return inputSource;
+      entity = new ResolvedEntity(resource.getName(), content);
+      if (resolvedEntities != null) {
+        resolvedEntities.put(key, entity);
+      }
+      return toInputSource(publicId, entity);
     }
 
     /*
@@ -109,6 +156,13 @@ public class GwtResourceEntityResolver implements EntityResolver {
     return null;
   }
 
+  private InputSource toInputSource(String publicId, ResolvedEntity entity) {
+    InputSource inputSource = new InputSource(new StringReader(entity.content));
+    inputSource.setPublicId(publicId);
+    inputSource.setSystemId(entity.name);
+    return inputSource;
+  }
+
   private String findMatchingPrefix(String systemId) {
     for (String prefix : EXTERNAL_PREFIXES) {
       if (systemId.startsWith(prefix)) {
@@ -18,7 +18,6 @@ package org.gwtproject.uibinder.processor;
 import static org.gwtproject.uibinder.processor.AptUtil.asDeclaredType;
 import static org.gwtproject.uibinder.processor.AptUtil.asQualifiedNameable;
 import static org.gwtproject.uibinder.processor.AptUtil.asTypeElement;
-import static org.gwtproject.uibinder.processor.AptUtil.getTypeUtils;
 import static org.gwtproject.uibinder.processor.AptUtil.isAssignableFrom;
 
 import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
@@ -104,10 +103,10 @@ class HandlerEvaluator {
     this.ownerClass = ownerClass;
     this.logger = logger;
 
-    handlerRegistrationJClass = AptUtil.getElementUtils()
-        .getTypeElement(UiBinderApiPackage.current().getHandlerRegistrationFqn()).asType();
-    eventHandlerJClass = AptUtil.getElementUtils()
-        .getTypeElement(UiBinderApiPackage.current().getEventHandlerFqn()).asType();
+    handlerRegistrationJClass = AptUtil.getWellKnownTypes()
+        .getType(UiBinderApiPackage.current().getHandlerRegistrationFqn());
+    eventHandlerJClass = AptUtil.getWellKnownTypes()
+        .getType(UiBinderApiPackage.current().getEventHandlerFqn());
   }
 
   /**
@@ -201,7 +200,7 @@ class HandlerEvaluator {
 
         TypeMirror erasedType = AptUtil.getTypeUtils().erasure(uiField.getRawType());
 
-        if (AptUtil.getTypeUtils().isSameType(erasedType, objectType)) {
+        if (AptUtil.getWellKnownTypes().isSameType(erasedType, objectType)) {
           // Now we proved type from UiField is more specific, let's use that one
           return erasedType;
         }
@@ -237,7 +236,7 @@ class HandlerEvaluator {
     // onClick, BlurEvent in onBlur ...
     List<? extends VariableElement> parameters = methods.get(0).getParameters();
     if (parameters.size() != 1 ||
-        !AptUtil.getTypeUtils().isSameType(parameters.get(0).asType(), eventType)) {
+        !AptUtil.getWellKnownTypes().isSameType(parameters.get(0).asType(), eventType)) {
       logger.die("Method '%s' needs '%s' as parameter", methods.get(0).getSimpleName(),
           asQualifiedNameable(eventType).getQualifiedName());
     }
@@ -327,7 +326,7 @@ class HandlerEvaluator {
           continue;
         }
 
-        if (getTypeUtils().isSameType(handlerType, methodParam)) {
+        if (AptUtil.getWellKnownTypes().isSameType(handlerType, methodParam)) {
 
           // Condition 3: does more than one method match the condition?
           if (handlerMethod != null) {
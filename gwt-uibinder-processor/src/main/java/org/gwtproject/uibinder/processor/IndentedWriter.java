@@ -20,16 +20,38 @@ import java.io.PrintWriter;
 /**
  * Pleasant wrapper for PrintWriter, manages indentation levels. Name is a misnomer, as this doesn't
  * implement Writer.
+ *
+ * <p>When writing to a compact {@link GeneratedSourceWriter}, lines are not indented and blank
+ * lines are left out.
  */
 public class IndentedWriter {
 
+  private static final String INDENT = "  ";
+
   private final PrintWriter pw;
 
+  private final boolean compact;
+
+  /**
+   * Resolves the tokens of each line as it is written, or null.
+   */
+  private final Tokenator tokenator;
+
   private int indent;
 
   public IndentedWriter(PrintWriter pw) {
+    this(pw, null);
+  }
+
+  /**
+   * Creates a writer that replaces the tokens vended by the given tokenator as it writes each line,
+   * so the output never needs to be buffered to be detokenated.
+   */
+  public IndentedWriter(PrintWriter pw, Tokenator tokenator) {
     super();
     this.pw = pw;
+    this.tokenator = tokenator;
+    this.compact = pw instanceof GeneratedSourceWriter && ((GeneratedSourceWriter) pw).isCompact();
   }
 
   /**
@@ -43,8 +65,9 @@ public class IndentedWriter {
    * Outputs a new line.
    */
   public void newline() {
-    // Unix-style line endings for consistent behavior across platforms.
-    pw.print('\n');
+    if (!compact) {
+      endLine();
+    }
   }
 
   /**
@@ -62,8 +85,8 @@ public class IndentedWriter {
    */
   public void write(String format) {
     printIndent();
-    pw.print(format);
-    newline();
+    print(format);
+    endLine();
   }
 
   /**
@@ -71,13 +94,80 @@ public class IndentedWriter {
    */
   public void write(String format, Object... args) {
     printIndent();
-    pw.printf(format, args);
-    newline();
+    print(format(format, args));
+    endLine();
+  }
+
+  /**
+   * Formats the given string. The {@code %s}, {@code %n$s} and {@code %%} specifiers, which are
+   * nearly all the generators use, are replaced without going through {@link
+   * java.util.Formatter}; any other specifier falls back to {@link String#format}.
+   */
+  static String format(String format, Object[] args) {
+    StringBuilder sb = null;
+    int nextArg = 0;
+    int index = 0;
+    int percent;
+    while ((percent = format.indexOf('%', index)) > -1) {
+      if (sb == null) {
+        sb = new StringBuilder(format.length() + 16 * args.length);
+      }
+      sb.append(format, index, percent);
+
+      int cursor = percent + 1;
+      int argIndex;
+      if (cursor < format.length() && format.charAt(cursor) == '%') {
+        sb.append('%');
+        index = cursor + 1;
+        continue;
+      } else if (cursor < format.length() && format.charAt(cursor) == 's') {
+        argIndex = nextArg++;
+      } else {
+        int digitsEnd = cursor;
+        while (digitsEnd < format.length() && Character.isDigit(format.charAt(digitsEnd))) {
+          digitsEnd++;
+        }
+        if (digitsEnd == cursor || digitsEnd + 1 >= format.length()
+            || format.charAt(digitsEnd) != '$' || format.charAt(digitsEnd + 1) != 's') {
+          return String.format(format, args);
+        }
+        argIndex = Integer.parseInt(format.substring(cursor, digitsEnd)) - 1;
+        cursor = digitsEnd + 1;
+      }
+
+      if (argIndex < 0 || argIndex >= args.length) {
+        // let the Formatter report it
+        return String.format(format, args);
+      }
+      sb.append(String.valueOf(args[argIndex]));
+      index = cursor + 1;
+    }
+
+    if (sb == null) {
+      return format;
+    }
+    return sb.append(format, index, format.length()).toString();
+  }
+
+  private void endLine() {
+    // Unix-style line endings for consistent behavior across platforms.
+    pw.print('\n');
+  }
+
+  private void print(String line) {
+    if (tokenator == null) {
+      pw.print(line);
+    } else {
+      tokenator.detokenate(line, pw);
+    }
   }
 
   private void printIndent() {
+    if (compact) {
+      return;
+    }
     for (int i = 0; i < indent; ++i) {
-      pw.print("  ");
+      pw.print(INDENT);
     }
   }
 }
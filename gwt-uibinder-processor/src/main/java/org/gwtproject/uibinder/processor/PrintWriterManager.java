@@ -19,12 +19,12 @@ import org.gwtproject.uibinder.processor.ext.MyTreeLogger;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
-import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic.Kind;
 import javax.tools.JavaFileObject;
 
@@ -36,24 +36,49 @@ public class PrintWriterManager {
   private final ProcessingEnvironment processingEnv;
   private final MyTreeLogger logger;
   private final String packageName;
-  private final Set<PrintWriter> writers = new HashSet<>();
+  private final Element[] originatingElements;
+  private final boolean compact;
+  private final Set<PrintWriter> writers = new LinkedHashSet<>();
+  private final Set<String> names = new LinkedHashSet<>();
 
+  /**
+   * @param compact whether sources should be written without indentation or blank lines
+   * @param originatingElements type or package elements causally associated with the creation of
+   * every file written through this manager
+   */
   PrintWriterManager(ProcessingEnvironment processingEnv, MyTreeLogger logger,
-      String packageName) {
+      String packageName, boolean compact, Element... originatingElements) {
 
     this.processingEnv = processingEnv;
     this.logger = logger;
     this.packageName = packageName;
+    this.compact = compact;
+    this.originatingElements = originatingElements;
   }
 
   /**
-   * Commit all writers we have vended.
+   * Commit all writers we have vended, flushing what they buffered.
    */
   void commit() {
     for (PrintWriter writer : writers) {
-      // TODO
       writer.close();
+      if (writer.checkError()) {
+        logger.log(Kind.ERROR, "Unable to write source file");
+      }
+    }
+  }
+
+  /**
+   * Returns the number of chars written to the writers vended so far.
+   */
+  long getGeneratedChars() {
+    long chars = 0;
+    for (PrintWriter writer : writers) {
+      if (writer instanceof GeneratedSourceWriter) {
+        chars += ((GeneratedSourceWriter) writer).getCharsWritten();
+      }
     }
+    return chars;
   }
 
   /**
@@ -73,46 +98,49 @@ public class PrintWriterManager {
 
   /**
    * @param name classname
-   * @param originatingElements type or package elements causally associated with the creation of
-   * this file, may be elided or null
    * @return the printwriter, or null if this class has already been written
    */
-  PrintWriter tryToMakePrintWriterFor(String name, Element... originatingElements) {
-    PrintWriter writer = tryCreate(name, originatingElements);
+  PrintWriter tryToMakePrintWriterFor(String name) {
+    PrintWriter writer = tryCreate(name);
     if (writer != null) {
       writers.add(writer);
+      names.add(name);
     }
     return writer;
   }
 
-  private PrintWriter tryCreate(String simpleTypeName, Element... originatingElements) {
+  /**
+   * Returns the classnames of the writers vended so far.
+   */
+  Set<String> getNames() {
+    return Collections.unmodifiableSet(names);
+  }
+
+  /**
+   * Whether the given class is already visible to the compiler, e.g. as a source generated by a
+   * previous compilation. Callers decide whether such a type is still up to date, see {@link
+   * BinderFingerprint}.
+   *
+   * @param name classname
+   */
+  boolean exists(String name) {
+    return processingEnv.getElementUtils().getTypeElement(qualify(name)) != null;
+  }
 
-    String typeName;
+  private String qualify(String simpleTypeName) {
     if (packageName.length() == 0) {
-      typeName = simpleTypeName;
-    } else {
-      typeName = packageName + '.' + simpleTypeName;
+      return simpleTypeName;
     }
+    return packageName + '.' + simpleTypeName;
+  }
 
-    TypeElement existingType = processingEnv.getElementUtils().getTypeElement(typeName);
-    // FIXME - identify when we should overwrite
-    /*
-    if (existingType != null) {
-      logger.log(Kind.NOTE, "Type '" + typeName + "' already exists and will not be re-created");
-      return null;
-    }
-    */
+  private PrintWriter tryCreate(String simpleTypeName) {
+    String typeName = qualify(simpleTypeName);
 
     try {
       JavaFileObject sourceFile = processingEnv.getFiler()
           .createSourceFile(typeName, originatingElements);
-      return new PrintWriter(sourceFile.openWriter()) {
-        @Override
-        public void println() {
-          super.print('\n');
-          super.flush();
-        }
-      };
+      return new GeneratedSourceWriter(sourceFile.openWriter(), compact);
     } catch (IOException e) {
       logger.log(Kind.ERROR, "Unable to create source file", e);
     }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import org.gwtproject.uibinder.processor.BinderProfile.Phase;
+import org.gwtproject.uibinder.processor.ext.MyTreeLogger;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.annotation.processing.Filer;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * The profiles of all binders generated by a compilation, reported once processing is over, see
+ * {@link UiBinderProcessor#OPTION_PROFILE}.
+ */
+class ProfileReport {
+
+  /**
+   * The formats the report can be written in.
+   */
+  enum Format {
+    JSON, CSV
+  }
+
+  private static final String REPORT_NAME = "META-INF/uibinder/profile.";
+
+  /**
+   * The number of binders listed in the summary.
+   */
+  private static final int TOP_BINDERS = 10;
+
+  private static String millis(long nanos) {
+    return String.format("%.1f", nanos / 1e6);
+  }
+
+  private static String quote(String s) {
+    return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+  }
+
+  private final Format format;
+  private final List<BinderProfile> profiles = new ArrayList<>();
+
+  ProfileReport(Format format) {
+    this.format = format;
+  }
+
+  /**
+   * Starts the profile of a binder, in the order they are generated.
+   */
+  BinderProfile start(String binderName) {
+    BinderProfile profile = new BinderProfile(binderName);
+    profiles.add(profile);
+    return profile;
+  }
+
+  /**
+   * Writes the report under {@link StandardLocation#CLASS_OUTPUT}, and logs the slowest binders.
+   */
+  void write(Filer filer, MyTreeLogger logger) {
+    if (profiles.isEmpty()) {
+      return;
+    }
+
+    String name = REPORT_NAME + format.name().toLowerCase();
+    try {
+      FileObject report = filer.createResource(StandardLocation.CLASS_OUTPUT, "", name);
+      try (Writer out = new OutputStreamWriter(report.openOutputStream(),
+          StandardCharsets.UTF_8)) {
+        if (format == Format.JSON) {
+          writeJson(out);
+        } else {
+          writeCsv(out);
+        }
+      }
+    } catch (IOException e) {
+      logger.log(Kind.WARNING, "Unable to write UiBinder profile " + name, e);
+    }
+
+    logSummary(logger);
+  }
+
+  private void logSummary(MyTreeLogger logger) {
+    List<BinderProfile> slowest = new ArrayList<>(profiles);
+    slowest.sort(Comparator.comparingLong(BinderProfile::getTotalNanos).reversed());
+
+    long totalNanos = 0;
+    int parseFallbacks = 0;
+    for (BinderProfile profile : profiles) {
+      totalNanos += profile.getTotalNanos();
+      if (profile.isParseFallback()) {
+        parseFallbacks++;
+      }
+    }
+
+    StringBuilder summary = new StringBuilder();
+    summary.append("UiBinder profile: ").append(profiles.size()).append(" binders in ")
+        .append(millis(totalNanos)).append(" ms");
+    if (parseFallbacks > 0) {
+      summary.append(", ").append(parseFallbacks)
+          .append(" templates parsed again on the processor thread");
+    }
+    summary.append(", slowest:");
+    for (BinderProfile profile : slowest.subList(0, Math.min(TOP_BINDERS, slowest.size()))) {
+      summary.append("\n  ").append(millis(profile.getTotalNanos())).append(" ms ")
+          .append(profile.getBinderName()).append(" (");
+      Phase slowestPhase = Phase.SETUP;
+      for (Phase phase : Phase.values()) {
+        if (profile.getNanos(phase) > profile.getNanos(slowestPhase)) {
+          slowestPhase = phase;
+        }
+      }
+      summary.append(slowestPhase.getLabel()).append(' ')
+          .append(millis(profile.getNanos(slowestPhase))).append(" ms)");
+    }
+    logger.log(Kind.NOTE, summary.toString());
+  }
+
+  private void writeJson(Writer out) throws IOException {
+    out.write("{\n  \"allocationMeasured\": " + BinderProfile.isAllocationMeasured() + ",\n");
+    out.write("  \"binders\": [");
+    String separator = "\n";
+    for (BinderProfile profile : profiles) {
+      out.write(separator);
+      separator = ",\n";
+      out.write("    {\"binder\": " + quote(profile.getBinderName())
+          + ", \"nanos\": " + profile.getTotalNanos()
+          + ", \"allocatedBytes\": " + profile.getTotalAllocatedBytes()
+          + ", \"generatedChars\": " + profile.getGeneratedChars()
+          + ", \"parseFallback\": " + profile.isParseFallback()
+          + ", \"phases\": {");
+      String phaseSeparator = "";
+      for (Phase phase : Phase.values()) {
+        out.write(phaseSeparator + quote(phase.getLabel()) + ": {\"nanos\": "
+            + profile.getNanos(phase) + ", \"allocatedBytes\": "
+            + profile.getAllocatedBytes(phase) + "}");
+        phaseSeparator = ", ";
+      }
+      out.write("}}");
+    }
+    out.write("\n  ]\n}\n");
+  }
+
+  private void writeCsv(Writer out) throws IOException {
+    StringBuilder header =
+        new StringBuilder("binder,nanos,allocatedBytes,generatedChars,parseFallback");
+    for (Phase phase : Phase.values()) {
+      header.append(',').append(phase.getLabel()).append("Nanos,")
+          .append(phase.getLabel()).append("AllocatedBytes");
+    }
+    out.write(header.append('\n').toString());
+
+    for (BinderProfile profile : profiles) {
+      StringBuilder row = new StringBuilder(profile.getBinderName()).append(',')
+          .append(profile.getTotalNanos()).append(',')
+          .append(profile.getTotalAllocatedBytes()).append(',')
+          .append(profile.getGeneratedChars()).append(',')
+          .append(profile.isParseFallback());
+      for (Phase phase : Phase.values()) {
+        row.append(',').append(profile.getNanos(phase))
+            .append(',').append(profile.getAllocatedBytes(phase));
+      }
+      out.write(row.append('\n').toString());
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager.Location;
+
+/**
+ * Remembers where {@link AptUtil#findResource} found resources, and where it did not, so that each
+ * location is probed through the {@link javax.annotation.processing.Filer} at most once per name
+ * and round. Misses are the expensive case: the Filer searches the whole location, which can be
+ * hundreds of jars, before failing.
+ *
+ * <p>Only to be used from the processor thread.
+ */
+public class ResourceIndex {
+
+  private final Map<String, Optional<FileObject>> entries = new HashMap<>();
+
+  private int lookups;
+  private int probes;
+  private int probeHits;
+  private long probeNanos;
+
+  /**
+   * Forgets the resources found or missed so far, keeping the statistics.
+   */
+  public void clear() {
+    entries.clear();
+  }
+
+  public int getLookups() {
+    return lookups;
+  }
+
+  /**
+   * Returns the number of lookups that were answered by the Filer, rather than by the index.
+   */
+  public int getProbes() {
+    return probes;
+  }
+
+  public int getProbeHits() {
+    return probeHits;
+  }
+
+  /**
+   * Returns the time spent in the Filer, in nanoseconds.
+   */
+  public long getProbeNanos() {
+    return probeNanos;
+  }
+
+  /**
+   * Returns the resource of the given name in the given location, or null if there is none.
+   */
+  FileObject find(Location location, CharSequence pkg, CharSequence relativeName) {
+    lookups++;
+    String key = location.getName() + ':' + pkg + '/' + relativeName;
+    Optional<FileObject> entry = entries.get(key);
+    if (entry == null) {
+      FileObject found = null;
+      long start = System.nanoTime();
+      try {
+        found = AptUtil.getFiler().getResource(location, pkg, relativeName);
+      } catch (IOException ignored) {
+        // not there
+      } finally {
+        probeNanos += System.nanoTime() - start;
+        probes++;
+      }
+      if (found != null) {
+        probeHits++;
+      }
+      entry = Optional.ofNullable(found);
+      entries.put(key, entry);
+    }
+    return entry.orElse(null);
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.tools.FileObject;
+
+/**
+ * Hashes the content a generated binder is derived from: its template, and the style sheets its
+ * {@code ui:style} elements name. Generated sources carry this hash rather than timestamps, so
+ * identical inputs always produce identical sources.
+ *
+ * <p>The template is hashed on its own first, with {@link #TEMPLATE_HASH}, either from its content
+ * if it was read already, or from its bytes as the parser reads them.
+ */
+final class TemplateContentHash {
+
+  /**
+   * Hashes the template, as UTF-8.
+   */
+  static final HashFunction TEMPLATE_HASH = Hashing.sha256();
+
+  private static final String STYLE_TAG = "style";
+  private static final String SOURCE_ATTRIBUTE = "src";
+
+  /**
+   * Hashes the content of a template, the same as its bytes if it is encoded in UTF-8.
+   */
+  static HashCode hashTemplate(String templateContent) {
+    return TEMPLATE_HASH.hashString(templateContent, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @param templateHash the {@link #TEMPLATE_HASH} of the template
+   * @param packageName the package of the binder, which relative style sheet paths start from
+   */
+  static String compute(HashCode templateHash, Document doc, String binderUri,
+      String packageName) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putBytes(templateHash.asBytes());
+
+    NodeList styles = doc.getElementsByTagNameNS(binderUri, STYLE_TAG);
+    for (int i = 0; i < styles.getLength(); i++) {
+      String sources = ((Element) styles.item(i)).getAttribute(SOURCE_ATTRIBUTE).trim();
+      if (!sources.isEmpty()) {
+        for (String source : sources.split("\\s+")) {
+          putStyleSheet(hasher, packageName, source);
+        }
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Finds a source of the client bundle of a binder, relative to its package, or else absolute, as
+   * the bundle generators do.
+   *
+   * @return the resource, or null if there is none
+   */
+  static FileObject findSource(String packageName, String source) {
+    FileObject resource = AptUtil.findResource(packageName.replace('.', '/') + '/' + source);
+    if (resource == null) {
+      resource = AptUtil.findResource(source);
+    }
+    return resource;
+  }
+
+  private static void putStyleSheet(Hasher hasher, String packageName, String source) {
+    hasher.putByte((byte) 0).putString(source, StandardCharsets.UTF_8);
+
+    FileObject resource = findSource(packageName, source);
+    if (resource == null) {
+      // missing style sheets are reported by the generator of the client bundle
+      return;
+    }
+    try {
+      hasher.putByte((byte) 1).putString(resource.getCharContent(true), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      // same as missing
+    }
+  }
+
+  private TemplateContentHash() {
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import org.gwtproject.uibinder.processor.GwtResourceEntityResolver.ResolvedEntity;
+
+import org.w3c.dom.Document;
+import org.xml.sax.SAXParseException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.FileObject;
+
+/**
+ * Parses the templates of the binders of a round on a fork-join pool, so that parsing overlaps with
+ * the generation of the binders, which stays on the processor thread and in the round's order.
+ *
+ * <p>Pool threads never touch the compiler: template contents are read by the processor thread
+ * before being submitted, and external entities are only served from the ones the processor thread
+ * resolved. A template whose parse needs another entity, or reports any problem, is left to be
+ * parsed again on the processor thread when its binder is generated, where problems are reported
+ * as usual.
+ *
+ * <p>Each parse is timed on the thread that runs it, so that the {@link BinderProfile.Phase#XML}
+ * phase of a binder is the cost of its parse rather than the time the processor thread waited for
+ * it. A parse that failed is timed as well, and recorded as a fallback of the binder, see {@link
+ * BinderProfile#isParseFallback()}.
+ */
+class TemplateParsePool {
+
+  /**
+   * A template read by the processor thread, and its document once parsed.
+   */
+  static class Template {
+
+    private final FileObject resource;
+    private final String content;
+    private final Future<Parse> parse;
+
+    private Template(FileObject resource, String content, Future<Parse> parse) {
+      this.resource = resource;
+      this.content = content;
+      this.parse = parse;
+    }
+
+    String getContent() {
+      return content;
+    }
+
+    /**
+     * Waits for the template to be parsed.
+     *
+     * @return the parse, whose document is null if the template must be parsed again on the
+     * processor thread, or null if the parse did not complete
+     */
+    Parse getParse() {
+      try {
+        return parse.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      } catch (ExecutionException e) {
+        return null;
+      }
+    }
+
+    FileObject getResource() {
+      return resource;
+    }
+  }
+
+  /**
+   * The document of a template, and what parsing it cost on the thread that did.
+   */
+  static class Parse {
+
+    private final Document document;
+    private final long nanos;
+    private final long allocatedBytes;
+
+    private Parse(Document document, long nanos, long allocatedBytes) {
+      this.document = document;
+      this.nanos = nanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    /**
+     * Returns the document, or null if the template must be parsed again on the processor thread.
+     */
+    Document getDocument() {
+      return document;
+    }
+
+    long getNanos() {
+      return nanos;
+    }
+  }
+
+  private final ForkJoinPool pool;
+  private final ProcessingEnvironment processingEnv;
+  private final Map<String, ResolvedEntity> resolvedEntities;
+  private final Map<String, Template> templates = new HashMap<>();
+
+  /**
+   * @param resolvedEntities the external entities resolved this round, shared with the processor
+   * thread
+   */
+  TemplateParsePool(int parallelism, ProcessingEnvironment processingEnv,
+      Map<String, ResolvedEntity> resolvedEntities) {
+    this.pool = new ForkJoinPool(parallelism);
+    this.processingEnv = processingEnv;
+    this.resolvedEntities = resolvedEntities;
+  }
+
+  /**
+   * Submits a template to be parsed. The first template is parsed right away on the calling
+   * thread, to resolve the external entities most templates share.
+   */
+  void submit(String templatePath, FileObject resource, String content) {
+    Future<Parse> parse;
+    if (templates.isEmpty()) {
+      parse = CompletableFuture.completedFuture(parse(processingEnv, resource, content));
+    } else {
+      parse = pool.submit(() -> parse(null, resource, content));
+    }
+    templates.put(templatePath, new Template(resource, content, parse));
+  }
+
+  /**
+   * Removes and returns the template submitted for the given path, or null.
+   */
+  Template take(String templatePath) {
+    return templates.remove(templatePath);
+  }
+
+  /**
+   * Stops the pool, discarding the templates that were not taken.
+   */
+  void shutdown() {
+    templates.clear();
+    pool.shutdownNow();
+  }
+
+  private Parse parse(ProcessingEnvironment env, FileObject resource, String content) {
+    long startNanos = System.nanoTime();
+    long startAllocated = BinderProfile.allocatedBytes();
+    Document document;
+    try {
+      document = new W3cDomHelper(null, env, resolvedEntities).documentFor(content,
+          resource.getName());
+    } catch (SAXParseException | RuntimeException e) {
+      document = null;
+    }
+    return new Parse(document, System.nanoTime() - startNanos,
+        BinderProfile.allocatedBytes() - startAllocated);
+  }
+}
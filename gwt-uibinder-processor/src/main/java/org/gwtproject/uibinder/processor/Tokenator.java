@@ -15,6 +15,7 @@
  */
 package org.gwtproject.uibinder.processor;
 
+import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -22,10 +23,15 @@ import java.util.Map;
 
 /**
  * Methods to dispense unique text tokens to be stitched into text, and to help replace the tokens
- * with arbitrary content. Multiple tokenators can be used across the same body of text without fear
- * of the tokens they vend colliding with each other.
+ * with arbitrary content. Tokenators created with {@link #Tokenator(Tokenator)} share the scope of
+ * another one, and can be used across the same body of text without fear of the tokens they vend
+ * colliding with each other.
  *
  * <p>A arbitrary metadata object ("info") can be associated with each token.
+ *
+ * <p>Tokens are only unique within their scope, which is meant to be a single generated binder.
+ * Tokenators are not thread safe, but nothing is shared between scopes, so binders can be
+ * generated concurrently.
  */
 public class Tokenator {
 
@@ -51,50 +57,112 @@ public class Tokenator {
     }
   }
 
+  /**
+   * Vends the ids of the tokens of one scope.
+   */
+  private static class Scope {
+
+    private int nextId;
+  }
+
   private static final String TOKEN = "--token--";
-  private static final String TOKEN_REGEXP = "\\-\\-token\\-\\-";
-  private static int curId = 0;
 
   public static String detokenate(String betokened, Resolver resolver) {
-    StringBuilder detokenated = new StringBuilder();
+    int nextToken = betokened.indexOf(TOKEN);
+    if (nextToken < 0) {
+      return betokened;
+    }
 
+    StringBuilder detokenated = new StringBuilder(betokened.length());
+    int index = 0;
+    do {
+      detokenated.append(betokened, index, nextToken);
+
+      int endToken = betokened.indexOf(TOKEN, nextToken + TOKEN.length()) + TOKEN.length();
+      detokenated.append(resolver.resolveToken(betokened.substring(nextToken, endToken)));
+
+      index = endToken;
+    } while ((nextToken = betokened.indexOf(TOKEN, index)) > -1);
+
+    detokenated.append(betokened, index, betokened.length());
+    return detokenated.toString();
+  }
+
+  /**
+   * Like {@link #detokenate(String, Resolver)}, but prints the result to the given writer as the
+   * tokens are resolved, rather than building a copy.
+   */
+  public static void detokenate(String betokened, Resolver resolver, PrintWriter out) {
     int index = 0, nextToken = 0;
     while ((nextToken = betokened.indexOf(TOKEN, index)) > -1) {
-      detokenated.append(betokened.substring(index, nextToken));
+      out.write(betokened, index, nextToken - index);
 
-      int endToken = betokened.indexOf(TOKEN, nextToken + TOKEN.length());
-      String token = betokened.substring(nextToken, endToken + TOKEN.length());
-      detokenated.append(resolver.resolveToken(token));
+      int endToken = betokened.indexOf(TOKEN, nextToken + TOKEN.length()) + TOKEN.length();
+      out.print(resolver.resolveToken(betokened.substring(nextToken, endToken)));
 
-      index = endToken + TOKEN.length();
+      index = endToken;
     }
 
-    detokenated.append(betokened.substring(index));
-    return detokenated.toString();
+    out.write(betokened, index, betokened.length() - index);
   }
 
+  /**
+   * Whether the given string contains a token.
+   */
   public static boolean hasToken(String s) {
-    return s.matches(".*" + TOKEN_REGEXP + "\\d+" + TOKEN_REGEXP + ".*");
+    int index = 0, nextToken = 0;
+    while ((nextToken = s.indexOf(TOKEN, index)) > -1) {
+      int digitsEnd = nextToken + TOKEN.length();
+      while (digitsEnd < s.length() && Character.isDigit(s.charAt(digitsEnd))) {
+        digitsEnd++;
+      }
+      if (digitsEnd > nextToken + TOKEN.length() && s.startsWith(TOKEN, digitsEnd)) {
+        return true;
+      }
+      index = nextToken + 1;
+    }
+    return false;
   }
 
-  private static String nextToken() {
-    return TOKEN + (curId++) + TOKEN;
-  }
+  private final Scope scope;
 
-  private final Map<String, Object> infoMap = new HashMap<String, Object>();
+  private final Map<String, ValueAndInfo> tokens = new HashMap<String, ValueAndInfo>();
+
+  private final Resolver resolver = new Resolver() {
+    public String resolveToken(String token) {
+      ValueAndInfo valueAndInfo = tokens.get(token);
+      return valueAndInfo == null ? null : valueAndInfo.value;
+    }
+  };
+
+  /**
+   * Creates a tokenator with a scope of its own.
+   */
+  public Tokenator() {
+    this.scope = new Scope();
+  }
 
-  private Map<String, String> tokenToResolved = new HashMap<String, String>();
+  /**
+   * Creates a tokenator that shares the scope of the given one, so that their tokens never collide.
+   */
+  public Tokenator(Tokenator sameScopeAs) {
+    this.scope = sameScopeAs.scope;
+  }
 
   /**
    * Given a string filled with tokens created by {@link #nextToken(Object, String)}, returns it
    * with the tokens replaced by the original strings.
    */
   public String detokenate(String betokened) {
-    return detokenate(betokened, new Resolver() {
-      public String resolveToken(String token) {
-        return tokenToResolved.get(token);
-      }
-    });
+    return detokenate(betokened, resolver);
+  }
+
+  /**
+   * Prints the given string filled with tokens created by {@link #nextToken(Object, String)}, with
+   * the tokens replaced by the original strings.
+   */
+  public void detokenate(String betokened, PrintWriter out) {
+    detokenate(betokened, resolver, out);
   }
 
   /**
@@ -102,11 +170,18 @@ public class Tokenator {
    * corresponding to them.
    */
   public List<ValueAndInfo> getOrderedValues(String betokened) {
-    return getOrderedValues(betokened, new Resolver() {
-      public String resolveToken(String token) {
-        return tokenToResolved.get(token);
-      }
-    });
+    List<ValueAndInfo> values = new ArrayList<ValueAndInfo>();
+
+    int index = 0, nextToken = 0;
+    while ((nextToken = betokened.indexOf(TOKEN, index)) > -1) {
+      int endToken = betokened.indexOf(TOKEN, nextToken + TOKEN.length()) + TOKEN.length();
+      ValueAndInfo valueAndInfo = tokens.get(betokened.substring(nextToken, endToken));
+      values.add(valueAndInfo == null ? new ValueAndInfo(null, null) : valueAndInfo);
+
+      index = endToken;
+    }
+
+    return values;
   }
 
   /**
@@ -119,9 +194,8 @@ public class Tokenator {
    * @return the token
    */
   public String nextToken(Object info, final String resolved) {
-    String token = nextToken();
-    tokenToResolved.put(token, resolved);
-    infoMap.put(token, info);
+    String token = TOKEN + (scope.nextId++) + TOKEN;
+    tokens.put(token, new ValueAndInfo(resolved, info));
     return token;
   }
 
@@ -131,19 +205,4 @@ public class Tokenator {
   public String nextToken(String resolved) {
     return nextToken(null, resolved);
   }
-
-  private List<ValueAndInfo> getOrderedValues(String betokened, Resolver resolver) {
-    List<ValueAndInfo> values = new ArrayList<ValueAndInfo>();
-
-    int index = 0, nextToken = 0;
-    while ((nextToken = betokened.indexOf(TOKEN, index)) > -1) {
-      int endToken = betokened.indexOf(TOKEN, nextToken + TOKEN.length());
-      String token = betokened.substring(nextToken, endToken + TOKEN.length());
-      values.add(new ValueAndInfo(resolver.resolveToken(token), infoMap.get(token)));
-
-      index = endToken + TOKEN.length();
-    }
-
-    return values;
-  }
 }
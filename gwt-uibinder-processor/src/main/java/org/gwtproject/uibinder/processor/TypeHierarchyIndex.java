@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * The type hierarchies and inheritable methods computed by {@link AptUtil} in the current round,
+ * keyed by the qualified name of the type. They only depend on the declaration of the type, and the
+ * same widget types are looked at again and again, for every field, handler and parser.
+ *
+ * <p>Only to be used from the processor thread.
+ */
+class TypeHierarchyIndex {
+
+  final Map<String, List<TypeElement>> breadthFirstHierarchies = new HashMap<>();
+  final Map<String, List<TypeMirror>> flattenedSupertypeHierarchies = new HashMap<>();
+  final Map<String, List<ExecutableElement>> inheritableMethods = new HashMap<>();
+}
@@ -156,7 +156,7 @@ public enum UiBinderApiPackage {
   }
 
   public String getAbstractUiRendererFqn() {
-    return uiBinderPackageName + ".AbstractUiRenderer";
+    return uiBinderPackageName + ".impl.AbstractUiRenderer";
   }
 
   public String getClientBundleFqn() {
@@ -425,6 +425,14 @@ public enum UiBinderApiPackage {
     return uiBinderPackageName + ".UiHandler";
   }
 
+  /**
+   * The event fired by the dispatchers of {@code AbstractUiRenderer}, the same for every api, as
+   * they are handler sources of gwt-event.
+   */
+  public String getUiRendererEventFqn() {
+    return "org.gwtproject.event.shared.Event";
+  }
+
   public String getUiRendererInterfaceFqn() {
     return uiBinderPackageName + ".UiRenderer";
   }
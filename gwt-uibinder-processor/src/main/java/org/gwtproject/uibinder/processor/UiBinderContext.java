@@ -15,26 +15,339 @@
  */
 package org.gwtproject.uibinder.processor;
 
+import org.gwtproject.uibinder.processor.GwtResourceEntityResolver.ResolvedEntity;
+import org.gwtproject.uibinder.processor.elementparsers.ElementParserRegistry;
 import org.gwtproject.uibinder.processor.model.OwnerFieldClass;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeMirror;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
 
 /**
  * A shared context cache for UiBinder.
  */
 public class UiBinderContext {
 
-  private final Map<TypeMirror, OwnerFieldClass> fieldClassesCache = new HashMap<>();
+  private static final int DEFAULT_MAX_FIELD_CLASSES = 1024;
 
+  private static final String PLATFORM_TYPE = "platform";
+  private static final String UNCACHEABLE_TYPE = "";
+
+  /**
+   * Field class descriptors, keyed by canonical erased type name and kept in access order, so the
+   * least recently used descriptor is evicted first once the cache is full.
+   */
+  private final Map<String, OwnerFieldClass> fieldClassesCache;
+
+  /**
+   * CSS class names of the style sheets parsed so far, keyed by a hash of their content, so a style
+   * sheet shared by many templates is only parsed once per build.
+   */
+  private final Map<String, Set<String>> cssClassNamesCache = new HashMap<>();
+
+  /**
+   * External entities of the templates, mostly GWT's DTDs, resolved this round. Concurrent, as the
+   * templates may be parsed on several threads.
+   */
+  private final Map<String, ResolvedEntity> resolvedEntities = new ConcurrentHashMap<>();
+
+  private final ResourceIndex resourceIndex = new ResourceIndex();
+
+  /**
+   * Top-level types compiled from source in any round, whose descriptors never go to the warm
+   * cache.
+   */
+  private final Set<String> sourceTypes = new HashSet<>();
+
+  /**
+   * What identifies the class file of each type looked up for the warm cache: the checksum of its
+   * jar, {@link #PLATFORM_TYPE}, or {@link #UNCACHEABLE_TYPE}.
+   */
+  private final Map<String, String> classFileChecksums = new HashMap<>();
+
+  private final WidgetIndex widgetIndex = new WidgetIndex(sourceTypes);
+
+  private WarmCache warmCache;
+
+  private ElementParserRegistry elementParsers;
+
+  private BinderProfile binderProfile = BinderProfile.NONE;
+
+  private boolean cloneTemplates;
+
+  private int fieldClassHits;
+  private int fieldClassMisses;
+  private int fieldClassEvictions;
+
+  public UiBinderContext() {
+    this(DEFAULT_MAX_FIELD_CLASSES);
+  }
+
+  /**
+   * @param maxFieldClasses the number of field class descriptors to keep
+   */
+  public UiBinderContext(final int maxFieldClasses) {
+    fieldClassesCache = new LinkedHashMap<String, OwnerFieldClass>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, OwnerFieldClass> eldest) {
+        if (size() > maxFieldClasses) {
+          fieldClassEvictions++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Records the types of the round compiled from source.
+   */
+  void addSourceTypes(Set<? extends Element> rootElements) {
+    for (Element element : rootElements) {
+      if (element instanceof TypeElement) {
+        sourceTypes.add(((TypeElement) element).getQualifiedName().toString());
+      }
+    }
+  }
+
+  public Set<String> getCssClassNames(String contentHash) {
+    Set<String> classNames = cssClassNamesCache.get(contentHash);
+    if (classNames == null && warmCache != null) {
+      classNames = warmCache.getCssClassNames(contentHash);
+      if (classNames != null) {
+        cssClassNamesCache.put(contentHash, classNames);
+      }
+    }
+    return classNames;
+  }
+
+  /**
+   * Returns the profile of the binder being generated, which records nothing unless profiling is
+   * on.
+   */
+  public BinderProfile getBinderProfile() {
+    return binderProfile;
+  }
+
+  /**
+   * Returns the element parsers, which are registered the first time they are needed.
+   */
+  public ElementParserRegistry getElementParsers() {
+    if (elementParsers == null) {
+      elementParsers = new ElementParserRegistry(this);
+    }
+    return elementParsers;
+  }
+
+  public int getFieldClassEvictions() {
+    return fieldClassEvictions;
+  }
+
+  public int getFieldClassHits() {
+    return fieldClassHits;
+  }
+
+  public int getFieldClassMisses() {
+    return fieldClassMisses;
+  }
+
+  /**
+   * Returns the external entities of the templates resolved this round, for {@link
+   * W3cDomHelper}.
+   */
+  public Map<String, ResolvedEntity> getResolvedEntities() {
+    return resolvedEntities;
+  }
+
+  /**
+   * Returns the index of the resources looked up this round.
+   */
+  public ResourceIndex getResourceIndex() {
+    return resourceIndex;
+  }
+
+  /**
+   * Returns the descriptor cached for the erasure of the given type, or null. A descriptor built in
+   * an earlier round is only returned while the compiler still models the type with the same
+   * element, so it never refers to stale members.
+   */
   public OwnerFieldClass getOwnerFieldClass(TypeMirror type) {
-    return fieldClassesCache.get(type);
+    OwnerFieldClass clazz = fieldClassesCache.get(getCacheKey(type));
+    if (clazz != null
+        && AptUtil.asTypeElement(clazz.getRawType()) != AptUtil.asTypeElement(type)) {
+      clazz = null;
+    }
+
+    if (clazz == null) {
+      fieldClassMisses++;
+    } else {
+      fieldClassHits++;
+    }
+    return clazz;
+  }
+
+  /**
+   * Returns the descriptors of the widgets of the libraries that ship an index.
+   */
+  public WidgetIndex getWidgetIndex() {
+    return widgetIndex;
+  }
+
+  /**
+   * Returns the cache shared with the next compilations of the process, or null if it is off.
+   */
+  public WarmCache getWarmCache() {
+    return warmCache;
+  }
+
+  /**
+   * Returns the key of the descriptor of the given type in the {@link WarmCache}, or null if it is
+   * off, or if the type itself or one of its supertypes is not read from a jar, so may change
+   * without notice.
+   */
+  public String getWarmCacheKey(TypeMirror type) {
+    TypeElement typeElement = AptUtil.asTypeElement(type);
+    if (warmCache == null || typeElement == null) {
+      return null;
+    }
+
+    List<TypeMirror> hierarchy = new ArrayList<>(AptUtil.getFlattenedSupertypeHierarchy(type));
+    hierarchy.add(0, type);
+    Set<String> checksums = new TreeSet<>();
+    for (TypeMirror supertype : hierarchy) {
+      TypeElement supertypeElement = AptUtil.asTypeElement(supertype);
+      if (supertypeElement == null) {
+        return null;
+      }
+      String checksum = getClassFileChecksum(supertypeElement);
+      if (UNCACHEABLE_TYPE.equals(checksum)) {
+        return null;
+      }
+      checksums.add(checksum);
+    }
+    return UiBinderApiPackage.current() + ":" + typeElement.getQualifiedName() + "@"
+        + String.join(",", checksums);
+  }
+
+  /**
+   * Sets the profile of the binder being generated.
+   */
+  void setBinderProfile(BinderProfile binderProfile) {
+    this.binderProfile = binderProfile;
+  }
+
+  /**
+   * Drops what was resolved against the type model of the previous round.
+   */
+  public void newRound() {
+    resolvedEntities.clear();
+    resourceIndex.clear();
+    if (elementParsers != null) {
+      elementParsers.clearParserChains();
+    }
+  }
+
+  /**
+   * Caches the class names of a style sheet.
+   *
+   * @param shared whether the class names only depend on the content of the style sheet, so can be
+   *     shared with the next compilations through the {@link WarmCache}
+   */
+  public void putCssClassNames(String contentHash, Set<String> classNames, boolean shared) {
+    cssClassNamesCache.put(contentHash, classNames);
+    if (shared && warmCache != null) {
+      warmCache.putCssClassNames(contentHash, classNames);
+    }
+  }
+
+  /**
+   * Whether DOM elements are built by cloning templates parsed once, rather than by parsing their
+   * HTML for each instance.
+   */
+  public boolean isCloneTemplates() {
+    return cloneTemplates;
   }
 
   public void putOwnerFieldClass(TypeMirror forType, OwnerFieldClass clazz) {
-    fieldClassesCache.put(forType, clazz);
+    fieldClassesCache.put(getCacheKey(forType), clazz);
+  }
+
+  void setCloneTemplates(boolean cloneTemplates) {
+    this.cloneTemplates = cloneTemplates;
+  }
+
+  /**
+   * Shares descriptors and style sheets with the other compilations of the process.
+   */
+  void setWarmCache(WarmCache warmCache) {
+    this.warmCache = warmCache;
   }
 
+  private String getCacheKey(TypeMirror type) {
+    return AptUtil.getTypeUtils().erasure(type).toString();
+  }
+
+  /**
+   * Returns the checksum of the jar the class file of a type is read from. The types of the Java
+   * platform are not on the class path, but only change with the compiler. Types compiled from
+   * source, read from a directory, or found elsewhere, are not cacheable.
+   */
+  private String getClassFileChecksum(TypeElement type) {
+    String qualifiedName = type.getQualifiedName().toString();
+    String checksum = classFileChecksums.get(qualifiedName);
+    if (checksum != null) {
+      return checksum;
+    }
+
+    TypeElement topLevelType = AptUtil.getTopLevelType(type);
+    String packageName = AptUtil.getElementUtils().getPackageOf(type).getQualifiedName()
+        .toString();
+    String sourceFileName = topLevelType.getSimpleName() + ".java";
+
+    checksum = UNCACHEABLE_TYPE;
+    if (!sourceTypes.contains(topLevelType.getQualifiedName().toString())
+        && AptUtil.findResource(Collections.singletonList(StandardLocation.SOURCE_PATH),
+        packageName, sourceFileName) == null) {
+      FileObject classFile = AptUtil.findClassFile(type);
+      if (classFile == null) {
+        if (packageName.startsWith("java.") || packageName.startsWith("javax.")) {
+          checksum = PLATFORM_TYPE;
+        }
+      } else {
+        File jar = WarmCache.getJar(classFile);
+        if (jar != null && isSourceInJar(jar, packageName, sourceFileName)) {
+          String jarChecksum = warmCache.getJarChecksum(jar);
+          if (jarChecksum != null) {
+            checksum = jarChecksum;
+          }
+        }
+      }
+    }
+    classFileChecksums.put(qualifiedName, checksum);
+    return checksum;
+  }
+
+  /**
+   * Whether the source of a type on the class path, if any, is in the same jar as its class file.
+   * Without a source path, the compiler reads the sources of the class path.
+   */
+  private boolean isSourceInJar(File jar, String packageName, String sourceFileName) {
+    FileObject sourceFile = AptUtil.findResource(
+        Collections.singletonList(StandardLocation.CLASS_PATH), packageName, sourceFileName);
+    return sourceFile == null || jar.equals(WarmCache.getJar(sourceFile));
+  }
 }
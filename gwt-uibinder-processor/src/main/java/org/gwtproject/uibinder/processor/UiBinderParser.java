@@ -33,6 +33,7 @@ import com.google.gwt.resources.rg.GssResourceGenerator.GssOptions;
 import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
@@ -40,7 +41,6 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.ElementFilter;
-import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 
 /**
@@ -115,24 +115,27 @@ public class UiBinderParser {
   private final TypeMirror dataResourceType;
   private final String binderUri;
   private final UiBinderContext uiBinderContext;
-  private GssOptions gssOptions;
+  private final Supplier<GssOptions> gssOptions;
 
+  /**
+   * @param gssOptions supplies the GSS options once a style is parsed
+   */
   public UiBinderParser(UiBinderWriter writer, MessagesWriter messagesWriter,
       FieldManager fieldManager, ImplicitClientBundle bundleClass,
-      String binderUri, UiBinderContext uiBinderContext, GssOptions gssOptions) {
+      String binderUri, UiBinderContext uiBinderContext, Supplier<GssOptions> gssOptions) {
     this.writer = writer;
 
     this.messagesWriter = messagesWriter;
     this.fieldManager = fieldManager;
     this.bundleClass = bundleClass;
     this.uiBinderContext = uiBinderContext;
-    Elements elementUtils = AptUtil.getElementUtils();
-    this.cssResourceType = elementUtils
-        .getTypeElement(UiBinderApiPackage.current().getCssResourceFqn()).asType();
-    this.imageResourceType = elementUtils
-        .getTypeElement(UiBinderApiPackage.current().getImageResourceFqn()).asType();
-    this.dataResourceType = elementUtils
-        .getTypeElement(UiBinderApiPackage.current().getDataResourceFqn()).asType();
+    WellKnownTypes wellKnownTypes = AptUtil.getWellKnownTypes();
+    this.cssResourceType = wellKnownTypes
+        .getType(UiBinderApiPackage.current().getCssResourceFqn());
+    this.imageResourceType = wellKnownTypes
+        .getType(UiBinderApiPackage.current().getImageResourceFqn());
+    this.dataResourceType = wellKnownTypes
+        .getType(UiBinderApiPackage.current().getDataResourceFqn());
     this.binderUri = binderUri;
     this.gssOptions = gssOptions;
   }
@@ -155,6 +158,9 @@ public class UiBinderParser {
     findResources(elem);
     messagesWriter.findMessagesConfig(elem);
     XMLElement uiRoot = elem.consumeSingleChildElement();
+    if (writer.isRenderer()) {
+      writer.setRenderedAttribute(uiRoot);
+    }
     return writer.parseElementToField(uiRoot);
   }
 
@@ -299,7 +305,8 @@ public class UiBinderParser {
     if (writer.isRenderer()) {
       TypeMirror matchingResourceType = findRenderParameterType(resourceName);
       if (matchingResourceType != null) {
-        createResourceUiRenderer(elem, resourceName, resourceType.asType(), matchingResourceType);
+        createResourceUiRenderer(elem, resourceName,
+            resourceType == null ? null : resourceType.asType(), matchingResourceType);
         return;
       }
     }
@@ -406,20 +413,19 @@ public class UiBinderParser {
 
   private void createResourceUiRenderer(XMLElement elem, String resourceName,
       TypeMirror resourceType, TypeMirror matchingResourceType) throws UnableToCompleteException {
-    // TODO implement
-//    FieldWriter fieldWriter;
-//    if (resourceType != null
-//        && !resourceType.getErasedType().isAssignableFrom(matchingResourceType.getErasedType())) {
-//      writer.die(elem, "Type must match the type of parameter %s in %s#render method.",
-//          resourceName,
-//          writer.getBaseClass().getQualifiedSourceName());
-//    }
-//
-//    fieldWriter = fieldManager.registerField(
-//        FieldWriterType.IMPORTED, matchingResourceType.getErasedType(), resourceName);
-//    // Sets initialization as a NOOP. These fields are set from
-//    // parameters passed to UiRenderer#render(), instead.
-//    fieldWriter.setInitializer(resourceName);
+    Types types = AptUtil.getTypeUtils();
+    if (resourceType != null
+        && !types.isAssignable(types.erasure(matchingResourceType), types.erasure(resourceType))) {
+      writer.die(elem, "Type must match the type of parameter %s in %s#render method.",
+          resourceName,
+          AptUtil.asQualifiedNameable(writer.getBaseClass()).getQualifiedName());
+    }
+
+    FieldWriter fieldWriter = fieldManager.registerField(
+        FieldWriterType.IMPORTED, types.erasure(matchingResourceType), resourceName);
+    // Sets initialization as a NOOP. These fields are set from
+    // parameters passed to UiRenderer#render(), instead.
+    fieldWriter.setInitializer(resourceName);
   }
 
   private void createSingleImport(XMLElement elem, TypeMirror enclosingType,
@@ -477,22 +483,23 @@ public class UiBinderParser {
 
   private boolean determineGssForFile(Boolean attributeInUiBinderFile)
       throws UnableToCompleteException {
+    GssOptions options = gssOptions.get();
     if (attributeInUiBinderFile == null) {
-      if (!gssOptions.isEnabled() && gssOptions.isGssDefaultInUiBinder()) {
+      if (!options.isEnabled() && options.isGssDefaultInUiBinder()) {
         writer.die("Invalid combination of configuration properties. "
             + "CssResource.enableGss is false, but CssResource.uiBinderGssDefault is true");
       }
-      return gssOptions.isGssDefaultInUiBinder();
+      return options.isGssDefaultInUiBinder();
     }
 
     if (Boolean.TRUE.equals(attributeInUiBinderFile)) {
-      if (!gssOptions.isEnabled()) {
+      if (!options.isEnabled()) {
         writer.die("UiBinder file has attribute gss=\"true\", but GSS is disabled globally");
       }
       return true;
     }
 
-    if (gssOptions.isEnabled() && gssOptions.isAutoConversionOff()) {
+    if (options.isEnabled() && options.isAutoConversionOff()) {
       writer.die("UiBinder file has attribute gss=\"false\", "
           + "but CssResource.conversionMode is \"off\"");
     }
@@ -515,31 +522,13 @@ public class UiBinderParser {
 //    return publicType;
   }
 
-  private TypeMirror findRenderParameterType(String resourceName) throws UnableToCompleteException {
-    return null;// TODO implement
-//    ExecutableElement renderMethod = null;
-//    TypeMirror baseClass = writer.getBaseClass();
-//    for (JMethod method : baseClass.getInheritableMethods()) {
-//      if (method.getName().equals("render")) {
-//        if (renderMethod == null) {
-//          renderMethod = method;
-//        } else {
-//          writer.die("%s declares more than one method named render",
-//              baseClass.getQualifiedSourceName());
-//        }
-//      }
-//    }
-//    if (renderMethod == null) {
-//      return null;
-//    }
-//    TypeMirror matchingResourceType = null;
-//    for (VariableElement jParameter : renderMethod.getParameters()) {
-//      if (jParameter.getSimpleName().toString().equals(resourceName)) {
-//        matchingResourceType = AptUtil.asTypeElement(jParameter.asType()).asType();
-//        break;
-//      }
-//    }
-//    return matchingResourceType;
+  private TypeMirror findRenderParameterType(String resourceName) {
+    for (VariableElement parameter : UiBinderWriter.findRenderParameters(writer.getBaseClass())) {
+      if (parameter.getSimpleName().contentEquals(resourceName)) {
+        return parameter.asType();
+      }
+    }
+    return null;
   }
 
   private void findResources(XMLElement binderElement)
@@ -15,12 +15,16 @@
  */
 package org.gwtproject.uibinder.processor;
 
+import org.gwtproject.uibinder.processor.BinderProfile.Phase;
 import org.gwtproject.uibinder.processor.ext.MyTreeLogger;
 import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
 import org.gwtproject.uibinder.processor.messages.MessagesWriter;
 import org.gwtproject.uibinder.processor.model.ImplicitClientBundle;
 
-import com.google.gwt.dev.util.Util;
+import com.google.common.base.Suppliers;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.CharStreams;
 import com.google.gwt.resources.rg.GssResourceGenerator.AutoConversionMode;
 import com.google.gwt.resources.rg.GssResourceGenerator.GssOptions;
 
@@ -28,16 +32,26 @@ import org.w3c.dom.Document;
 import org.xml.sax.SAXParseException;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
 import javax.tools.FileObject;
 
 /**
@@ -45,10 +59,67 @@ import javax.tools.FileObject;
  */
 @SupportedAnnotationTypes(UiBinderApiPackage.UITEMPLATE)
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
+@SupportedOptions({
+    UiBinderProcessor.OPTION_INCREMENTAL,
+    UiBinderProcessor.OPTION_COMPACT_OUTPUT,
+    UiBinderProcessor.OPTION_THREADS,
+    UiBinderProcessor.OPTION_PROFILE,
+    UiBinderProcessor.OPTION_WARM_CACHE,
+    UiBinderProcessor.OPTION_CLONE_TEMPLATES})
 public class UiBinderProcessor extends BaseProcessor {
 
+  /**
+   * When {@code true}, binders whose inputs match the fingerprint recorded by the previous
+   * compilation, and whose implementation is still visible to the compiler, are not generated
+   * again.
+   */
+  static final String OPTION_INCREMENTAL = "uibinder.incremental";
+
+  /**
+   * When {@code true}, generated sources are written without indentation or blank lines.
+   */
+  static final String OPTION_COMPACT_OUTPUT = "uibinder.compactOutput";
+
+  /**
+   * The number of threads parsing templates ahead of generation, see {@link TemplateParsePool}.
+   * Binders are always generated one at a time, in a deterministic order. Defaults to 1, which
+   * parses each template when its binder is generated.
+   */
+  static final String OPTION_THREADS = "uibinder.threads";
+
+  /**
+   * Either {@code json} or {@code csv}, to record the time and allocation of each phase of
+   * generating each binder, see {@link BinderProfile}. The report is written to {@code
+   * META-INF/uibinder/profile.json} (or {@code .csv}) under the class output, and the slowest
+   * binders are listed in a note.
+   */
+  static final String OPTION_PROFILE = "uibinder.profile";
+
+  /**
+   * Either {@code true}, or the number of entries to keep, to share what is learnt about the field
+   * classes of jars and about style sheets with the next compilations of the same process, see
+   * {@link WarmCache}. Only worth it in a long-lived process, such as a build daemon.
+   */
+  static final String OPTION_WARM_CACHE = "uibinder.warmCache";
+
+  /**
+   * When {@code true}, the DOM elements of binders are built by cloning a template parsed once per
+   * distinct HTML, see {@code UiBinderUtil.fromTemplate}, rather than by parsing their HTML in a
+   * hidden element of the document for each instance. Only used by binders of org.gwtproject
+   * elements, as the UiBinderUtil of GWT does not have it.
+   */
+  static final String OPTION_CLONE_TEMPLATES = "uibinder.cloneTemplates";
+
   private static final String TEMPLATE_SUFFIX = ".ui.xml";
 
+  /**
+   * GSS options of all binders, created once a template has a style, as they are classes of
+   * gwt-dev.
+   */
+  // TODO hardcoded gss options
+  private static final Supplier<GssOptions> GSS_OPTIONS =
+      Suppliers.memoize(() -> new GssOptions(true, AutoConversionMode.STRICT, true));
+
   // TODO - naming strategy
   private static String deduceImplName(Element e) {
     String simpleSourceName = e.getSimpleName().toString() + "Impl";
@@ -65,6 +136,8 @@ public class UiBinderProcessor extends BaseProcessor {
   /**
    * Given a UiBinder interface, return the path to its ui.xml file, suitable for any classloader to
    * find it as a resource.
+   *
+   * @param logger the logger to report an invalid template name to, or null to return null instead
    */
   private static String deduceTemplateFile(MortalLogger logger, TypeElement interfaceType)
       throws UnableToCompleteException {
@@ -87,6 +160,9 @@ public class UiBinderProcessor extends BaseProcessor {
       return slashify(interfaceType.getQualifiedName().toString()) + TEMPLATE_SUFFIX;
     } else {
       if (!templateName.endsWith(TEMPLATE_SUFFIX)) {
+        if (logger == null) {
+          return null;
+        }
         logger.die("Template file name must end with " + TEMPLATE_SUFFIX);
       }
 
@@ -130,48 +206,139 @@ public class UiBinderProcessor extends BaseProcessor {
 
   private final UiBinderContext uiBinderCtx = new UiBinderContext();
 
+  private TemplateParsePool templateParsePool;
+
+  private ProfileReport profileReport;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    profileReport = createProfileReport();
+    uiBinderCtx.setWarmCache(getWarmCache());
+    uiBinderCtx.setCloneTemplates(isCloneTemplates());
+  }
+
   @Override
   protected String processElement(TypeElement interfaceType, MyTreeLogger logger)
       throws UnableToCompleteException {
     String implName = deduceImplName(interfaceType);
     String packageName = processingEnv.getElementUtils().getPackageOf(interfaceType)
         .getQualifiedName().toString();
-    PrintWriterManager writers = new PrintWriterManager(processingEnv, logger, packageName);
-    PrintWriter printWriter = writers.tryToMakePrintWriterFor(implName);
+    PrintWriterManager writers = new PrintWriterManager(processingEnv, logger, packageName,
+        isCompactOutput(), interfaceType);
 
-    if (printWriter != null) {
-      generateOnce(interfaceType, implName, printWriter, logger, writers);
+    BinderProfile profile = profileReport == null ? BinderProfile.NONE
+        : profileReport.start(packageName + "." + implName);
+    uiBinderCtx.setBinderProfile(profile);
+    profile.enter(Phase.SETUP);
+    try {
+      if (generateOnce(interfaceType, implName, logger, writers)) {
+        return packageName + "." + implName;
+      }
+      return null;
+    } finally {
+      profile.enter(null);
+      profile.addGeneratedChars(writers.getGeneratedChars());
+      uiBinderCtx.setBinderProfile(BinderProfile.NONE);
     }
-
-    return packageName + "." + implName;
   }
 
-  private void generateOnce(TypeElement interfaceType, String implName,
-      PrintWriter binderPrintWriter, MyTreeLogger treeLogger, PrintWriterManager writerManager)
+  /**
+   * Generates the implementation of the given binder interface.
+   *
+   * @return false if nothing was written, because the implementation already exists
+   */
+  private boolean generateOnce(TypeElement interfaceType, String implName,
+      MyTreeLogger treeLogger, PrintWriterManager writerManager)
       throws UnableToCompleteException {
     MortalLogger logger = new MortalLogger(treeLogger);
     UiBinderApiPackage api = deduceApi(logger, interfaceType);
     UiBinderApiPackage.setUiBinderApiPackage(api);
     String templatePath = deduceTemplateFile(logger, interfaceType);
+    String packageName = AptUtil.getPackageElement(interfaceType).getQualifiedName().toString();
+    String qualifiedImplName = packageName.isEmpty() ? implName : packageName + "." + implName;
     MessagesWriter messages = new MessagesWriter(api.getBinderUri(), logger, templatePath,
-        AptUtil.getPackageElement(interfaceType).getQualifiedName().toString(), implName);
+        packageName, implName);
     FieldManager fieldManager = new FieldManager(logger, true);
 
-    // TODO hardcoded gss options
-    GssOptions gssOptions = new GssOptions(true, AutoConversionMode.STRICT, true);
-
     UiBinderWriter uiBinderWriter = new UiBinderWriter(interfaceType.asType(), implName,
-        templatePath, logger, fieldManager, messages, uiBinderCtx, api.getBinderUri(), gssOptions);
+        templatePath, logger, fieldManager, messages, uiBinderCtx, api.getBinderUri(),
+        GSS_OPTIONS);
+
+    BinderProfile profile = uiBinderCtx.getBinderProfile();
+    profile.enter(Phase.TEMPLATE);
+    TemplateParsePool.Template template =
+        templateParsePool == null ? null : templateParsePool.take(templatePath);
+    FileObject resource;
+    String templateContent = null;
+    if (template != null) {
+      resource = template.getResource();
+      templateContent = template.getContent();
+    } else {
+      resource = getTemplateResource(logger, templatePath);
+    }
+
+    BinderFingerprint fingerprint = null;
+    if (isIncremental()) {
+      if (templateContent == null) {
+        templateContent = getTemplateContent(logger, resource);
+      }
+      fingerprint = BinderFingerprint
+          .compute(templateContent, uiBinderWriter.getOwnerClass().getOwnerType());
+      if (isUpToDate(fingerprint, qualifiedImplName, writerManager, treeLogger)) {
+        return false;
+      }
+    }
+
+    PrintWriter binderPrintWriter = writerManager.tryToMakePrintWriterFor(implName);
+    if (binderPrintWriter == null) {
+      return false;
+    }
 
-    FileObject resource = getTemplateResource(logger, templatePath);
+    Document doc = null;
+    if (template != null) {
+      // waiting for the pool is not parsing: the parse is timed on the thread that did it
+      profile.enter(null);
+      TemplateParsePool.Parse parse = template.getParse();
+      if (parse != null) {
+        doc = parse.getDocument();
+        profile.add(Phase.XML, parse.getNanos(), parse.getAllocatedBytes());
+      }
+      if (doc == null) {
+        profile.addParseFallback();
+      }
+    }
+    profile.enter(Phase.XML);
+    HashCode templateHash = null;
+    if (templateContent != null) {
+      templateHash = TemplateContentHash.hashTemplate(templateContent);
+      if (doc == null) {
+        doc = getW3cDoc(logger, templateContent, null, resource);
+      }
+    } else {
+      // read once, hashed as the parser reads it: the parser reads up to the end of the stream,
+      // where content after the root element would be an error, then closes it
+      try (HashingInputStream stream = new HashingInputStream(TemplateContentHash.TEMPLATE_HASH,
+          resource.openInputStream())) {
+        doc = getW3cDoc(logger, null, stream, resource);
+        templateHash = stream.hash();
+      } catch (IOException e) {
+        logger.die("Error opening resource: " + resource.getName(), e);
+      }
+    }
 
     // Ensure that generated uibinder source is modified at least as often as synthesized .cssmap
     // resources, otherwise it would be possible to synthesize a modified .cssmap resource but fail
-    // to retrigger the InlineClientBundleGenerator that processes it.
+    // to retrigger the InlineClientBundleGenerator that processes it. A hash of the content rather
+    // than a timestamp keeps the source identical for identical inputs.
     binderPrintWriter.println("// Template file: " + templatePath);
-    binderPrintWriter.println("// .ui.xml template last modified: " + resource.getLastModified());
-    Document doc = getW3cDoc(logger, resource);
+    binderPrintWriter.println("// Template content hash: "
+        + TemplateContentHash.compute(templateHash, doc, api.getBinderUri(), packageName));
 
+    if (fingerprint != null) {
+      // before the parser consumes the elements naming them
+      fingerprint.addTemplateTypes(doc, api.getBinderUri());
+    }
     uiBinderWriter.parseDocument(doc, binderPrintWriter);
 
     if (messages.hasMessages()) {
@@ -181,26 +348,238 @@ public class UiBinderProcessor extends BaseProcessor {
     ImplicitClientBundle bundleClass = uiBinderWriter.getBundleClass();
     new BundleWriter(bundleClass, writerManager, logger).write();
 
+    profile.enter(Phase.COMMIT);
     writerManager.commit();
+
+    if (fingerprint != null) {
+      for (FieldWriter field : fieldManager.getFields()) {
+        fingerprint.addType(field.getAssignableType());
+      }
+      for (FieldReference reference : fieldManager.getFieldReferences()) {
+        fingerprint.addFieldReference(reference);
+      }
+      fingerprint.addBundle(bundleClass);
+      for (String output : writerManager.getNames()) {
+        fingerprint.addOutput(output);
+      }
+      try {
+        fingerprint.write(qualifiedImplName, interfaceType);
+      } catch (IOException e) {
+        treeLogger.log(Kind.WARNING, "Unable to write fingerprint of " + qualifiedImplName, e);
+      }
+    }
+    return true;
   }
 
-  private Document getW3cDoc(MortalLogger logger, FileObject resource)
-      throws UnableToCompleteException {
-    Document doc = null;
+  @Override
+  protected void roundStarted(List<TypeElement> elements, Set<? extends Element> rootElements) {
+    uiBinderCtx.newRound();
+    uiBinderCtx.addSourceTypes(rootElements);
+    AptUtil.setResourceIndex(uiBinderCtx.getResourceIndex());
+
+    int threads = getThreads();
+    if (threads > 1 && elements.size() > 1) {
+      templateParsePool = new TemplateParsePool(threads, processingEnv,
+          uiBinderCtx.getResolvedEntities());
+      for (TypeElement interfaceType : elements) {
+        submitTemplate(interfaceType);
+      }
+    }
+  }
+
+  @Override
+  protected void roundFinished() {
+    if (templateParsePool != null) {
+      templateParsePool.shutdown();
+      templateParsePool = null;
+    }
+  }
+
+  @Override
+  protected void processingOver(MyTreeLogger treeLogger) {
+    if (uiBinderCtx.getFieldClassHits() + uiBinderCtx.getFieldClassMisses() > 0) {
+      treeLogger.log(Kind.NOTE, String.format(
+          "UiBinder field class cache: %d hits, %d misses, %d evictions",
+          uiBinderCtx.getFieldClassHits(), uiBinderCtx.getFieldClassMisses(),
+          uiBinderCtx.getFieldClassEvictions()));
+    }
+
+    ResourceIndex resourceIndex = uiBinderCtx.getResourceIndex();
+    if (resourceIndex.getLookups() > 0) {
+      treeLogger.log(Kind.NOTE, String.format(
+          "UiBinder resource index: %d lookups, %d Filer probes (%d found), %.1f ms probing",
+          resourceIndex.getLookups(), resourceIndex.getProbes(), resourceIndex.getProbeHits(),
+          resourceIndex.getProbeNanos() / 1e6));
+    }
+
+    WidgetIndex widgetIndex = uiBinderCtx.getWidgetIndex();
+    if (widgetIndex.getIndexedPackages() > 0) {
+      treeLogger.log(Kind.NOTE, String.format(
+          "UiBinder widget index: %d indexed packages, %d hits, %d entries of another api, "
+              + "%d stale entries",
+          widgetIndex.getIndexedPackages(), widgetIndex.getHits(),
+          widgetIndex.getOtherApiEntries(), widgetIndex.getStaleEntries()));
+    }
+
+    WarmCache warmCache = uiBinderCtx.getWarmCache();
+    if (warmCache != null) {
+      treeLogger.log(Kind.NOTE, String.format(
+          "UiBinder warm cache: %d entries, %d hits, %d misses, %d invalidated in this process",
+          warmCache.getSize(), warmCache.getHits(), warmCache.getMisses(),
+          warmCache.getInvalidations()));
+    }
+
+    if (profileReport != null) {
+      profileReport.write(processingEnv.getFiler(), treeLogger);
+    }
+  }
+
+  private ProfileReport createProfileReport() {
+    String format = processingEnv.getOptions().get(OPTION_PROFILE);
+    if (format == null) {
+      return null;
+    }
+    switch (format.trim().toLowerCase()) {
+      case "json":
+        return new ProfileReport(ProfileReport.Format.JSON);
+      case "csv":
+        return new ProfileReport(ProfileReport.Format.CSV);
+      default:
+        processingEnv.getMessager().printMessage(Kind.WARNING,
+            "Ignoring invalid " + OPTION_PROFILE + ": " + format);
+        return null;
+    }
+  }
+
+  private int getThreads() {
+    String threads = processingEnv.getOptions().get(OPTION_THREADS);
+    if (threads == null) {
+      return 1;
+    }
     try {
-      CharSequence charContent = resource.getCharContent(false);
+      return Math.max(1, Integer.parseInt(threads.trim()));
+    } catch (NumberFormatException e) {
+      processingEnv.getMessager().printMessage(Kind.WARNING,
+          "Ignoring invalid " + OPTION_THREADS + ": " + threads);
+      return 1;
+    }
+  }
 
-      if (charContent == null) {
-        charContent = Util.readStreamAsString(resource.openInputStream());
-      }
-      String content = charContent.toString();
+  private WarmCache getWarmCache() {
+    String warmCache = processingEnv.getOptions().get(OPTION_WARM_CACHE);
+    if (warmCache == null || "false".equalsIgnoreCase(warmCache.trim())) {
+      return null;
+    }
+    if ("true".equalsIgnoreCase(warmCache.trim())) {
+      return WarmCache.get(WarmCache.DEFAULT_MAX_ENTRIES);
+    }
+    try {
+      int maxEntries = Integer.parseInt(warmCache.trim());
+      return maxEntries > 0 ? WarmCache.get(maxEntries) : null;
+    } catch (NumberFormatException e) {
+      processingEnv.getMessager().printMessage(Kind.WARNING,
+          "Ignoring invalid " + OPTION_WARM_CACHE + ": " + warmCache);
+      return null;
+    }
+  }
+
+  private boolean isCloneTemplates() {
+    return Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_CLONE_TEMPLATES));
+  }
+
+  private boolean isCompactOutput() {
+    return Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_COMPACT_OUTPUT));
+  }
+
+  private boolean isIncremental() {
+    return Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_INCREMENTAL));
+  }
+
+  /**
+   * Whether the outputs generated for the binder by a previous compilation are all still there,
+   * and were generated from the same inputs.
+   */
+  private boolean isUpToDate(BinderFingerprint fingerprint, String qualifiedImplName,
+      PrintWriterManager writerManager, MyTreeLogger logger) {
+    BinderFingerprint previous = BinderFingerprint.read(qualifiedImplName);
+    if (previous == null) {
+      return false;
+    }
+
+    List<String> changes = fingerprint.changesSince(previous);
+    if (!changes.isEmpty()) {
+      logger.log(Kind.NOTE, "Regenerating " + qualifiedImplName + ": "
+          + String.join(", ", changes));
+      return false;
+    }
+    List<String> missingOutputs = previous.missingOutputs(writerManager);
+    if (!missingOutputs.isEmpty()) {
+      logger.log(Kind.NOTE, "Regenerating " + qualifiedImplName + ": missing "
+          + String.join(", ", missingOutputs));
+      return false;
+    }
 
-      doc = new W3cDomHelper(logger.getTreeLogger(), processingEnv)
-          .documentFor(content, resource.getName());
+    logger.log(Kind.NOTE, qualifiedImplName + " is up to date");
+    return true;
+  }
+
+  private String getTemplateContent(MortalLogger logger, FileObject resource)
+      throws UnableToCompleteException {
+    String content = null;
+    try {
+      content = readTemplateContent(resource);
     } catch (IOException iex) {
       logger.die("Error opening resource: " + resource.getName(), iex);
+    }
+    return content;
+  }
+
+  private String readTemplateContent(FileObject resource) throws IOException {
+    CharSequence charContent = resource.getCharContent(false);
+    if (charContent == null) {
+      try (Reader reader =
+          new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8)) {
+        charContent = CharStreams.toString(reader);
+      }
+    }
+    return charContent.toString();
+  }
+
+  /**
+   * Reads the template of the given binder and submits it to be parsed ahead of generation.
+   * Problems are ignored here, and reported when the binder is generated.
+   */
+  private void submitTemplate(TypeElement interfaceType) {
+    try {
+      String templatePath = deduceTemplateFile(null, interfaceType);
+      FileObject resource = templatePath == null ? null : AptUtil.findResource(templatePath);
+      if (resource != null) {
+        templateParsePool.submit(templatePath, resource, readTemplateContent(resource));
+      }
+    } catch (IOException | UnableToCompleteException e) {
+      // reported when the binder is generated
+    }
+  }
+
+  /**
+   * Parses the template, from its content if it was read already, or else straight from the stream
+   * of the resource.
+   */
+  private Document getW3cDoc(MortalLogger logger, String content, InputStream stream,
+      FileObject resource) throws UnableToCompleteException {
+    Document doc = null;
+    W3cDomHelper helper = new W3cDomHelper(logger.getTreeLogger(), processingEnv,
+        uiBinderCtx.getResolvedEntities());
+    try {
+      if (content != null) {
+        doc = helper.documentFor(content, resource.getName());
+      } else {
+        doc = helper.documentFor(stream, resource.getName());
+      }
     } catch (SAXParseException e) {
       logger.die("Error parsing XML (line " + e.getLineNumber() + "): " + e.getMessage(), e);
+    } catch (IOException e) {
+      logger.die("Error opening resource: " + resource.getName(), e);
     }
 
     return doc;
@@ -21,12 +21,9 @@ import static org.gwtproject.uibinder.processor.AptUtil.getPackageElement;
 import static org.gwtproject.uibinder.processor.AptUtil.isAssignableFrom;
 import static org.gwtproject.uibinder.processor.AptUtil.isAssignableTo;
 
+import org.gwtproject.uibinder.processor.BinderProfile.Phase;
 import org.gwtproject.uibinder.processor.attributeparsers.AttributeParsers;
-import org.gwtproject.uibinder.processor.elementparsers.AttributeMessageParser;
-import org.gwtproject.uibinder.processor.elementparsers.BeanParser;
 import org.gwtproject.uibinder.processor.elementparsers.ElementParser;
-import org.gwtproject.uibinder.processor.elementparsers.IsEmptyParser;
-import org.gwtproject.uibinder.processor.elementparsers.UiChildParser;
 import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
 import org.gwtproject.uibinder.processor.messages.MessagesWriter;
 import org.gwtproject.uibinder.processor.model.HtmlTemplateMethodWriter;
@@ -43,19 +40,22 @@ import org.w3c.dom.Element;
 
 import java.beans.Introspector;
 import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.TypeParameterElement;
@@ -76,6 +76,69 @@ public class UiBinderWriter {
 
   private static final String PACKAGE_URI_SCHEME = "urn:import:";
 
+  // FIXME - hardcoded to not add dependency AbstractUiRenderer.RENDERED_ATTRIBUTE
+  private static final String RENDERED_ATTRIBUTE = "gwtuirendered";
+
+  /**
+   * The packages of the {@code DomEvent} subclasses a UiRenderer can dispatch: gwt-event-dom, and
+   * the com.google.gwt one it was ported from, which has the same events.
+   */
+  private static final Set<String> DOM_EVENT_PACKAGES = Collections.unmodifiableSet(
+      new HashSet<>(Arrays.asList("org.gwtproject.event.dom.client",
+          "com.google.gwt.event.dom.client")));
+
+  /**
+   * What {@code getType().getName()} returns on each {@code DomEvent} subclass of {@link
+   * #DOM_EVENT_PACKAGES}, by simple name. Neither the legacy nor the new event classes can be
+   * loaded by the processor to call it.
+   */
+  private static final Map<String, String> DOM_EVENT_NAMES;
+
+  static {
+    Map<String, String> tmpDomEventNames = new HashMap<>();
+    tmpDomEventNames.put("BlurEvent", "blur");
+    tmpDomEventNames.put("CanPlayThroughEvent", "canplaythrough");
+    tmpDomEventNames.put("ChangeEvent", "change");
+    tmpDomEventNames.put("ClickEvent", "click");
+    tmpDomEventNames.put("ContextMenuEvent", "contextmenu");
+    tmpDomEventNames.put("DoubleClickEvent", "dblclick");
+    tmpDomEventNames.put("DragEndEvent", "dragend");
+    tmpDomEventNames.put("DragEnterEvent", "dragenter");
+    tmpDomEventNames.put("DragEvent", "drag");
+    tmpDomEventNames.put("DragLeaveEvent", "dragleave");
+    tmpDomEventNames.put("DragOverEvent", "dragover");
+    tmpDomEventNames.put("DragStartEvent", "dragstart");
+    tmpDomEventNames.put("DropEvent", "drop");
+    tmpDomEventNames.put("EndedEvent", "ended");
+    tmpDomEventNames.put("ErrorEvent", "error");
+    tmpDomEventNames.put("FocusEvent", "focus");
+    tmpDomEventNames.put("GestureChangeEvent", "gesturechange");
+    tmpDomEventNames.put("GestureEndEvent", "gestureend");
+    tmpDomEventNames.put("GestureStartEvent", "gesturestart");
+    tmpDomEventNames.put("KeyDownEvent", "keydown");
+    tmpDomEventNames.put("KeyPressEvent", "keypress");
+    tmpDomEventNames.put("KeyUpEvent", "keyup");
+    tmpDomEventNames.put("LoadEvent", "load");
+    tmpDomEventNames.put("LoadedMetadataEvent", "loadedmetadata");
+    tmpDomEventNames.put("LoseCaptureEvent", "losecapture");
+    tmpDomEventNames.put("MouseDownEvent", "mousedown");
+    tmpDomEventNames.put("MouseMoveEvent", "mousemove");
+    tmpDomEventNames.put("MouseOutEvent", "mouseout");
+    tmpDomEventNames.put("MouseOverEvent", "mouseover");
+    tmpDomEventNames.put("MouseUpEvent", "mouseup");
+    tmpDomEventNames.put("MouseWheelEvent", "mousewheel");
+    tmpDomEventNames.put("ProgressEvent", "progress");
+    tmpDomEventNames.put("ScrollEvent", "scroll");
+    tmpDomEventNames.put("TouchCancelEvent", "touchcancel");
+    tmpDomEventNames.put("TouchEndEvent", "touchend");
+    tmpDomEventNames.put("TouchMoveEvent", "touchmove");
+    tmpDomEventNames.put("TouchStartEvent", "touchstart");
+    DOM_EVENT_NAMES = Collections.unmodifiableMap(tmpDomEventNames);
+  }
+
+  private static final String[] GENERATED_ANNOTATIONS = {
+      "javax.annotation.processing.Generated", "javax.annotation.Generated"};
+
   // TODO(rjrjr) Another place that we need a general anonymous field
   // mechanism
   private static final String CLIENT_BUNDLE_FIELD =
@@ -139,40 +202,6 @@ public class UiBinderWriter {
     return text;
   }
 
-  /**
-   * Returns a list of the given type and all its superclasses and implemented interfaces in a
-   * breadth-first traversal.
-   *
-   * @param typeElement the base type
-   * @return a breadth-first collection of its type hierarchy
-   */
-  static Iterable<TypeElement> getClassHierarchyBreadthFirst(TypeElement typeElement) {
-    LinkedList<TypeElement> list = new LinkedList<>();
-    LinkedList<TypeElement> q = new LinkedList<>();
-
-    q.add(typeElement);
-    while (!q.isEmpty()) {
-      // Pop the front of the queue and add it to the result list.
-      TypeElement curType = q.removeFirst();
-      list.add(curType);
-
-      // Add implemented interfaces to the back of the queue (breadth first,
-      // remember?)
-
-      for (TypeMirror intf : curType.getInterfaces()) {
-        q.add(AptUtil.asTypeElement(intf));
-      }
-      // Add then add superclasses
-
-      TypeElement superClass = asTypeElement(curType.getSuperclass());
-      if (superClass != null) {
-        q.add(superClass);
-      }
-    }
-
-    return list;
-  }
-
   private static String capitalizePropName(String propName) {
     return propName.substring(0, 1).toUpperCase(Locale.ROOT) + propName.substring(1);
   }
@@ -213,11 +242,11 @@ public class UiBinderWriter {
   }
 
   /**
-   * Scans a class for a method named "render". Returns its parameters except for the first one. See
-   * {@link #validateRenderParameters(TypeMirror)} for a method that guarantees this method will
-   * succeed.
+   * Scans a class for a method named "render". Returns its parameters except for the first one, or
+   * none if there is no such method. See {@link #validateRenderParameters(TypeMirror)} for a method
+   * that guarantees this method will succeed.
    */
-  private static VariableElement[] findRenderParameters(TypeMirror owner) {
+  static VariableElement[] findRenderParameters(TypeMirror owner) {
     List<ExecutableElement> methods = ElementFilter
         .methodsIn(asTypeElement(owner).getEnclosedElements());
 
@@ -228,6 +257,9 @@ public class UiBinderWriter {
         renderMethod = jMethod;
       }
     }
+    if (renderMethod == null) {
+      return new VariableElement[0];
+    }
 
     List<? extends VariableElement> parameters = renderMethod.getParameters();
     return parameters.subList(1, parameters.size()).toArray(new VariableElement[0]);
@@ -251,7 +283,7 @@ public class UiBinderWriter {
   }
 
   private static String formatMethodError(ExecutableElement eventMethod) {
-    return "\"" + asQualifiedNameable(eventMethod).getQualifiedName().toString() + "\""
+    return "\"" + eventMethod.getSimpleName().toString() + "\""
         + " of " + asQualifiedNameable(eventMethod.getEnclosingElement())
         .getQualifiedName().toString();
   }
@@ -270,7 +302,7 @@ public class UiBinderWriter {
     for (int i = 0; i < renderParameters.length; i++) {
       VariableElement parameter = renderParameters[i];
       builder.append("final ");
-      builder.append(asQualifiedNameable(parameter).getQualifiedName().toString());
+      builder.append(AptUtil.getParameterizedQualifiedSourceName(parameter.asType()));
       builder.append(" ");
       builder.append(parameter.getSimpleName().toString());
       if (i < renderParameters.length - 1) {
@@ -283,12 +315,6 @@ public class UiBinderWriter {
 
   private final MortalLogger logger;
 
-  /**
-   * Class names of parsers for various ui types, keyed by the classname of the UI class they can
-   * build.
-   */
-  private final Map<String, String> elementParsers = new HashMap<>();
-
   private final List<String> initStatements = new ArrayList<String>();
   private final List<String> statements = new ArrayList<String>();
   private final HandlerEvaluator handlerEvaluator;
@@ -334,8 +360,6 @@ public class UiBinderWriter {
 
   private int renderableStamper = 0;
 
-  private String rendered;
-
   /**
    * Stack of element variable names that have been attached.
    */
@@ -357,11 +381,15 @@ public class UiBinderWriter {
   private final String binderUri;
   private final boolean isRenderer;
 
-  private final GssOptions gssOptions;
+  private final Supplier<GssOptions> gssOptions;
 
+  /**
+   * @param gssOptions supplies the GSS options once a style is parsed, as they are classes of
+   * gwt-dev
+   */
   public UiBinderWriter(TypeMirror baseType, String implClassName, String templatePath,
       MortalLogger logger, FieldManager fieldManager, MessagesWriter messagesWriter,
-      UiBinderContext uiBinderCtx, String binderUri, GssOptions gssOptions)
+      UiBinderContext uiBinderCtx, String binderUri, Supplier<GssOptions> gssOptions)
       throws UnableToCompleteException {
     this.baseClass = baseType;
     this.implClassName = implClassName;
@@ -377,7 +405,7 @@ public class UiBinderWriter {
 
     Types typeUtils = AptUtil.getTypeUtils();
 
-    TypeElement uiBinderItself = AptUtil.getElementUtils()
+    TypeElement uiBinderItself = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getUiBinderInterfaceFqn());
 
     TypeElement baseTypeElement = AptUtil.asTypeElement(baseType);
@@ -394,7 +422,7 @@ public class UiBinderWriter {
     String binderType = AptUtil.asQualifiedNameable(uiBinderTypeMirror).getQualifiedName()
         .toString();
 
-    TypeElement uiRendererElement = AptUtil.getElementUtils()
+    TypeElement uiRendererElement = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getUiRendererInterfaceFqn());
     if (typeUtils.isAssignable(uiBinderTypeErasure, uiBinderItself.asType())) {
       if (typeArgs.size() < 2) {
@@ -425,15 +453,16 @@ public class UiBinderWriter {
       throw new RuntimeException();
     }
 
-    isRenderableClassType = AptUtil.getElementUtils()
-        .getTypeElement(UiBinderApiPackage.current().getIsRenderableFqn()).asType();
-    lazyDomElementClass = AptUtil.getElementUtils()
-        .getTypeElement(UiBinderApiPackage.current().getLazyDomElementFqn()).asType();
+    isRenderableClassType = AptUtil.getWellKnownTypes()
+        .getType(UiBinderApiPackage.current().getIsRenderableFqn());
+    lazyDomElementClass = AptUtil.getWellKnownTypes()
+        .getType(UiBinderApiPackage.current().getLazyDomElementFqn());
 
     ownerClass = new OwnerClass(uiOwnerType, logger, uiBinderCtx);
     bundleClass =
         new ImplicitClientBundle(getPackageElement(baseType).getQualifiedName().toString(),
-            this.implClassName, CLIENT_BUNDLE_FIELD, logger);
+            this.implClassName, CLIENT_BUNDLE_FIELD, baseTypeElement, uiBinderCtx,
+            logger);
     handlerEvaluator = new HandlerEvaluator(ownerClass, logger);
 
     attributeParsers = new AttributeParsers(fieldManager, logger);
@@ -558,7 +587,7 @@ public class UiBinderWriter {
     String domHolderName = "domId" + domId++;
     FieldWriter domField =
         fieldManager.registerField(FieldWriterType.DOM_ID_HOLDER,
-            AptUtil.getElementUtils().getTypeElement(String.class.getName()).asType(),
+            AptUtil.getWellKnownTypes().getType(String.class.getName()),
             domHolderName);
     if (isRenderer && fieldName != null) {
       domField.setInitializer("buildInnerId(\"" + fieldName + "\", uiId)");
@@ -604,8 +633,8 @@ public class UiBinderWriter {
     String renderableStamperName = "renderableStamper" + renderableStamper++;
     FieldWriter domField =
         fieldManager.registerField(FieldWriterType.RENDERABLE_STAMPER,
-            AptUtil.getElementUtils()
-                .getTypeElement(UiBinderApiPackage.current().getRenderableStamperFqn()).asType(),
+            AptUtil.getWellKnownTypes()
+                .getType(UiBinderApiPackage.current().getRenderableStamperFqn()),
             renderableStamperName);
     domField.setInitializer(formatCode(
         "new %s(%s.get().createUniqueId())",
@@ -615,6 +644,23 @@ public class UiBinderWriter {
     return renderableStamperName;
   }
 
+  /**
+   * Like {@link #declareTemplateCall(String, String)}, but returns the arguments of {@code
+   * UiBinderUtil.fromTemplate}: the html with placeholders in place of the dom ids, so that it is
+   * the same for every instance, followed by the ids to set on the clone.
+   */
+  public String declareClonedTemplateCall(String html, String fieldName)
+      throws IllegalArgumentException {
+    FieldWriter w = fieldManager.lookup(fieldName);
+    HtmlTemplateMethodWriter templateMethod = htmlTemplates.addSafeHtmlTemplate(html, tokenator);
+    if (useLazyWidgetBuilders) {
+      w.setHtml(templateMethod.getIndirectTemplateCall());
+    } else {
+      w.setHtml(templateMethod.getDirectTemplateCall());
+    }
+    return templateMethod.getClonedTemplateCallArguments();
+  }
+
   /**
    * Writes a new SafeHtml template to the generated BinderImpl.
    *
@@ -645,6 +691,13 @@ public class UiBinderWriter {
     return tokenator.detokenate(betokened);
   }
 
+  /**
+   * Returns a tokenator whose tokens can be mixed with the ones this writer vends.
+   */
+  public Tokenator newTokenator() {
+    return new Tokenator(tokenator);
+  }
+
   /**
    * Post an error message and halt processing. This method always throws an {@link
    * UnableToCompleteException}
@@ -809,15 +862,14 @@ public class UiBinderWriter {
 
   public boolean isElementAssignableTo(XMLElement elem, String possibleSuperclass)
       throws UnableToCompleteException {
-    TypeElement classType = AptUtil.getElementUtils().getTypeElement(possibleSuperclass);
-    return isElementAssignableTo(elem, classType.asType());
+    return isElementAssignableTo(elem,
+        AptUtil.getWellKnownTypes().getType(possibleSuperclass));
   }
 
   public boolean isElementAssignableTo(XMLElement elem, Class<?> possibleSuperclass)
       throws UnableToCompleteException {
-    TypeElement classType = AptUtil.getElementUtils()
-        .getTypeElement(possibleSuperclass.getCanonicalName());
-    return isElementAssignableTo(elem, classType.asType());
+    return isElementAssignableTo(elem,
+        AptUtil.getWellKnownTypes().getType(possibleSuperclass.getCanonicalName()));
   }
 
   public boolean isElementAssignableTo(XMLElement elem, TypeMirror possibleSupertype)
@@ -877,6 +929,18 @@ public class UiBinderWriter {
         isRenderableClassType);//  findFieldType(elem).isAssignableTo(isRenderableClassType);
   }
 
+  /**
+   * Marks the root element of a {@code UiRenderer} template with the id of each rendering, as a
+   * parameter of the template.
+   */
+  public void setRenderedAttribute(XMLElement root) throws UnableToCompleteException {
+    if (root.hasAttribute(RENDERED_ATTRIBUTE)) {
+      die(root, "Cannot declare the %s attribute on the root element of a UiRenderer",
+          RENDERED_ATTRIBUTE);
+    }
+    root.setAttribute(RENDERED_ATTRIBUTE, tokenForStringExpression(root, "uiId"));
+  }
+
   public boolean isRenderer() {
     return isRenderer;
   }
@@ -894,10 +958,6 @@ public class UiBinderWriter {
    * @return the field holder just created
    */
   public FieldWriter parseElementToField(XMLElement elem) throws UnableToCompleteException {
-    if (elementParsers.isEmpty()) {
-      registerParsers();
-    }
-
     // Get the class associated with this element.
     TypeElement type = AptUtil.asTypeElement(findFieldType(elem));
 
@@ -914,7 +974,7 @@ public class UiBinderWriter {
     fieldManager.push(elem, field);
 
     // Give all the parsers a chance to generate their code.
-    for (ElementParser parser : getParsersForClass(type.asType())) {
+    for (ElementParser parser : uiBinderCtx.getElementParsers().getParsers(type)) {
       parser.parse(elem, field.getName(), type.asType(), this);
     }
     fieldManager.pop();
@@ -1008,6 +1068,15 @@ public class UiBinderWriter {
     return nextToken(source, "\" + " + expression + " + \"");
   }
 
+  /**
+   * @return true if DOM elements are built by cloning templates, which only the UiBinderUtil of
+   *         org.gwtproject supports
+   */
+  public boolean useTemplateCloning() {
+    return uiBinderCtx.isCloneTemplates()
+        && UiBinderApiPackage.current() == UiBinderApiPackage.ORG_GWTPROJECT_UIBINDER;
+  }
+
   public boolean useLazyWidgetBuilders() {
     return useLazyWidgetBuilders;
   }
@@ -1052,23 +1121,7 @@ public class UiBinderWriter {
 
     XMLElement elem = new XMLElementProviderImpl(attributeParsers, logger)
         .get(documentElement);
-    this.rendered = tokenator.detokenate(parseDocumentElement(elem));
-    printWriter.print(rendered);
-  }
-
-  private void addElementParser(String gwtClass, String parser) {
-    elementParsers.put(gwtClass, parser);
-  }
-
-  private void addWidgetParser(String className) {
-    // FIXME - legacy widget package
-    String gwtClass = "com.google.gwt.user.client.ui." + className;
-    String parser = "org.gwtproject.uibinder.processor.elementparsers." + className + "Parser";
-    addElementParser(gwtClass, parser);
-
-    // adding parser for parallel widgets (legacy and new)
-    gwtClass = "org.gwtproject.user.client.ui." + className;
-    addElementParser(gwtClass, parser);
+    parseDocumentElement(elem, printWriter);
   }
 
   /**
@@ -1095,12 +1148,6 @@ public class UiBinderWriter {
     return fieldManager.registerField(type.asType(), fieldName);
   }
 
-  private void dieGettingEventTypeName(ExecutableElement jMethod, Exception e)
-      throws UnableToCompleteException {
-    die("Could not obtain DomEvent.Type object for first parameter of %s (%s)",
-        formatMethodError(jMethod), e.getMessage());
-  }
-
   /**
    * Ensures that all of the internal data structures are cleaned up correctly at the end of parsing
    * the document.
@@ -1146,7 +1193,7 @@ public class UiBinderWriter {
    * Given a DOM tag name, return the corresponding JSO subclass.
    */
   private TypeMirror findDomElementTypeForTag(String tag) {
-    TypeElement elementClass = AptUtil.getElementUtils()
+    TypeElement elementClass = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getDomElementFqn());
     // TODO implement getting subtypes.
 //    JClassType[] types = elementClass.getSubtypes();
@@ -1164,42 +1211,23 @@ public class UiBinderWriter {
   }
 
   /**
-   * Calls {@code getType().getName()} on subclasses of {@code DomEvent}.
+   * Returns the name of the DOM event of the subclass of {@code DomEvent} taken by a handler
+   * method, which must be one of {@link #DOM_EVENT_NAMES}: the name of any other event type is only
+   * known at run time.
    */
   private String findEventTypeName(ExecutableElement jMethod)
       throws UnableToCompleteException {
-    // Get the event class name (i.e. ClickEvent)
-    String eventTypeName = asQualifiedNameable(jMethod.getParameters().get(0))
-        .getQualifiedName().toString();
-
-    Class<?> domType;
-
-    // Get the class instance
-    try {
-      domType = Class.forName(eventTypeName);
-    } catch (ClassNotFoundException e) {
-      die("Could not find type %s in %s", eventTypeName, formatMethodError(jMethod));
-      return null;
-    }
-
-    // Reflectively obtain the type (i.e. ClickEvent.getType())
-    // FIXME implement
-//    try {
-//      return ((Type<?>) domType.getMethod("getType", (Class[]) null).invoke(null,
-//          (Object[]) null)).getName();
-//    } catch (IllegalArgumentException e) {
-//      dieGettingEventTypeName(jMethod, e);
-//    } catch (SecurityException e) {
-//      dieGettingEventTypeName(jMethod, e);
-//    } catch (IllegalAccessException e) {
-//      dieGettingEventTypeName(jMethod, e);
-//    } catch (InvocationTargetException e) {
-//      dieGettingEventTypeName(jMethod, e);
-//    } catch (NoSuchMethodException e) {
-//      dieGettingEventTypeName(jMethod, e);
-//    }
-    // Unreachable, but appeases the compiler
-    return null;
+    TypeElement eventType = asTypeElement(jMethod.getParameters().get(0).asType());
+    String eventTypeName = null;
+    if (eventType != null && DOM_EVENT_PACKAGES.contains(
+        AptUtil.getElementUtils().getPackageOf(eventType).getQualifiedName().toString())) {
+      eventTypeName = DOM_EVENT_NAMES.get(eventType.getSimpleName().toString());
+    }
+    if (eventTypeName == null) {
+      die("The first parameter of %s must be a DOM event of gwt-event-dom, such as ClickEvent",
+          formatMethodError(jMethod));
+    }
+    return eventTypeName;
   }
 
   /**
@@ -1238,63 +1266,6 @@ public class UiBinderWriter {
     return fieldName;
   }
 
-  private Class<? extends ElementParser> getParserForClass(TypeMirror uiClass) {
-    // Find the associated parser.
-    String uiClassName = asQualifiedNameable(uiClass).getQualifiedName().toString();
-    String parserClassName = elementParsers.get(uiClassName);
-    if (parserClassName == null) {
-      return null;
-    }
-
-    // And instantiate it.
-    try {
-      return Class.forName(parserClassName).asSubclass(ElementParser.class);
-    } catch (ClassNotFoundException e) {
-      throw new RuntimeException("Unable to instantiate parser", e);
-    } catch (ClassCastException e) {
-      throw new RuntimeException(parserClassName + " must extend ElementParser");
-    }
-  }
-
-  /**
-   * Find a set of element parsers for the given ui type.
-   *
-   * The list of parsers will be returned in order from most- to least-specific.
-   */
-  private Iterable<ElementParser> getParsersForClass(TypeMirror typeMirror) {
-    List<ElementParser> parsers = new ArrayList<>();
-
-    /*
-     * Let this non-widget parser go first (it finds <m:attribute/> elements).
-     * Any other such should land here too.
-     *
-     * TODO(rjrjr) Need a scheme to associate these with a namespace uri or
-     * something?
-     */
-    parsers.add(new AttributeMessageParser());
-    parsers.add(new UiChildParser(uiBinderCtx));
-
-    // TODO implement
-    for (TypeElement curTypeElement : getClassHierarchyBreadthFirst(asTypeElement(typeMirror))) {
-      try {
-        Class<? extends ElementParser> cls = getParserForClass(curTypeElement.asType());
-        if (cls != null) {
-          ElementParser parser = cls.newInstance();
-          parsers.add(parser);
-        }
-      } catch (InstantiationException e) {
-        throw new RuntimeException("Unable to instantiate " + curTypeElement.getQualifiedName(), e);
-      } catch (IllegalAccessException e) {
-        throw new RuntimeException("Unable to instantiate " + curTypeElement.getQualifiedName(), e);
-      }
-    }
-
-    parsers.add(new BeanParser(uiBinderCtx));
-    parsers.add(new IsEmptyParser());
-
-    return parsers;
-  }
-
   /**
    * Writes a field setter if the field is not provided and the field class is compatible with its
    * respective template field.
@@ -1345,22 +1316,25 @@ public class UiBinderWriter {
   }
 
   /**
-   * Parse the document element and return the source of the Java class that will implement its
-   * UiBinder.
+   * Parse the document element and print the source of the Java class that will implement its
+   * UiBinder. Tokens are resolved line by line as the source is printed.
    */
-  private String parseDocumentElement(XMLElement elem) throws UnableToCompleteException {
+  private void parseDocumentElement(XMLElement elem, PrintWriter printWriter)
+      throws UnableToCompleteException {
     fieldManager.registerFieldOfGeneratedType(
-        AptUtil.getElementUtils().getTypeElement(UiBinderApiPackage.current().getClientBundleFqn())
-            .asType(), bundleClass.getPackageName(), bundleClass.getClassName(),
-        bundleClass.getFieldName());
+        AptUtil.getWellKnownTypes().getType(UiBinderApiPackage.current().getClientBundleFqn()),
+        bundleClass.getPackageName(), bundleClass.getClassName(), bundleClass.getFieldName());
 
+    BinderProfile profile = uiBinderCtx.getBinderProfile();
+    profile.enter(Phase.PARSE);
     FieldWriter rootField = new UiBinderParser(this, messages, fieldManager, bundleClass,
         binderUri, uiBinderCtx, gssOptions).parse(elem);
 
+    profile.enter(Phase.VALIDATE);
     fieldManager.validate();
 
-    StringWriter stringWriter = new StringWriter();
-    IndentedWriter niceWriter = new IndentedWriter(new PrintWriter(stringWriter));
+    profile.enter(Phase.EMIT);
+    IndentedWriter niceWriter = new IndentedWriter(printWriter, tokenator);
 
     if (isRenderer) {
       ensureInjectedCssFields();
@@ -1373,47 +1347,6 @@ public class UiBinderWriter {
     }
 
     ensureAttachmentCleanedUp();
-    return stringWriter.toString();
-  }
-
-  private void registerParsers() {
-    // TODO(rjrjr): Allow third-party parsers to register themselves automagically
-
-    addElementParser(UiBinderApiPackage.current().getDomElementFqn(),
-        UiBinderApiPackage.current().getElementParserPackageName() + ".DomElementParser");
-
-    // Register widget parsers.
-    addWidgetParser("UIObject");
-    addWidgetParser("HasText");
-    addWidgetParser("HasHTML");
-    addWidgetParser("HasTreeItems");
-    addWidgetParser("HasWidgets");
-    addWidgetParser("HTMLPanel");
-    addWidgetParser("FlowPanel");
-    addWidgetParser("AbsolutePanel");
-    addWidgetParser("DockPanel");
-    addWidgetParser("StackPanel");
-    addWidgetParser("DisclosurePanel");
-    addWidgetParser("TabPanel");
-    addWidgetParser("MenuItem");
-    addWidgetParser("MenuBar");
-    addWidgetParser("CellPanel");
-    addWidgetParser("CustomButton");
-    addWidgetParser("DialogBox");
-    addWidgetParser("LayoutPanel");
-    addWidgetParser("DockLayoutPanel");
-    addWidgetParser("StackLayoutPanel");
-    addWidgetParser("TabLayoutPanel");
-    addWidgetParser("Image");
-    addWidgetParser("ListBox");
-    addWidgetParser("Grid");
-    addWidgetParser("HasAlignment");
-    addWidgetParser("DateLabel");
-    addWidgetParser("NumberLabel");
-    if (useLazyWidgetBuilders) {
-      addWidgetParser("LazyPanel");
-      addWidgetParser("RenderablePanel");
-    }
   }
 
   /**
@@ -1431,25 +1364,26 @@ public class UiBinderWriter {
     }
 
     String nativeEventName = UiBinderApiPackage.current().getDomNativeEventFqn();
-    TypeElement nativeEventType = AptUtil.getElementUtils().getTypeElement(nativeEventName);
-    if (!AptUtil.getTypeUtils().isSameType(nativeEventType.asType(), parameters.get(1).asType())) {
+    WellKnownTypes wellKnownTypes = AptUtil.getWellKnownTypes();
+    if (!wellKnownTypes.isSameType(wellKnownTypes.getType(nativeEventName),
+        parameters.get(1).asType())) {
       die("Second parameter must be of type %s in %s", nativeEventName,
           formatMethodError(eventMethod));
     }
 
     String elementName = UiBinderApiPackage.current().getDomElementFqn();
-    TypeElement elementType = AptUtil.getElementUtils().getTypeElement(elementName);
-    if (!AptUtil.getTypeUtils().isSameType(elementType.asType(), parameters.get(2).asType())) {
+    if (!wellKnownTypes.isSameType(wellKnownTypes.getType(elementName),
+        parameters.get(2).asType())) {
       die("Third parameter must be of type %s in %s", elementName,
           formatMethodError(eventMethod));
     }
 
-    if (asTypeElement(parameters.get(0)) == null) {
+    if (asTypeElement(parameters.get(0).asType()) == null) {
       die("First parameter must be a class or interface in %s",
           formatMethodError(eventMethod));
     }
 
-    TypeElement eventReceiver = asTypeElement(parameters.get(0));
+    TypeElement eventReceiver = asTypeElement(parameters.get(0).asType());
 
     validateEventReceiver(parameters, eventReceiver, eventMethod);
   }
@@ -1733,9 +1667,10 @@ public class UiBinderWriter {
   }
 
   private void writeClassOpen(IndentedWriter w) {
-    w.write("@javax.annotation.Generated(value=\"%s\", date=\"%s\")",
-        UiBinderProcessor.class.getCanonicalName(),
-        LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+    String generatedAnnotation = getGeneratedAnnotationFqn();
+    if (generatedAnnotation != null) {
+      w.write("@%s(\"%s\")", generatedAnnotation, UiBinderProcessor.class.getCanonicalName());
+    }
     if (!isRenderer) {
       w.write("public class %s implements %s<%s, %s>, %s {", implClassName,
           UiBinderApiPackage.current().getUiBinderInterfaceFqn(),
@@ -1750,6 +1685,20 @@ public class UiBinderWriter {
     w.indent();
   }
 
+  /**
+   * Returns the {@code @Generated} annotation available to the generated class, if any: the one of
+   * Java 9 and later, or else the one of javax.annotation-api.
+   */
+  private static String getGeneratedAnnotationFqn() {
+    WellKnownTypes wellKnownTypes = AptUtil.getWellKnownTypes();
+    for (String fqn : GENERATED_ANNOTATIONS) {
+      if (wellKnownTypes.getTypeElement(fqn) != null) {
+        return fqn;
+      }
+    }
+    return null;
+  }
+
   private void writeCssInjectors(IndentedWriter w) {
     for (ImplicitCssResource css : bundleClass.getCssMethods()) {
       w.write("%s.%s().ensureInjected();", bundleClass.getFieldName(), css.getName());
@@ -1887,10 +1836,24 @@ public class UiBinderWriter {
     w.write("}");
     w.newline();
 
+    // Bundles, styles and other imported fields are the same for every rendering, the parameters
+    // of render() are assigned, and only the ids and elements are built again.
     // private build_fields() {
     w.write("private void build_fields() {");
     w.indent();
-    fieldManager.initializeWidgetsInnerClass(w, getOwnerClass());
+    fieldManager.initializeFields(w, getOwnerClass(),
+        field -> isRenderInvariant(field, renderParameters));
+    w.outdent();
+    // }
+    w.write("}");
+    w.newline();
+
+    // private build_renderFields() {
+    w.write("private void build_renderFields() {");
+    w.indent();
+    fieldManager.initializeFields(w, getOwnerClass(),
+        field -> !isRenderInvariant(field, renderParameters)
+            && !isRenderParameter(field, renderParameters));
     w.outdent();
     // }
     w.write("}");
@@ -1905,19 +1868,14 @@ public class UiBinderWriter {
 
     writeRenderParameterInitializers(w, renderParameters);
 
-    w.write("uiId = %s.get().createUniqueId();", UiBinderApiPackage.current().getDomDocumentFqn());
+    w.write("uiId = nextUiId();");
     w.newline();
 
-    w.write("build_fields();");
+    w.write("build_renderFields();");
     w.newline();
 
-    String safeHtml = rootField.getSafeHtml();
-
-    // TODO(rchandia) it should be possible to add the attribute when parsing
-    // the UiBinder file
-    w.write(
-        "sb.append(stampUiRendererAttribute(%s, RENDERED_ATTRIBUTE, uiId));",
-        safeHtml);
+    // The root element has the RENDERED_ATTRIBUTE, see setRenderedAttribute
+    w.write("sb.append(%s);", rootField.getSafeHtml());
     w.outdent();
 
     w.write("}");
@@ -1934,6 +1892,25 @@ public class UiBinderWriter {
     w.write("}");
   }
 
+  /**
+   * Whether a field of a {@code UiRenderer} is built once rather than for each rendering: bundles,
+   * styles and imported fields other than the parameters of render().
+   */
+  private static boolean isRenderInvariant(FieldWriter field, VariableElement[] renderParameters) {
+    return field.getFieldType().getBuildPrecedence()
+        >= FieldWriterType.IMPORTED.getBuildPrecedence()
+        && !isRenderParameter(field, renderParameters);
+  }
+
+  private static boolean isRenderParameter(FieldWriter field, VariableElement[] renderParameters) {
+    for (VariableElement parameter : renderParameters) {
+      if (parameter.getSimpleName().contentEquals(field.getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private void writeRendererDispatcher(IndentedWriter w, String dispatcherName,
       TypeElement targetType, String rootFieldName, ExecutableElement[] uiHandlerMethods,
       ExecutableElement sourceMethod)
@@ -1953,9 +1930,9 @@ public class UiBinderWriter {
 
     w.write("@SuppressWarnings(\"rawtypes\")");
     w.write("@Override");
-    // public void fireEvent(GwtEvent<?> somethingUnlikelyToCollideWithParamNames) {
+    // public void fireEvent(Event<?> somethingUnlikelyToCollideWithParamNames) {
     w.write("public void fireEvent(%s<?> %sEvent) {",
-        UiBinderApiPackage.current().getGwtEventFqn(),
+        UiBinderApiPackage.current().getUiRendererEventFqn(),
         SAFE_VAR_PREFIX);
     w.indent();
     //   switch (getMethodIndex()) {
@@ -1983,8 +1960,8 @@ public class UiBinderWriter {
         sb.append(sourceParam.getSimpleName());
       }
       w.write("getEventTarget().%s((%s) %sEvent%s);", uiMethod.getSimpleName(),
-          asQualifiedNameable(uiHandlerParameterTypes.get(0)).getQualifiedName(), SAFE_VAR_PREFIX,
-          sb.toString());
+          asQualifiedNameable(uiHandlerParameterTypes.get(0).asType()).getQualifiedName(),
+          SAFE_VAR_PREFIX, sb.toString());
       //   break;
       w.write("break;");
       w.newline();
@@ -2051,78 +2028,87 @@ public class UiBinderWriter {
   private void writeRendererDispatcherTableInit(IndentedWriter w,
       String rootFieldName, ExecutableElement[] uiHandlerMethods, String dispatcherName)
       throws UnableToCompleteException {
-    ArrayList<String> keys = new ArrayList<String>();
-    ArrayList<Integer> values = new ArrayList<Integer>();
+    List<String> eventTypes = new ArrayList<>();
+    List<String> fieldNames = new ArrayList<>();
+    Map<String, Integer> methodIndexes = new HashMap<>();
 
     // Collect the event types and field names to form the dispatch table
     for (int i = 0; i < uiHandlerMethods.length; i++) {
       ExecutableElement jMethod = uiHandlerMethods[i];
       String eventType = findEventTypeName(jMethod);
-      String[] fieldNames = (String[]) AptUtil
-          .getAnnotation(jMethod, UiBinderApiPackage.current().getUiHandlerFqn())
-          .getElementValues().get("value").getValue();
-      for (String fieldName : fieldNames) {
+      if (!eventTypes.contains(eventType)) {
+        eventTypes.add(eventType);
+      }
+      @SuppressWarnings("unchecked")
+      List<AnnotationValue> handlerFieldNames = (List<AnnotationValue>) AptUtil
+          .getAnnotationValues(AptUtil.getAnnotation(jMethod,
+              UiBinderApiPackage.current().getUiHandlerFqn()))
+          .get("value").getValue();
+      for (AnnotationValue handlerFieldName : handlerFieldNames) {
+        String fieldName = handlerFieldName.getValue().toString();
         if (rootFieldName.equals(fieldName)) {
           fieldName = "^"; // FIXME - hardcoded to not add dependency AbstractUiRenderer.ROOT_FAKE_NAME;
         }
-        // FIXME - hardcoded to not add dependency
-        // keys.add(eventType + AbstractUiRenderer.UI_ID_SEPARATOR + fieldName);
-        keys.add(eventType + ":" + fieldName);
-        values.add(i);
+        if (!fieldNames.contains(fieldName)) {
+          fieldNames.add(fieldName);
+        }
+        methodIndexes.put(eventType + " " + fieldName, i);
       }
     }
 
-    // private static String[] somethingUnlikelyToCollideWithParamNames_keys;
-    w.write("private static String[] %s_keys;", SAFE_VAR_PREFIX);
-    // private static Integer[] somethingUnlikelyToCollideWithParamNames_values;
-    w.write("private static Integer[] %s_values;", SAFE_VAR_PREFIX);
-
-    w.write("static {");
+    // private static final String[] somethingUnlikelyToCollideWithParamNames_eventTypes = {
+    w.write("private static final String[] %s_eventTypes = {", SAFE_VAR_PREFIX);
     w.indent();
-    // private static String[] somethingUnlikelyToCollideWithParamNames_keys = new String[] {
-    w.write("%s_keys = new String[] {", SAFE_VAR_PREFIX);
-    w.indent();
-    for (String key : keys) {
-      // "click:aField",
-      w.write("\"%s\",", key);
+    for (String eventType : eventTypes) {
+      // "click",
+      w.write("\"%s\",", eventType);
     }
     w.outdent();
     w.write("};");
-    w.newline();
 
-    // somethingUnlikelyToCollideWithParamNames_values = {0,1};
-    w.write("%s_values = new Integer[] {", SAFE_VAR_PREFIX);
+    // private static final String[] somethingUnlikelyToCollideWithParamNames_fieldNames = {
+    w.write("private static final String[] %s_fieldNames = {", SAFE_VAR_PREFIX);
     w.indent();
-    StringBuffer commaSeparatedValues = new StringBuffer();
-    for (Integer value : values) {
-      commaSeparatedValues.append(value);
-      commaSeparatedValues.append(",");
+    for (String fieldName : fieldNames) {
+      // "aField",
+      w.write("\"%s\",", fieldName);
     }
-    // "0,0,0,1,1,",
-    w.write("%s", commaSeparatedValues.toString());
     w.outdent();
     w.write("};");
-    w.newline();
 
+    // private static final int[] somethingUnlikelyToCollideWithParamNames_methodIndexes = {
+    w.write("private static final int[] %s_methodIndexes = {", SAFE_VAR_PREFIX);
+    w.indent();
+    for (String eventType : eventTypes) {
+      // 0, -1, 1, // click
+      StringBuilder row = new StringBuilder();
+      for (String fieldName : fieldNames) {
+        Integer methodIndex = methodIndexes.get(eventType + " " + fieldName);
+        row.append(methodIndex == null ? -1 : methodIndex).append(", ");
+      }
+      w.write("%s// %s", row.toString(), eventType);
+    }
     w.outdent();
-    w.write("}");
+    w.write("};");
     w.newline();
 
     // public Foo() {
     w.write("public %s() {", dispatcherName);
     w.indent();
-    // initDispatchTable(keys, values);
-    w.write("initDispatchTable(%s_keys, %s_values);", SAFE_VAR_PREFIX, SAFE_VAR_PREFIX);
+    // initDispatchTable(eventTypes, fieldNames, methodIndexes);
+    w.write("initDispatchTable(%s_eventTypes, %s_fieldNames, %s_methodIndexes);",
+        SAFE_VAR_PREFIX, SAFE_VAR_PREFIX, SAFE_VAR_PREFIX);
 
     // This ensures the DomEvent#TYPE fields are properly initialized and registered
     // ClickEvent.getType();
-    HashSet<String> eventTypes = new HashSet<String>();
+    Set<String> eventClasses = new LinkedHashSet<String>();
     for (ExecutableElement uiMethod : uiHandlerMethods) {
-      eventTypes
-          .add(asQualifiedNameable(uiMethod.getParameters().get(0)).getQualifiedName().toString());
+      eventClasses
+          .add(asQualifiedNameable(uiMethod.getParameters().get(0).asType()).getQualifiedName()
+              .toString());
     }
-    for (String eventType : eventTypes) {
-      w.write("%s.getType();", eventType);
+    for (String eventClass : eventClasses) {
+      w.write("%s.getType();", eventClass);
     }
 
     w.outdent();
@@ -2133,7 +2119,7 @@ public class UiBinderWriter {
   private void writeRendererEventMethods(IndentedWriter w, ExecutableElement[] eventMethods,
       String rootField) throws UnableToCompleteException {
     for (ExecutableElement jMethod : eventMethods) {
-      TypeElement eventTargetType = asTypeElement(jMethod.getParameters().get(0));
+      TypeElement eventTargetType = asTypeElement(jMethod.getParameters().get(0).asType());
       String eventTargetSimpleName = eventTargetType.getSimpleName().toString();
       String dispatcherClassName = UI_RENDERER_DISPATCHER_PREFIX + eventTargetSimpleName;
       ExecutableElement[] uiHandlerMethods = findUiHandlerMethods(eventTargetType.asType());
@@ -2185,6 +2171,30 @@ public class UiBinderWriter {
   private void writeRendererGetters(IndentedWriter w, TypeMirror owner, String rootFieldName) {
     List<ExecutableElement> getters = findGetterNames(owner);
 
+    // The non-root elements are found by id, all at once, with a table of their names
+    List<String> innerFieldNames = new ArrayList<>();
+    for (ExecutableElement getter : getters) {
+      String getterFieldName = getterToFieldName(getter.getSimpleName().toString());
+      if (!getterFieldName.equals(rootFieldName)
+          && !FieldWriterType.GENERATED_CSS.equals(
+              fieldManager.lookup(getterFieldName).getFieldType())
+          && !innerFieldNames.contains(getterFieldName)) {
+        innerFieldNames.add(getterFieldName);
+      }
+    }
+    if (!innerFieldNames.isEmpty()) {
+      // private static final String[] somethingUnlikelyToCollideWithParamNames_innerFields = {
+      w.write("private static final String[] %s_innerFields = {", SAFE_VAR_PREFIX);
+      w.indent();
+      for (String fieldName : innerFieldNames) {
+        // "aField",
+        w.write("\"%s\",", fieldName);
+      }
+      w.outdent();
+      w.write("};");
+      w.newline();
+    }
+
     // For every requested getter
     for (ExecutableElement getter : getters) {
       // public ElementSubclass getFoo(Element parent) {
@@ -2203,11 +2213,12 @@ public class UiBinderWriter {
         // Else the non-root elements are found by id
         String elementParameter = getter.getParameters().get(0).getSimpleName().toString();
         if (!getterFieldName.equals(rootFieldName)) {
-          // return (ElementSubclass) findInnerField(parent, "foo", RENDERED_ATTRIBUTE);
-          w.write("return (%s) findInnerField(%s, \"%s\", RENDERED_ATTRIBUTE);",
+          // return (ElementSubclass) findInnerField(parent,
+          //     somethingUnlikelyToCollideWithParamNames_innerFields, 0, RENDERED_ATTRIBUTE);
+          w.write("return (%s) findInnerField(%s, %s_innerFields, %d, RENDERED_ATTRIBUTE);",
               asQualifiedNameable(AptUtil.getTypeUtils().erasure(getter.getReturnType()))
-                  .getQualifiedName().toString(), elementParameter,
-              getterFieldName);
+                  .getQualifiedName().toString(), elementParameter, SAFE_VAR_PREFIX,
+              innerFieldNames.indexOf(getterFieldName));
         } else {
           // return (ElementSubclass) findRootElement(parent);
           w.write("return (%s) findRootElement(%s, RENDERED_ATTRIBUTE);",
@@ -15,6 +15,7 @@
  */
 package org.gwtproject.uibinder.processor;
 
+import org.gwtproject.uibinder.processor.GwtResourceEntityResolver.ResolvedEntity;
 import org.gwtproject.uibinder.processor.ext.MyTreeLogger;
 
 import org.w3c.dom.Document;
@@ -24,13 +25,16 @@ import org.w3c.dom.Text;
 import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 import org.xml.sax.ext.DefaultHandler2;
 
+import java.util.Map;
 import java.util.Stack;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.tools.Diagnostic.Kind;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -38,54 +42,77 @@ import javax.xml.parsers.ParserConfigurationException;
  * Uses SAX events to construct a DOM Document. Each node in the Document will have a {@link
  * XMLElement.Location} object attached to that Node's user data with the {@value
  * XMLElement#LOCATION_KEY} key.
+ *
+ * <p>Without a logger, the first problem reported by the parser fails the parse instead of being
+ * logged.
  */
 class W3cDocumentBuilder extends DefaultHandler2 {
 
+  /**
+   * Document builders only create empty documents here, but may only be used by one thread at a
+   * time.
+   */
+  private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDERS = new ThreadLocal<>();
+
+  private static Document newDocument() throws ParserConfigurationException {
+    DocumentBuilder builder = DOCUMENT_BUILDERS.get();
+    if (builder == null) {
+      builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+      DOCUMENT_BUILDERS.set(builder);
+    }
+    return builder.newDocument();
+  }
+
   private final Document document;
   private final Stack<Node> eltStack = new Stack<Node>();
   private Locator locator;
+
+  /**
+   * Text reported since the last element boundary, which SAX may report in many chunks.
+   */
+  private final StringBuilder text = new StringBuilder();
   private final MyTreeLogger logger;
   private final GwtResourceEntityResolver resolver;
 
   W3cDocumentBuilder(MyTreeLogger logger, String pathBase,
-      ProcessingEnvironment processingEnvironment)
+      ProcessingEnvironment processingEnvironment, Map<String, ResolvedEntity> resolvedEntities)
       throws ParserConfigurationException {
     this.logger = logger;
-    document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+    document = newDocument();
     eltStack.push(document);
-    resolver = new GwtResourceEntityResolver(logger, processingEnvironment, pathBase);
+    resolver = new GwtResourceEntityResolver(logger, processingEnvironment, pathBase,
+        resolvedEntities);
   }
 
   /**
-   * Appends to the existing Text node, if possible.
+   * Accumulates the text, which becomes a single Text node at the next element boundary.
    */
   @Override
   public void characters(char[] ch, int start, int length) {
-    Node current = eltStack.peek();
-    if (current.getChildNodes().getLength() == 1
-        && current.getChildNodes().item(0).getNodeType() == Node.TEXT_NODE) {
-      Text text = (Text) current.getChildNodes().item(0);
-      text.appendData(new String(ch, start, length));
-    } else {
-      Text text = document.createTextNode(new String(ch, start, length));
-      eltStack.peek().appendChild(text);
-    }
+    text.append(ch, start, length);
   }
 
   @Override
   public void endElement(String uri, String localName, String qName) {
+    flushText();
     Node elt = eltStack.pop();
     assert elt.getLocalName().equals(localName);
   }
 
   @Override
-  public void error(SAXParseException exception) {
+  public void error(SAXParseException exception) throws SAXParseException {
+    if (logger == null) {
+      throw exception;
+    }
     logger.log(Kind.ERROR, exception.getMessage());
     logger.log(Kind.NOTE, "SAXParseException", exception);
   }
 
   @Override
-  public void fatalError(SAXParseException exception) {
+  public void fatalError(SAXParseException exception) throws SAXParseException {
+    if (logger == null) {
+      throw exception;
+    }
     /*
      * Fatal errors seem to be no scarier than error errors, and simply happen
      * due to badly formed XML.
@@ -99,7 +126,8 @@ class W3cDocumentBuilder extends DefaultHandler2 {
   }
 
   @Override
-  public InputSource resolveEntity(String name, String publicId, String baseURI, String systemId) {
+  public InputSource resolveEntity(String name, String publicId, String baseURI, String systemId)
+      throws SAXException {
     return resolver.resolveEntity(publicId, systemId);
   }
 
@@ -114,6 +142,7 @@ class W3cDocumentBuilder extends DefaultHandler2 {
   @Override
   public void startElement(String uri, String localName, String qName,
       Attributes attributes) {
+    flushText();
     Element elt = document.createElementNS(uri, qName);
     eltStack.peek().appendChild(elt);
     eltStack.push(elt);
@@ -128,8 +157,22 @@ class W3cDocumentBuilder extends DefaultHandler2 {
     elt.setUserData(XMLElement.LOCATION_KEY, location, null);
   }
 
+  /**
+   * Appends the text accumulated so far to the current node.
+   */
+  private void flushText() {
+    if (text.length() > 0) {
+      Text textNode = document.createTextNode(text.toString());
+      eltStack.peek().appendChild(textNode);
+      text.setLength(0);
+    }
+  }
+
   @Override
-  public void warning(SAXParseException exception) {
+  public void warning(SAXParseException exception) throws SAXParseException {
+    if (logger == null) {
+      throw exception;
+    }
     logger.log(Kind.WARNING, exception.getMessage());
     logger.log(Kind.NOTE, "SAXParseException", exception);
   }
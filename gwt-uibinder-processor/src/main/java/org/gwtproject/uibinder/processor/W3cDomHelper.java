@@ -15,6 +15,7 @@
  */
 package org.gwtproject.uibinder.processor;
 
+import org.gwtproject.uibinder.processor.GwtResourceEntityResolver.ResolvedEntity;
 import org.gwtproject.uibinder.processor.ext.MyTreeLogger;
 
 import org.w3c.dom.Document;
@@ -23,7 +24,9 @@ import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
+import java.util.Map;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.xml.parsers.ParserConfigurationException;
@@ -38,15 +41,15 @@ public class W3cDomHelper {
   private static final String LOAD_EXTERNAL_DTD =
       "http://apache.org/xml/features/nonvalidating/load-external-dtd";
 
-  private final SAXParserFactory factory;
-  private final MyTreeLogger logger;
-  private final ProcessingEnvironment processingEnvironment;
-  // private final Pro
+  private static final SAXParserFactory FACTORY = newFactory();
 
-  public W3cDomHelper(MyTreeLogger logger, ProcessingEnvironment processingEnvironment) {
-    this.logger = logger;
-    this.processingEnvironment = processingEnvironment;
-    this.factory = SAXParserFactory.newInstance();
+  /**
+   * Parsers are expensive to create, and may only be used by one thread at a time.
+   */
+  private static final ThreadLocal<SAXParser> PARSERS = new ThreadLocal<>();
+
+  private static SAXParserFactory newFactory() {
+    SAXParserFactory factory = SAXParserFactory.newInstance();
     try {
       factory.setFeature(LOAD_EXTERNAL_DTD, true);
     } catch (ParserConfigurationException e) {
@@ -55,26 +58,82 @@ public class W3cDomHelper {
       // ignore since parser doesn't know about this feature
     }
     factory.setNamespaceAware(true);
+    return factory;
+  }
+
+  private static SAXParser getParser() throws ParserConfigurationException, SAXException {
+    SAXParser parser = PARSERS.get();
+    if (parser == null) {
+      synchronized (FACTORY) {
+        parser = FACTORY.newSAXParser();
+      }
+      PARSERS.set(parser);
+    }
+    return parser;
+  }
+
+  private final MyTreeLogger logger;
+  private final ProcessingEnvironment processingEnvironment;
+  private final Map<String, ResolvedEntity> resolvedEntities;
+
+  public W3cDomHelper(MyTreeLogger logger, ProcessingEnvironment processingEnvironment) {
+    this(logger, processingEnvironment, null);
+  }
+
+  /**
+   * @param logger the logger to report parse problems to, or null to fail on the first one
+   * @param processingEnvironment the environment to read external entities from, or null to only
+   * use the resolved entities; without both a logger and an environment, the helper can be used on
+   * any thread
+   * @param resolvedEntities the external entities resolved so far, completed with the ones read
+   * from the processing environment, or null
+   */
+  public W3cDomHelper(MyTreeLogger logger, ProcessingEnvironment processingEnvironment,
+      Map<String, ResolvedEntity> resolvedEntities) {
+    this.logger = logger;
+    this.processingEnvironment = processingEnvironment;
+    this.resolvedEntities = resolvedEntities;
   }
 
   public Document documentFor(String string, String resourcePath) throws SAXParseException {
+    try {
+      return documentFor(new InputSource(new StringReader(string)), resourcePath);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Parses the document read from the given stream, letting the parser detect its encoding.
+   */
+  public Document documentFor(InputStream stream, String resourcePath)
+      throws SAXParseException, IOException {
+    return documentFor(new InputSource(stream), resourcePath);
+  }
+
+  private Document documentFor(InputSource input, String resourcePath)
+      throws SAXParseException, IOException {
+    SAXParser parser = null;
     try {
       if (resourcePath != null) {
         int pos = resourcePath.lastIndexOf('/');
         resourcePath = (pos < 0) ? "" : resourcePath.substring(0, pos + 1);
       }
       W3cDocumentBuilder handler = new W3cDocumentBuilder(logger, resourcePath,
-          processingEnvironment);
-      SAXParser parser = factory.newSAXParser();
-      InputSource input = new InputSource(new StringReader(string));
+          processingEnvironment, resolvedEntities);
+      parser = getParser();
       input.setSystemId(resourcePath);
       parser.parse(input, handler);
       return handler.getDocument();
     } catch (SAXParseException e) {
       // Let SAXParseExceptions through.
       throw e;
-    } catch (SAXException | IOException | ParserConfigurationException e) {
+    } catch (SAXException | ParserConfigurationException e) {
       throw new RuntimeException(e);
+    } finally {
+      if (parser != null) {
+        parser.reset();
+      }
     }
   }
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import org.gwtproject.uibinder.processor.model.OwnerFieldClass;
+
+import com.google.common.hash.Hashing;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.tools.FileObject;
+
+/**
+ * What the processor learnt about jars and style sheets, kept for the next compilations of a
+ * long-lived process, such as a build daemon or an IDE. Only used when the {@code
+ * uibinder.warmCache} option is set.
+ *
+ * <p>Nothing of the type model of a compilation is kept: field classes are kept as {@link
+ * OwnerFieldClass.Snapshot snapshots} of member names, keyed by the qualified name of the type and
+ * the checksums of the jars of the type and of its supertypes, so that a changed jar is never
+ * served stale members. CSS class names are keyed by a hash of the style sheets. Both are bounded,
+ * evicting the least recently used entries first.
+ *
+ * <p>Shared by the compilations running in the process, hence synchronized.
+ */
+public final class WarmCache {
+
+  static final int DEFAULT_MAX_ENTRIES = 4096;
+
+  private static WarmCache instance;
+
+  /**
+   * Returns the cache of the process, which is created, or replaced if its size differs.
+   */
+  static synchronized WarmCache get(int maxEntries) {
+    if (instance == null || instance.maxEntries != maxEntries) {
+      instance = new WarmCache(maxEntries);
+    }
+    return instance;
+  }
+
+  /**
+   * Returns the jar a resource of the Filer was found in, or null if it is not in a local jar.
+   */
+  static File getJar(FileObject file) {
+    URI uri = file.toUri();
+    if (!"jar".equals(uri.getScheme())) {
+      return null;
+    }
+    String spec = uri.getRawSchemeSpecificPart();
+    int separator = spec.indexOf("!/");
+    if (separator < 0) {
+      return null;
+    }
+    try {
+      URI jarUri = new URI(spec.substring(0, separator));
+      return "file".equals(jarUri.getScheme()) ? new File(jarUri) : null;
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static <V> Map<String, V> newLruMap(final int maxEntries) {
+    return new LinkedHashMap<String, V>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * The checksum of a jar, and what identified the file when it was computed.
+   */
+  private static class JarChecksum {
+
+    final Object fileKey;
+    final long size;
+    final FileTime lastModified;
+    final String checksum;
+
+    JarChecksum(BasicFileAttributes attributes, String checksum) {
+      this.fileKey = attributes.fileKey();
+      this.size = attributes.size();
+      this.lastModified = attributes.lastModifiedTime();
+      this.checksum = checksum;
+    }
+
+    boolean isOf(BasicFileAttributes attributes) {
+      return Objects.equals(fileKey, attributes.fileKey()) && size == attributes.size()
+          && lastModified.equals(attributes.lastModifiedTime());
+    }
+  }
+
+  private final int maxEntries;
+  private final Map<String, OwnerFieldClass.Snapshot> fieldClasses;
+  private final Map<String, Set<String>> cssClassNames;
+  private final Map<String, JarChecksum> jarChecksums = new HashMap<>();
+
+  private long hits;
+  private long misses;
+  private long invalidations;
+
+  private WarmCache(int maxEntries) {
+    this.maxEntries = maxEntries;
+    this.fieldClasses = newLruMap(maxEntries);
+    this.cssClassNames = newLruMap(maxEntries);
+  }
+
+  public synchronized Set<String> getCssClassNames(String contentHash) {
+    return count(cssClassNames.get(contentHash));
+  }
+
+  public synchronized OwnerFieldClass.Snapshot getFieldClass(String key) {
+    return count(fieldClasses.get(key));
+  }
+
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of field classes dropped because a jar they came from changed.
+   */
+  public synchronized long getInvalidations() {
+    return invalidations;
+  }
+
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  public synchronized int getSize() {
+    return fieldClasses.size() + cssClassNames.size();
+  }
+
+  public synchronized void putCssClassNames(String contentHash, Set<String> classNames) {
+    cssClassNames.put(contentHash, classNames);
+  }
+
+  public synchronized void putFieldClass(String key, OwnerFieldClass.Snapshot snapshot) {
+    fieldClasses.put(key, snapshot);
+  }
+
+  /**
+   * Returns the checksum of the content of a jar, or null if it cannot be read. The checksum is
+   * computed again when the file, its size or its modification time changes, and the field classes
+   * keyed by the previous checksum are then dropped.
+   */
+  synchronized String getJarChecksum(File jar) {
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(jar.toPath(), BasicFileAttributes.class);
+    } catch (IOException e) {
+      return null;
+    }
+
+    String path = jar.getAbsolutePath();
+    JarChecksum known = jarChecksums.get(path);
+    if (known != null && known.isOf(attributes)) {
+      return known.checksum;
+    }
+
+    String checksum;
+    try {
+      checksum = com.google.common.io.Files.asByteSource(jar).hash(Hashing.sha256()).toString();
+    } catch (IOException e) {
+      return null;
+    }
+    if (known != null && !known.checksum.equals(checksum)) {
+      invalidate(known.checksum);
+    }
+    if (jarChecksums.size() >= maxEntries) {
+      jarChecksums.clear();
+    }
+    jarChecksums.put(path, new JarChecksum(attributes, checksum));
+    return checksum;
+  }
+
+  private <T> T count(T entry) {
+    if (entry == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+    return entry;
+  }
+
+  private void invalidate(String checksum) {
+    for (Iterator<String> keys = fieldClasses.keySet().iterator(); keys.hasNext(); ) {
+      if (keys.next().contains(checksum)) {
+        keys.remove();
+        invalidations++;
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * The types the generator refers to by name, mostly those of the {@link UiBinderApiPackage}, each
+ * resolved once per round, including the ones that are not on the classpath. Assignability
+ * between declared types is remembered as well, as the same widget types are checked against the
+ * same API types for every binder.
+ *
+ * <p>Get the instance of the round with {@link AptUtil#getWellKnownTypes()}. Only to be used from
+ * the processor thread.
+ */
+public class WellKnownTypes {
+
+  private final Elements elements;
+  private final Types types;
+
+  private final Map<String, Optional<TypeElement>> typeElements = new HashMap<>();
+  private final Map<String, Boolean> assignable = new HashMap<>();
+
+  WellKnownTypes(Elements elements, Types types) {
+    this.elements = elements;
+    this.types = types;
+  }
+
+  /**
+   * Returns the type element of the given name, or null if there is none.
+   */
+  public TypeElement getTypeElement(String qualifiedName) {
+    Optional<TypeElement> typeElement = typeElements.get(qualifiedName);
+    if (typeElement == null) {
+      typeElement = Optional.ofNullable(elements.getTypeElement(qualifiedName));
+      typeElements.put(qualifiedName, typeElement);
+    }
+    return typeElement.orElse(null);
+  }
+
+  /**
+   * Returns the type of the given name, or null if there is none.
+   */
+  public TypeMirror getType(String qualifiedName) {
+    TypeElement typeElement = getTypeElement(qualifiedName);
+    return typeElement == null ? null : typeElement.asType();
+  }
+
+  /**
+   * Tells whether the type {@code from} can be assigned to the type {@code to}, ignoring their
+   * type arguments.
+   */
+  public boolean isAssignable(TypeMirror from, TypeMirror to) {
+    TypeMirror erasedFrom = types.erasure(from);
+    TypeMirror erasedTo = types.erasure(to);
+    if (erasedFrom.getKind() != TypeKind.DECLARED || erasedTo.getKind() != TypeKind.DECLARED) {
+      return types.isAssignable(erasedFrom, erasedTo);
+    }
+
+    String key = qualifiedName(erasedFrom) + "->" + qualifiedName(erasedTo);
+    Boolean result = assignable.get(key);
+    if (result == null) {
+      result = types.isAssignable(erasedFrom, erasedTo);
+      assignable.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Tells whether both mirrors are the same type. Raw types that are not inner classes are
+   * compared by name.
+   */
+  public boolean isSameType(TypeMirror t1, TypeMirror t2) {
+    if (isRawTopLevel(t1) && isRawTopLevel(t2)) {
+      return qualifiedName(t1).equals(qualifiedName(t2));
+    }
+    return types.isSameType(t1, t2);
+  }
+
+  private static boolean isRawTopLevel(TypeMirror type) {
+    if (type.getKind() != TypeKind.DECLARED) {
+      return false;
+    }
+    DeclaredType declaredType = (DeclaredType) type;
+    return declaredType.getTypeArguments().isEmpty()
+        && declaredType.getEnclosingType().getKind() == TypeKind.NONE;
+  }
+
+  private static String qualifiedName(TypeMirror declaredType) {
+    return ((TypeElement) ((DeclaredType) declaredType).asElement()).getQualifiedName()
+        .toString();
+  }
+}
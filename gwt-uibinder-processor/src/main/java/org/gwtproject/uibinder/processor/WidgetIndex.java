@@ -0,0 +1,374 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import org.gwtproject.uibinder.processor.model.OwnerFieldClass;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CharStreams;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * The field class descriptors of the widgets of a library, which {@link WidgetIndexProcessor}
+ * writes into the library, one {@value #RESOURCE_NAME} resource per package, so that binders
+ * using the widgets read them rather than walk the members of the widgets and their supertypes.
+ *
+ * <p>The index of a package is only used for the types whose class file is in the same jar, and
+ * an entry only if the supertypes of the type that come from other jars have the same class files
+ * as when the library was built. Types compiled from source never use the index.
+ *
+ * <p>An entry is also only used by the binders of the {@link UiBinderApiPackage} it was built
+ * for, which is the api of the {@code IsWidget} interface the type implements, as the annotations
+ * the descriptor looks for depend on the api.
+ *
+ * <p>The index is made of lines of text: the {@link #HEADER}, a {@code class} line with the name
+ * and the hash of each class file of another jar, then for each type a {@code type} line, an
+ * {@code api} line, a {@code super} line per supertype, and the lines of its {@link
+ * OwnerFieldClass.Snapshot}.
+ *
+ * <p>Only to be used from the processor thread.
+ */
+public class WidgetIndex {
+
+  static final String RESOURCE_NAME = "uibinder-widgets.idx";
+
+  private static final String HEADER = "# UiBinder widget index 2";
+
+  /**
+   * Writes the index of the widgets of a package.
+   */
+  static class Builder {
+
+    private final Set<String> sourceTypes;
+    private final Map<String, Optional<String>> classFileHashes;
+    private final Map<String, String> classLines = new TreeMap<>();
+    private final Map<String, List<String>> typeLines = new TreeMap<>();
+
+    /**
+     * @param sourceTypes the top-level types of the library, compiled from source
+     * @param classFileHashes the hashes of class files of other jars found so far, by type name
+     */
+    Builder(Set<String> sourceTypes, Map<String, Optional<String>> classFileHashes) {
+      this.sourceTypes = sourceTypes;
+      this.classFileHashes = classFileHashes;
+    }
+
+    /**
+     * Adds a type, unless one of its supertypes is neither compiled with it, nor on the class path,
+     * nor part of the Java platform.
+     *
+     * @param api the api the snapshot was built with
+     * @return whether the type was added
+     */
+    boolean add(TypeElement type, UiBinderApiPackage api, OwnerFieldClass.Snapshot snapshot) {
+      List<String> lines = new ArrayList<>();
+      Map<String, String> classes = new HashMap<>();
+      lines.add("type " + type.getQualifiedName());
+      lines.add("api " + api.name());
+      for (TypeMirror supertype : AptUtil.getFlattenedSupertypeHierarchy(type.asType())) {
+        TypeElement supertypeElement = AptUtil.asTypeElement(supertype);
+        if (supertypeElement == null) {
+          return false;
+        }
+        String name = supertypeElement.getQualifiedName().toString();
+        lines.add("super " + name);
+        if (isSourceType(sourceTypes, supertypeElement)) {
+          continue;
+        }
+        String hash = hashClassFile(classFileHashes, supertypeElement);
+        if (hash != null) {
+          classes.put(name, "class " + name + " " + hash);
+        } else if (!isPlatformType(name)) {
+          return false;
+        }
+      }
+      lines.addAll(snapshot.toLines());
+
+      classLines.putAll(classes);
+      typeLines.put(type.getQualifiedName().toString(), lines);
+      return true;
+    }
+
+    boolean isEmpty() {
+      return typeLines.isEmpty();
+    }
+
+    String build() {
+      StringBuilder index = new StringBuilder(HEADER).append('\n');
+      for (String line : classLines.values()) {
+        index.append(line).append('\n');
+      }
+      for (List<String> lines : typeLines.values()) {
+        for (String line : lines) {
+          index.append(line).append('\n');
+        }
+      }
+      return index.toString();
+    }
+  }
+
+  /**
+   * The index of a package, as read from a jar.
+   */
+  private static class PackageIndex {
+
+    final File jar;
+    final Map<String, String> classFileHashes = new HashMap<>();
+    final Map<String, UiBinderApiPackage> apis = new HashMap<>();
+    final Map<String, Set<String>> supertypes = new HashMap<>();
+    final Map<String, OwnerFieldClass.Snapshot> snapshots = new HashMap<>();
+
+    PackageIndex(File jar) {
+      this.jar = jar;
+    }
+  }
+
+  /**
+   * Returns the hash of the class file of the given type on the class path, or null if there is
+   * none.
+   */
+  private static String hashClassFile(Map<String, Optional<String>> classFileHashes,
+      TypeElement type) {
+    String name = type.getQualifiedName().toString();
+    Optional<String> hash = classFileHashes.get(name);
+    if (hash == null) {
+      hash = Optional.empty();
+      FileObject classFile = AptUtil.findClassFile(type);
+      if (classFile != null) {
+        try (InputStream in = classFile.openInputStream()) {
+          hash = Optional.of(Hashing.sha256().hashBytes(ByteStreams.toByteArray(in)).toString());
+        } catch (IOException e) {
+          // not readable
+        }
+      }
+      classFileHashes.put(name, hash);
+    }
+    return hash.orElse(null);
+  }
+
+  private static boolean isPlatformType(String qualifiedName) {
+    return qualifiedName.startsWith("java.") || qualifiedName.startsWith("javax.");
+  }
+
+  private static boolean isSourceType(Set<String> sourceTypes, TypeElement type) {
+    return sourceTypes.contains(AptUtil.getTopLevelType(type).getQualifiedName().toString());
+  }
+
+  private final Set<String> sourceTypes;
+  private final Map<String, Optional<PackageIndex>> packages = new HashMap<>();
+  private final Map<String, Optional<String>> classFileHashes = new HashMap<>();
+  private final Map<String, Optional<File>> classFileJars = new HashMap<>();
+
+  private int indexedPackages;
+  private int hits;
+  private int otherApiEntries;
+  private int staleEntries;
+
+  /**
+   * @param sourceTypes the top-level types compiled from source so far, updated as rounds go
+   */
+  WidgetIndex(Set<String> sourceTypes) {
+    this.sourceTypes = sourceTypes;
+  }
+
+  /**
+   * Returns the indexed descriptor of the given type, or null if there is none, it was built for
+   * another api than the current one, or it is stale.
+   */
+  public OwnerFieldClass.Snapshot getFieldClass(TypeMirror type) {
+    TypeElement typeElement = AptUtil.asTypeElement(type);
+    if (typeElement == null) {
+      return null;
+    }
+    String packageName = AptUtil.getElementUtils().getPackageOf(typeElement).getQualifiedName()
+        .toString();
+    PackageIndex index = getPackageIndex(packageName);
+    if (index == null) {
+      return null;
+    }
+
+    String name = typeElement.getQualifiedName().toString();
+    OwnerFieldClass.Snapshot snapshot = index.snapshots.get(name);
+    if (snapshot == null) {
+      return null;
+    }
+    if (index.apis.get(name) != UiBinderApiPackage.current()) {
+      otherApiEntries++;
+      return null;
+    }
+    if (!isCurrent(typeElement, index)) {
+      staleEntries++;
+      return null;
+    }
+    hits++;
+    return snapshot;
+  }
+
+  public int getHits() {
+    return hits;
+  }
+
+  public int getIndexedPackages() {
+    return indexedPackages;
+  }
+
+  /**
+   * Returns the number of entries not used because they were built for another api.
+   */
+  public int getOtherApiEntries() {
+    return otherApiEntries;
+  }
+
+  /**
+   * Returns the number of entries not used because the class files they were built from changed.
+   */
+  public int getStaleEntries() {
+    return staleEntries;
+  }
+
+  private File getClassFileJar(TypeElement type) {
+    String name = type.getQualifiedName().toString();
+    Optional<File> jar = classFileJars.get(name);
+    if (jar == null) {
+      FileObject classFile = AptUtil.findClassFile(type);
+      jar = Optional.ofNullable(classFile == null ? null : WarmCache.getJar(classFile));
+      classFileJars.put(name, jar);
+    }
+    return jar.orElse(null);
+  }
+
+  private PackageIndex getPackageIndex(String packageName) {
+    Optional<PackageIndex> index = packages.get(packageName);
+    if (index == null) {
+      index = Optional.ofNullable(readPackageIndex(packageName));
+      if (index.isPresent()) {
+        indexedPackages++;
+      }
+      packages.put(packageName, index);
+    }
+    return index.orElse(null);
+  }
+
+  /**
+   * Whether the type and its supertypes are read from the same class files as when the index was
+   * built.
+   */
+  private boolean isCurrent(TypeElement type, PackageIndex index) {
+    if (isSourceType(sourceTypes, type) || !index.jar.equals(getClassFileJar(type))) {
+      return false;
+    }
+
+    Set<String> supertypes = new HashSet<>();
+    for (TypeMirror supertype : AptUtil.getFlattenedSupertypeHierarchy(type.asType())) {
+      TypeElement supertypeElement = AptUtil.asTypeElement(supertype);
+      if (supertypeElement == null || isSourceType(sourceTypes, supertypeElement)) {
+        return false;
+      }
+      String name = supertypeElement.getQualifiedName().toString();
+      supertypes.add(name);
+      String hash = index.classFileHashes.get(name);
+      if (hash != null) {
+        if (!hash.equals(hashClassFile(classFileHashes, supertypeElement))) {
+          return false;
+        }
+      } else if (!isPlatformType(name)
+          && !index.jar.equals(getClassFileJar(supertypeElement))) {
+        return false;
+      }
+    }
+    return supertypes.equals(index.supertypes.get(type.getQualifiedName().toString()));
+  }
+
+  private PackageIndex readPackageIndex(String packageName) {
+    FileObject resource = AptUtil.findResource(
+        Collections.singletonList(StandardLocation.CLASS_PATH), packageName, RESOURCE_NAME);
+    File jar = resource == null ? null : WarmCache.getJar(resource);
+    if (jar == null) {
+      return null;
+    }
+
+    List<String> lines;
+    try (Reader reader = new InputStreamReader(resource.openInputStream(),
+        StandardCharsets.UTF_8)) {
+      lines = CharStreams.readLines(reader);
+    } catch (IOException e) {
+      return null;
+    }
+    if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+      return null;
+    }
+
+    PackageIndex index = new PackageIndex(jar);
+    String type = null;
+    List<String> snapshotLines = new ArrayList<>();
+    for (String line : lines.subList(1, lines.size())) {
+      String[] words = line.split(" ");
+      if ("class".equals(words[0]) && words.length == 3) {
+        index.classFileHashes.put(words[1], words[2]);
+      } else if ("type".equals(words[0]) && words.length == 2) {
+        addSnapshot(index, type, snapshotLines);
+        type = words[1];
+        index.supertypes.put(type, new HashSet<>());
+        snapshotLines.clear();
+      } else if ("api".equals(words[0]) && words.length == 2 && type != null) {
+        index.apis.put(type, parseApi(words[1]));
+      } else if ("super".equals(words[0]) && words.length == 2 && type != null) {
+        index.supertypes.get(type).add(words[1]);
+      } else if (type != null) {
+        snapshotLines.add(line);
+      }
+    }
+    addSnapshot(index, type, snapshotLines);
+    return index;
+  }
+
+  private static UiBinderApiPackage parseApi(String name) {
+    try {
+      return UiBinderApiPackage.valueOf(name);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static void addSnapshot(PackageIndex index, String type, List<String> snapshotLines) {
+    OwnerFieldClass.Snapshot snapshot = type == null ? null
+        : OwnerFieldClass.Snapshot.fromLines(snapshotLines);
+    if (snapshot != null) {
+      index.snapshots.put(type, snapshot);
+    }
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import org.gwtproject.uibinder.processor.ext.MyTreeLogger;
+import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
+import org.gwtproject.uibinder.processor.model.OwnerFieldClass;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes a {@link WidgetIndex} of the widgets being compiled, when {@code -Auibinder.widgetIndex}
+ * is {@code true}, for the builds of widget libraries. Does nothing otherwise.
+ *
+ * <p>A widget is indexed for the binders of the api of the {@code IsWidget} interface it
+ * implements: the gwtproject one, or else the com.google.gwt one.
+ *
+ * <p>A widget is left out of the index if its @UiChild or @UiConstructor annotations are invalid,
+ * which is reported as a warning; binders that use it report the error. Nothing is written if the
+ * compilation has errors.
+ */
+@SupportedSourceVersion(SourceVersion.RELEASE_8)
+@SupportedOptions(WidgetIndexProcessor.OPTION_WIDGET_INDEX)
+public class WidgetIndexProcessor extends AbstractProcessor {
+
+  static final String OPTION_WIDGET_INDEX = "uibinder.widgetIndex";
+
+  /**
+   * The apis of the binders that can use the widgets, tried in order, by the {@code IsWidget}
+   * interface a widget implements.
+   */
+  private static final UiBinderApiPackage[] WIDGET_APIS = {
+      UiBinderApiPackage.ORG_GWTPROJECT_UIBINDER, UiBinderApiPackage.COM_GOOGLE_GWT_UIBINDER};
+
+  /**
+   * Reports errors as warnings.
+   */
+  private static class WarningMessager implements Messager {
+
+    private final Messager messager;
+
+    WarningMessager(Messager messager) {
+      this.messager = messager;
+    }
+
+    @Override
+    public void printMessage(Kind kind, CharSequence msg) {
+      messager.printMessage(downgrade(kind), msg);
+    }
+
+    @Override
+    public void printMessage(Kind kind, CharSequence msg, Element e) {
+      messager.printMessage(downgrade(kind), msg, e);
+    }
+
+    @Override
+    public void printMessage(Kind kind, CharSequence msg, Element e, AnnotationMirror a) {
+      messager.printMessage(downgrade(kind), msg, e, a);
+    }
+
+    @Override
+    public void printMessage(Kind kind, CharSequence msg, Element e, AnnotationMirror a,
+        AnnotationValue v) {
+      messager.printMessage(downgrade(kind), msg, e, a, v);
+    }
+
+    private Kind downgrade(Kind kind) {
+      return kind == Kind.ERROR ? Kind.WARNING : kind;
+    }
+  }
+
+  private final Set<String> sourceTypes = new HashSet<>();
+  private final Map<String, Optional<String>> classFileHashes = new HashMap<>();
+  private final Map<String, WidgetIndex.Builder> indexes = new TreeMap<>();
+  private final Map<String, List<Element>> originatingElements = new HashMap<>();
+  private final UiBinderContext context = new UiBinderContext();
+  private boolean errorRaised;
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return isEnabled() ? Collections.singleton("*") : Collections.emptySet();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+    if (!isEnabled()) {
+      return false;
+    }
+
+    MyTreeLogger logger = new MyTreeLogger(processingEnv.getMessager());
+    try {
+      AptUtil.setProcessingEnvironment(processingEnv);
+      errorRaised |= env.errorRaised();
+      if (env.processingOver()) {
+        if (!errorRaised) {
+          writeIndexes();
+        }
+      } else {
+        List<TypeElement> types = new ArrayList<>();
+        for (Element element : env.getRootElements()) {
+          if (element instanceof TypeElement) {
+            sourceTypes.add(((TypeElement) element).getQualifiedName().toString());
+            collectTypes((TypeElement) element, types);
+          }
+        }
+        indexWidgets(types);
+      }
+    } catch (Exception e) {
+      logger.log(Kind.ERROR, "Error writing the UiBinder widget index", e);
+    } finally {
+      AptUtil.setProcessingEnvironment(null);
+    }
+    return false;
+  }
+
+  private void collectTypes(TypeElement type, List<TypeElement> types) {
+    types.add(type);
+    for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+      collectTypes(member, types);
+    }
+  }
+
+  private void indexWidgets(List<TypeElement> types) {
+    Map<UiBinderApiPackage, TypeMirror> widgetInterfaces = new LinkedHashMap<>();
+    for (UiBinderApiPackage api : WIDGET_APIS) {
+      TypeMirror type = AptUtil.getWellKnownTypes().getType(api.getIsWidgetFqn());
+      if (type != null) {
+        widgetInterfaces.put(api, type);
+      }
+    }
+
+    MortalLogger logger = new MortalLogger(
+        new MyTreeLogger(new WarningMessager(processingEnv.getMessager())));
+    try {
+      for (TypeElement type : types) {
+        UiBinderApiPackage api = getWidgetApi(type, widgetInterfaces);
+        if (api == null) {
+          continue;
+        }
+        UiBinderApiPackage.setUiBinderApiPackage(api);
+        OwnerFieldClass fieldClass;
+        try {
+          fieldClass = OwnerFieldClass.getFieldClass(type.asType(), logger, context);
+        } catch (UnableToCompleteException e) {
+          continue;
+        }
+
+        String packageName = AptUtil.getElementUtils().getPackageOf(type).getQualifiedName()
+            .toString();
+        WidgetIndex.Builder index = indexes.computeIfAbsent(packageName,
+            k -> new WidgetIndex.Builder(sourceTypes, classFileHashes));
+        if (index.add(type, api, new OwnerFieldClass.Snapshot(fieldClass))) {
+          originatingElements.computeIfAbsent(packageName, k -> new ArrayList<>())
+              .add(AptUtil.getTopLevelType(type));
+        }
+      }
+    } finally {
+      UiBinderApiPackage.setUiBinderApiPackage(null);
+    }
+  }
+
+  private boolean isEnabled() {
+    return Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_WIDGET_INDEX));
+  }
+
+  /**
+   * Returns the api of the {@code IsWidget} interface the given type implements, or null if it is
+   * not a public widget class.
+   */
+  private UiBinderApiPackage getWidgetApi(TypeElement type,
+      Map<UiBinderApiPackage, TypeMirror> widgetInterfaces) {
+    if (type.getKind() != ElementKind.CLASS || !type.getModifiers().contains(Modifier.PUBLIC)) {
+      return null;
+    }
+    for (Map.Entry<UiBinderApiPackage, TypeMirror> widgetInterface
+        : widgetInterfaces.entrySet()) {
+      if (AptUtil.getWellKnownTypes().isAssignable(type.asType(), widgetInterface.getValue())) {
+        return widgetInterface.getKey();
+      }
+    }
+    return null;
+  }
+
+  private void writeIndexes() throws IOException {
+    for (Map.Entry<String, WidgetIndex.Builder> index : indexes.entrySet()) {
+      if (index.getValue().isEmpty()) {
+        continue;
+      }
+      List<Element> originating = originatingElements.get(index.getKey());
+      FileObject resource = processingEnv.getFiler().createResource(
+          StandardLocation.CLASS_OUTPUT, index.getKey(), WidgetIndex.RESOURCE_NAME,
+          originating.toArray(new Element[0]));
+      try (Writer writer = resource.openWriter()) {
+        writer.write(index.getValue().build());
+      }
+    }
+  }
+}
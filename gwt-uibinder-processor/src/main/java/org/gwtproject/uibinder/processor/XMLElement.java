@@ -822,7 +822,7 @@ public class XMLElement {
 
   private TypeMirror getImageResourceType() {
     if (imageResourceType == null) {
-      TypeElement typeElement = AptUtil.getElementUtils()
+      TypeElement typeElement = AptUtil.getWellKnownTypes()
           .getTypeElement(UiBinderApiPackage.current().getImageResourceFqn());
       imageResourceType = typeElement.asType();
     }
@@ -851,22 +851,20 @@ public class XMLElement {
 
   private TypeMirror getSafeHtmlType() {
     if (safeHtmlType == null) {
-      safeHtmlType = AptUtil.getElementUtils()
-          .getTypeElement(UiBinderApiPackage.current().getSafeHtmlInterfaceFqn()).asType();
+      safeHtmlType = AptUtil.getWellKnownTypes()
+          .getType(UiBinderApiPackage.current().getSafeHtmlInterfaceFqn());
     }
     return safeHtmlType;
   }
 
   private TypeMirror getStringType() {
     if (stringType == null) {
-      stringType = AptUtil.getElementUtils().getTypeElement(String.class.getCanonicalName())
-          .asType();
+      stringType = AptUtil.getWellKnownTypes().getType(String.class.getCanonicalName());
     }
     return stringType;
   }
 
   private TypeMirror getUnitType() {
-    return AptUtil.getElementUtils()
-        .getTypeElement(UiBinderApiPackage.current().getDomStyleUnitFqn()).asType();
+    return AptUtil.getWellKnownTypes().getType(UiBinderApiPackage.current().getDomStyleUnitFqn());
   }
 }
@@ -19,13 +19,13 @@ import org.gwtproject.uibinder.processor.AptUtil;
 import org.gwtproject.uibinder.processor.FieldManager;
 import org.gwtproject.uibinder.processor.MortalLogger;
 import org.gwtproject.uibinder.processor.UiBinderApiPackage;
+import org.gwtproject.uibinder.processor.WellKnownTypes;
 
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
-import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 
 /**
@@ -51,7 +51,7 @@ public class AttributeParsers {
     this.logger = logger;
     converter = new FieldReferenceConverter(fieldManager);
     Types types = AptUtil.getTypeUtils();
-    Elements elements = AptUtil.getElementUtils();
+    WellKnownTypes wellKnownTypes = AptUtil.getWellKnownTypes();
 
     BooleanAttributeParser boolParser = new BooleanAttributeParser(converter,
         types.getPrimitiveType(TypeKind.BOOLEAN), logger);
@@ -72,40 +72,37 @@ public class AttributeParsers {
         logger));
 
     addAttributeParser(UiBinderApiPackage.current().getHorizontalAlignmentConstantFqn(),
-        new HorizontalAlignmentConstantParser(converter, elements
-            .getTypeElement(UiBinderApiPackage.current().getHorizontalAlignmentConstantFqn())
-            .asType(), logger));
+        new HorizontalAlignmentConstantParser(converter, wellKnownTypes
+            .getType(UiBinderApiPackage.current().getHorizontalAlignmentConstantFqn()), logger));
     addAttributeParser(UiBinderApiPackage.current().getVerticalAlignmentConstantFqn(),
         new VerticalAlignmentConstantParser(
-            converter, elements
-            .getTypeElement(UiBinderApiPackage.current().getVerticalAlignmentConstantFqn())
-            .asType(), logger));
+            converter, wellKnownTypes
+            .getType(UiBinderApiPackage.current().getVerticalAlignmentConstantFqn()), logger));
     addAttributeParser(UiBinderApiPackage.current().getTextBoxBaseTextAlignConstantFqn(),
         new TextAlignConstantParser(
-            converter, elements
-            .getTypeElement(UiBinderApiPackage.current().getTextBoxBaseTextAlignConstantFqn())
-            .asType(), logger));
+            converter, wellKnownTypes
+            .getType(UiBinderApiPackage.current().getTextBoxBaseTextAlignConstantFqn()), logger));
 
     StringAttributeParser stringParser = new StringAttributeParser(converter,
-        elements.getTypeElement(STRING).asType());
+        wellKnownTypes.getType(STRING));
     addAttributeParser(STRING, stringParser);
 
     EnumAttributeParser unitParser = new EnumAttributeParser(converter,
-        elements.getTypeElement(UiBinderApiPackage.current().getDomStyleUnitFqn()).asType(),
+        wellKnownTypes.getType(UiBinderApiPackage.current().getDomStyleUnitFqn()),
         logger);
     addAttributeParser(DOUBLE + "," + UiBinderApiPackage.current().getDomStyleUnitFqn(),
         new LengthAttributeParser(doubleParser, unitParser, logger));
 
     SafeUriAttributeParser uriParser = new SafeUriAttributeParser(stringParser,
         converter,
-        elements.getTypeElement(UiBinderApiPackage.current().getSafeUriInterfaceFqn()).asType(),
+        wellKnownTypes.getType(UiBinderApiPackage.current().getSafeUriInterfaceFqn()),
         logger);
     addAttributeParser(UiBinderApiPackage.current().getSafeUriInterfaceFqn(), uriParser);
 
     safeUriInHtmlParser = new SafeUriAttributeParser(stringParser,
         converter,
-        elements.getTypeElement(UiBinderApiPackage.current().getSafeUriInterfaceFqn()).asType(),
-        elements.getTypeElement(STRING).asType(), logger);
+        wellKnownTypes.getType(UiBinderApiPackage.current().getSafeUriInterfaceFqn()),
+        wellKnownTypes.getType(STRING), logger);
   }
 
   /**
@@ -30,30 +30,28 @@ import javax.lang.model.type.TypeMirror;
  */
 class HorizontalAlignmentConstantParser extends StrictAttributeParser {
 
-  private static final String PREFIX = UiBinderApiPackage.current().getHasHorizontalAlignmentFqn()
-      + ".ALIGN_";
-  private static final HashMap<String, String> values = new HashMap<>();
-
-  static {
-    values.put("LEFT", PREFIX + "LEFT");
-    values.put("CENTER", PREFIX + "CENTER");
-    values.put("RIGHT", PREFIX + "RIGHT");
-    values.put("JUSTIFY", PREFIX + "JUSTIFY");
-    values.put("DEFAULT", PREFIX + "DEFAULT");
-    values.put("LOCALE_START", PREFIX + "LOCALE_START");
-    values.put("LOCALE_END", PREFIX + "LOCALE_END");
-    values.put("ALIGN_LEFT", PREFIX + "LEFT");
-    values.put("ALIGN_CENTER", PREFIX + "CENTER");
-    values.put("ALIGN_RIGHT", PREFIX + "RIGHT");
-    values.put("ALIGN_JUSTIFY", PREFIX + "JUSTIFY");
-    values.put("ALIGN_DEFAULT", PREFIX + "DEFAULT");
-    values.put("ALIGN_LOCALE_START", PREFIX + "LOCALE_START");
-    values.put("ALIGN_LOCALE_END", PREFIX + "LOCALE_END");
-  }
+  private final HashMap<String, String> values = new HashMap<>();
 
   HorizontalAlignmentConstantParser(FieldReferenceConverter converter, TypeMirror type,
       MortalLogger logger) {
     super(converter, logger, type);
+
+    final String prefix = UiBinderApiPackage.current().getHasHorizontalAlignmentFqn() + ".ALIGN_";
+
+    values.put("LEFT", prefix + "LEFT");
+    values.put("CENTER", prefix + "CENTER");
+    values.put("RIGHT", prefix + "RIGHT");
+    values.put("JUSTIFY", prefix + "JUSTIFY");
+    values.put("DEFAULT", prefix + "DEFAULT");
+    values.put("LOCALE_START", prefix + "LOCALE_START");
+    values.put("LOCALE_END", prefix + "LOCALE_END");
+    values.put("ALIGN_LEFT", prefix + "LEFT");
+    values.put("ALIGN_CENTER", prefix + "CENTER");
+    values.put("ALIGN_RIGHT", prefix + "RIGHT");
+    values.put("ALIGN_JUSTIFY", prefix + "JUSTIFY");
+    values.put("ALIGN_DEFAULT", prefix + "DEFAULT");
+    values.put("ALIGN_LOCALE_START", prefix + "LOCALE_START");
+    values.put("ALIGN_LOCALE_END", prefix + "LOCALE_END");
   }
 
   @Override
@@ -18,6 +18,7 @@ package org.gwtproject.uibinder.processor.elementparsers;
 import org.gwtproject.uibinder.processor.AptUtil;
 import org.gwtproject.uibinder.processor.UiBinderContext;
 import org.gwtproject.uibinder.processor.UiBinderWriter;
+import org.gwtproject.uibinder.processor.WellKnownTypes;
 import org.gwtproject.uibinder.processor.XMLAttribute;
 import org.gwtproject.uibinder.processor.XMLElement;
 import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
@@ -27,6 +28,7 @@ import org.gwtproject.uibinder.processor.model.OwnerFieldClass;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -71,13 +73,13 @@ public class BeanParser implements ElementParser {
       UiBinderWriter writer) throws UnableToCompleteException {
 //    writer.getDesignTime().handleUIObject(writer, elem, fieldName);
 
-    final Map<String, String> setterValues = new HashMap<String, String>();
+    final Map<String, String> setterValues = new LinkedHashMap<String, String>();
     final Map<String, String> localizedValues = fetchLocalizedAttributeValues(
         elem, writer);
-    final Map<String, String[]> adderValues = new HashMap<>();
+    final Map<String, String[]> adderValues = new LinkedHashMap<>();
 
-    final Map<String, String> requiredValues = new HashMap<>();
-    final Map<String, TypeMirror> unfilledRequiredParams = new HashMap<>();
+    final Map<String, String> requiredValues = new LinkedHashMap<>();
+    final Map<String, TypeMirror> unfilledRequiredParams = new LinkedHashMap<>();
 
     final OwnerFieldClass ownerFieldClass = OwnerFieldClass.getFieldClass(type,
         writer.getLogger(), context);
@@ -178,7 +180,8 @@ public class BeanParser implements ElementParser {
           setterValues.put(propertyName, value);
         } else if (ADD_PROPERTY_TO_SETTER_MAP.containsKey(propertyName)) {
           String addMethod = ADD_PROPERTY_TO_SETTER_MAP.get(propertyName);
-          TypeElement stringType = AptUtil.getElementUtils().getTypeElement(String.class.getName());
+          TypeElement stringType = AptUtil.getWellKnownTypes()
+              .getTypeElement(String.class.getName());
 
           if (AptUtil.findMethod(ownerFieldClass.getRawType(), addMethod,
               new TypeMirror[]{stringType.asType()}) != null) {
@@ -249,7 +252,7 @@ public class BeanParser implements ElementParser {
    */
   private Map<String, String> fetchLocalizedAttributeValues(XMLElement elem,
       UiBinderWriter writer) {
-    final Map<String, String> localizedValues = new HashMap<String, String>();
+    final Map<String, String> localizedValues = new LinkedHashMap<String, String>();
 
     Collection<AttributeMessage> attributeMessages = writer.getMessages()
         .retrieveMessageAttributesFor(
@@ -278,8 +281,8 @@ public class BeanParser implements ElementParser {
   }
 
   private boolean isString(UiBinderWriter writer, TypeMirror paramType) {
-    TypeElement stringType = AptUtil.getElementUtils().getTypeElement(String.class.getName());
-    return AptUtil.getTypeUtils().isSameType(paramType, stringType.asType());
+    WellKnownTypes wellKnownTypes = AptUtil.getWellKnownTypes();
+    return wellKnownTypes.isSameType(paramType, wellKnownTypes.getType(String.class.getName()));
   }
 
   private String[] makeArgsList(final Map<String, String> valueMap, ExecutableElement method) {
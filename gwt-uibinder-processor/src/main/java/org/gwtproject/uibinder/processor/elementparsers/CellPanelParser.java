@@ -47,10 +47,10 @@ public class CellPanelParser implements ElementParser {
   protected static void parseCellAttributes(XMLElement cellElem, String fieldName,
       FieldWriter childField, UiBinderWriter writer)
       throws UnableToCompleteException {
-    TypeElement hAlignConstantType = AptUtil.getElementUtils().getTypeElement(
-        UiBinderApiPackage.current().getHorizontalAlignmentConstantFqn());
-    TypeElement vAlignConstantType = AptUtil.getElementUtils().getTypeElement(
-        UiBinderApiPackage.current().getVerticalAlignmentConstantFqn());
+    TypeElement hAlignConstantType = AptUtil.getWellKnownTypes()
+        .getTypeElement(UiBinderApiPackage.current().getHorizontalAlignmentConstantFqn());
+    TypeElement vAlignConstantType = AptUtil.getWellKnownTypes()
+        .getTypeElement(UiBinderApiPackage.current().getVerticalAlignmentConstantFqn());
 
     // Parse horizontal and vertical alignment attributes.
     if (cellElem.hasAttribute(HALIGN_ATTR)) {
@@ -20,7 +20,7 @@ import org.gwtproject.uibinder.processor.XMLAttribute;
 import org.gwtproject.uibinder.processor.XMLElement;
 import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -60,7 +60,7 @@ class ComputedAttributeInterpreter implements XMLElement.Interpreter<String> {
 
   public String interpretElement(XMLElement elem)
       throws UnableToCompleteException {
-    Map<String, String> attNameToToken = new HashMap<String, String>();
+    Map<String, String> attNameToToken = new LinkedHashMap<String, String>();
 
     for (int i = elem.getAttributeCount() - 1; i >= 0; i--) {
       XMLAttribute att = elem.getAttribute(i);
@@ -59,12 +59,11 @@ public class DateLabelParser implements ElementParser {
   private String consumeFormat(XMLElement elem, UiBinderWriter writer)
       throws UnableToCompleteException {
     String format = elem.consumeAttribute("format",
-        AptUtil.getElementUtils()
-            .getTypeElement(UiBinderApiPackage.current().getI18nDateTimeFormatFqn()).asType());
+        AptUtil.getWellKnownTypes()
+            .getType(UiBinderApiPackage.current().getI18nDateTimeFormatFqn()));
     String predefinedFormat = elem.consumeAttribute("predefinedFormat",
-        AptUtil.getElementUtils()
-            .getTypeElement(UiBinderApiPackage.current().getI18nDateTimeFormatPredefinedFormatFqn())
-            .asType());
+        AptUtil.getWellKnownTypes()
+            .getType(UiBinderApiPackage.current().getI18nDateTimeFormatPredefinedFormatFqn()));
     String customFormat = elem.consumeStringAttribute("customFormat");
 
     if (format != null) {
@@ -88,8 +87,7 @@ public class DateLabelParser implements ElementParser {
   private String consumeTimeZone(XMLElement elem, UiBinderWriter writer)
       throws UnableToCompleteException {
     String timeZone = elem.consumeAttribute("timezone",
-        AptUtil.getElementUtils()
-            .getTypeElement(UiBinderApiPackage.current().getI18nTimeZoneFqn()).asType());
+        AptUtil.getWellKnownTypes().getType(UiBinderApiPackage.current().getI18nTimeZoneFqn()));
     String timeZoneOffset = elem.consumeAttribute("timezoneOffset",
         getIntType());
     if (timeZone != null && timeZoneOffset != null) {
@@ -110,16 +108,16 @@ public class DateLabelParser implements ElementParser {
   }
 
   private boolean hasDateTimeFormatAndTimeZoneConstructor(TypeMirror type) {
-    TypeElement dateTimeFormatType = AptUtil.getElementUtils()
+    TypeElement dateTimeFormatType = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getI18nDateTimeFormatFqn());
-    TypeElement timeZoneType = AptUtil.getElementUtils()
+    TypeElement timeZoneType = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getI18nTimeZoneFqn());
     return AptUtil
         .hasCompatibleConstructor(type, dateTimeFormatType.asType(), timeZoneType.asType());
   }
 
   private boolean hasDateTimeFormatConstructor(TypeMirror type) {
-    TypeElement dateTimeFormatType = AptUtil.getElementUtils()
+    TypeElement dateTimeFormatType = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getI18nDateTimeFormatFqn());
     return AptUtil.hasCompatibleConstructor(type, dateTimeFormatType.asType());
   }
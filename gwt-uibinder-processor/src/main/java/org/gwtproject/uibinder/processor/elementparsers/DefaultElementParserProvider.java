@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor.elementparsers;
+
+import org.gwtproject.uibinder.processor.UiBinderApiPackage;
+
+/**
+ * Registers the parsers for the DOM element and widget types shipped with GWT.
+ */
+class DefaultElementParserProvider implements ElementParserProvider {
+
+  /**
+   * Widget packages that have a parallel set of widgets (legacy and new).
+   */
+  private static final String[] WIDGET_PACKAGES = {
+      "com.google.gwt.user.client.ui", "org.gwtproject.user.client.ui"};
+
+  @Override
+  public void registerParsers(ElementParserRegistry registry) {
+    DomElementParser domElementParser = new DomElementParser();
+    for (UiBinderApiPackage api : UiBinderApiPackage.values()) {
+      registry.register(api.getDomElementFqn(), domElementParser);
+    }
+
+    registerWidgetParser(registry, "UIObject", new UIObjectParser());
+    registerWidgetParser(registry, "HasText", new HasTextParser());
+    registerWidgetParser(registry, "HasHTML", new HasHTMLParser());
+    registerWidgetParser(registry, "HasTreeItems", new HasTreeItemsParser());
+    registerWidgetParser(registry, "HasWidgets", new HasWidgetsParser());
+    registerWidgetParser(registry, "HTMLPanel", new HTMLPanelParser());
+    registerWidgetParser(registry, "FlowPanel", new FlowPanelParser());
+    registerWidgetParser(registry, "AbsolutePanel", new AbsolutePanelParser());
+    registerWidgetParser(registry, "DockPanel", new DockPanelParser());
+    registerWidgetParser(registry, "StackPanel", new StackPanelParser());
+    registerWidgetParser(registry, "DisclosurePanel", new DisclosurePanelParser());
+    registerWidgetParser(registry, "TabPanel", new TabPanelParser());
+    registerWidgetParser(registry, "MenuItem", new MenuItemParser());
+    registerWidgetParser(registry, "MenuBar", new MenuBarParser());
+    registerWidgetParser(registry, "CellPanel", new CellPanelParser());
+    registerWidgetParser(registry, "CustomButton", new CustomButtonParser());
+    registerWidgetParser(registry, "DialogBox", new DialogBoxParser());
+    registerWidgetParser(registry, "LayoutPanel", new LayoutPanelParser());
+    registerWidgetParser(registry, "DockLayoutPanel", new DockLayoutPanelParser());
+    registerWidgetParser(registry, "StackLayoutPanel", new StackLayoutPanelParser());
+    registerWidgetParser(registry, "TabLayoutPanel", new TabLayoutPanelParser());
+    registerWidgetParser(registry, "Image", new ImageParser());
+    registerWidgetParser(registry, "ListBox", new ListBoxParser());
+    registerWidgetParser(registry, "Grid", new GridParser());
+    registerWidgetParser(registry, "HasAlignment", new HasAlignmentParser());
+    registerWidgetParser(registry, "DateLabel", new DateLabelParser());
+    registerWidgetParser(registry, "NumberLabel", new NumberLabelParser());
+    registerWidgetParser(registry, "LazyPanel", new LazyPanelParser());
+    registerWidgetParser(registry, "RenderablePanel", new RenderablePanelParser());
+  }
+
+  private void registerWidgetParser(ElementParserRegistry registry, String simpleName,
+      ElementParser parser) {
+    for (String widgetPackage : WIDGET_PACKAGES) {
+      registry.register(widgetPackage + "." + simpleName, parser);
+    }
+  }
+}
@@ -19,6 +19,7 @@ import org.gwtproject.uibinder.processor.AptUtil;
 import org.gwtproject.uibinder.processor.FieldWriter;
 import org.gwtproject.uibinder.processor.UiBinderApiPackage;
 import org.gwtproject.uibinder.processor.UiBinderWriter;
+import org.gwtproject.uibinder.processor.WellKnownTypes;
 import org.gwtproject.uibinder.processor.XMLElement;
 import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
 
@@ -97,8 +98,8 @@ public class DialogBoxParser implements ElementParser {
     TypeMirror type = writer.findFieldType(element);
 
     List<? extends TypeMirror> classes = AptUtil.getFlattenedSupertypeHierarchy(type);
-    TypeElement captionType = AptUtil.getElementUtils().getTypeElement(
-        UiBinderApiPackage.current().getDialogBoxCaptionFqn());
+    TypeElement captionType = AptUtil.getWellKnownTypes()
+        .getTypeElement(UiBinderApiPackage.current().getDialogBoxCaptionFqn());
     return classes.contains(captionType);
   }
 
@@ -106,9 +107,9 @@ public class DialogBoxParser implements ElementParser {
    * Checks to see if the widget extends DialogBox or is DialogBox proper.
    */
   protected boolean isCustomWidget(UiBinderWriter writer, TypeMirror type) {
-    return !AptUtil.getTypeUtils().isSameType(type,
-        AptUtil.getElementUtils().getTypeElement(
-            UiBinderApiPackage.current().getDialogBoxFqn()).asType());
+    WellKnownTypes wellKnownTypes = AptUtil.getWellKnownTypes();
+    return !wellKnownTypes.isSameType(type,
+        wellKnownTypes.getType(UiBinderApiPackage.current().getDialogBoxFqn()));
   }
 
   /**
@@ -66,8 +66,8 @@ public class DockLayoutPanelParser implements ElementParser {
     // Generate instantiation (requires a 'unit' ctor param).
     // (Don't generate a ctor for the SplitLayoutPanel, it has its own parser).
     if (type != getSplitLayoutPanelType(writer)) {
-      TypeElement unitEnumType = AptUtil.getElementUtils().getTypeElement(
-          UiBinderApiPackage.current().getDomStyleUnitFqn());
+      TypeElement unitEnumType = AptUtil.getWellKnownTypes()
+          .getTypeElement(UiBinderApiPackage.current().getDomStyleUnitFqn());
       String unit = elem.consumeAttributeWithDefault("unit",
           String
               .format("%s.%s", AptUtil.asQualifiedNameable(unitEnumType).getQualifiedName(), "PX"),
@@ -118,7 +118,7 @@ public class DockLayoutPanelParser implements ElementParser {
   }
 
   private TypeElement getSplitLayoutPanelType(UiBinderWriter writer) {
-    return AptUtil.getElementUtils()
+    return AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getSplitLayoutPanelFqn());
   }
 
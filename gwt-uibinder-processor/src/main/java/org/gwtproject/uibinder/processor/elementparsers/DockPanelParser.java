@@ -21,28 +21,21 @@ import org.gwtproject.uibinder.processor.UiBinderWriter;
 import org.gwtproject.uibinder.processor.XMLElement;
 import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import javax.lang.model.type.TypeMirror;
 
 /**
- * Parses DockPanel widgets.
+ * Parses DockPanel widgets. One instance is shared by the binders of every api, so the DockPanel
+ * of the constants is the one of the binder being parsed.
  */
 public class DockPanelParser implements ElementParser {
 
   private static final String TAG_DOCK = "Dock";
-  private final HashMap<String, String> values = new HashMap<>();
-
-  public DockPanelParser() {
-    String dockPanelFqn = UiBinderApiPackage.current().getDockPanelFqn();
-    values.put("NORTH", dockPanelFqn + ".NORTH");
-    values.put("SOUTH", dockPanelFqn + ".SOUTH");
-    values.put("EAST", dockPanelFqn + ".EAST");
-    values.put("WEST", dockPanelFqn + ".WEST");
-    values.put("CENTER", dockPanelFqn + ".CENTER");
-    values.put("LINE_START", dockPanelFqn + ".LINE_START");
-    values.put("LINE_END", dockPanelFqn + ".LINE_END");
-  }
+  private static final Set<String> DIRECTIONS = new HashSet<>(Arrays.asList(
+      "NORTH", "SOUTH", "EAST", "WEST", "CENTER", "LINE_START", "LINE_END"));
 
   public void parse(XMLElement elem, String fieldName, TypeMirror type,
       UiBinderWriter writer) throws UnableToCompleteException {
@@ -64,10 +57,10 @@ public class DockPanelParser implements ElementParser {
         writer.die(elem, "Dock must specify the 'direction' attribute");
       }
       String value = child.consumeRawAttribute("direction");
-      String translated = values.get(value);
-      if (translated == null) {
+      if (!DIRECTIONS.contains(value)) {
         writer.die(elem, "Invalid value: dockDirection='" + value + "'");
       }
+      String translated = UiBinderApiPackage.current().getDockPanelFqn() + "." + value;
 
       // And they can only have a single child widget.
       XMLElement widget = child.consumeSingleChildElement();
@@ -43,10 +43,18 @@ public class DomElementParser implements ElementParser {
         + elem.getClosingTag();
     writer.endAttachedSection();
 
-    writer.setFieldInitializer(fieldName, String.format(
-        "(%1$s) %3$s.fromHtml(%2$s)",
-        AptUtil.asQualifiedNameable(type).getQualifiedName(),
-        writer.declareTemplateCall(html, fieldName),
-        UiBinderApiPackage.current().getUiBinderUtilFqn()));
+    if (writer.useTemplateCloning()) {
+      writer.setFieldInitializer(fieldName, String.format(
+          "(%1$s) %3$s.fromTemplate(%2$s)",
+          AptUtil.asQualifiedNameable(type).getQualifiedName(),
+          writer.declareClonedTemplateCall(html, fieldName),
+          UiBinderApiPackage.current().getUiBinderUtilFqn()));
+    } else {
+      writer.setFieldInitializer(fieldName, String.format(
+          "(%1$s) %3$s.fromHtml(%2$s)",
+          AptUtil.asQualifiedNameable(type).getQualifiedName(),
+          writer.declareTemplateCall(html, fieldName),
+          UiBinderApiPackage.current().getUiBinderUtilFqn()));
+    }
   }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor.elementparsers;
+
+/**
+ * Contributes {@link ElementParser}s to the {@link ElementParserRegistry}.
+ *
+ * <p>Third-party parsers are found with {@link java.util.ServiceLoader}: list the implementation
+ * in the {@code META-INF/services} file named after this interface, on the processor path.
+ * Parsers registered that way take precedence over the built-in ones for the same type.
+ */
+public interface ElementParserProvider {
+
+  /**
+   * Registers parsers by the qualified name of the type whose elements they parse. Registered
+   * parsers are shared by every element of that type and every template, so they must not keep
+   * state between calls to {@link ElementParser#parse}.
+   */
+  void registerParsers(ElementParserRegistry registry);
+}
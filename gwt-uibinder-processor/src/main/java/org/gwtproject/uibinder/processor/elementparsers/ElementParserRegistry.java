@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor.elementparsers;
+
+import org.gwtproject.uibinder.processor.AptUtil;
+import org.gwtproject.uibinder.processor.UiBinderContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Resolves the chain of {@link ElementParser}s that handles the elements of a given type.
+ *
+ * <p>Parsers are registered once, by the built-in {@link DefaultElementParserProvider} and then by
+ * every {@link ElementParserProvider} found with {@link ServiceLoader}, and are shared by all
+ * templates. The chain for a type is resolved the first time an element of that type is parsed,
+ * and reused until the next round.
+ */
+public class ElementParserRegistry {
+
+  private final Map<String, ElementParser> parsers = new HashMap<>();
+  private final Map<String, List<ElementParser>> parserChains = new HashMap<>();
+
+  /**
+   * Parsers that run before the type specific ones, for every element.
+   */
+  private final List<ElementParser> leadingParsers;
+
+  /**
+   * Parsers that run after the type specific ones, for every element.
+   */
+  private final List<ElementParser> trailingParsers;
+
+  public ElementParserRegistry(UiBinderContext uiBinderCtx) {
+    /*
+     * Let this non-widget parser go first (it finds <m:attribute/> elements).
+     * Any other such should land here too.
+     *
+     * TODO(rjrjr) Need a scheme to associate these with a namespace uri or
+     * something?
+     */
+    List<ElementParser> leading = new ArrayList<>();
+    leading.add(new AttributeMessageParser());
+    leading.add(new UiChildParser(uiBinderCtx));
+    leadingParsers = Collections.unmodifiableList(leading);
+
+    List<ElementParser> trailing = new ArrayList<>();
+    trailing.add(new BeanParser(uiBinderCtx));
+    trailing.add(new IsEmptyParser());
+    trailingParsers = Collections.unmodifiableList(trailing);
+
+    new DefaultElementParserProvider().registerParsers(this);
+    for (ElementParserProvider provider : ServiceLoader
+        .load(ElementParserProvider.class, ElementParserProvider.class.getClassLoader())) {
+      provider.registerParsers(this);
+    }
+  }
+
+  /**
+   * Forgets the resolved parser chains, whose types may be modeled anew in the next round.
+   */
+  public void clearParserChains() {
+    parserChains.clear();
+  }
+
+  /**
+   * Returns the parsers for the given type, in order from most- to least-specific, wrapped by the
+   * parsers that apply to every element.
+   */
+  public List<ElementParser> getParsers(TypeElement type) {
+    String typeName = type.getQualifiedName().toString();
+    List<ElementParser> chain = parserChains.get(typeName);
+    if (chain == null) {
+      chain = new ArrayList<>(leadingParsers);
+      for (TypeElement curType : AptUtil.getClassHierarchyBreadthFirst(type)) {
+        ElementParser parser = parsers.get(curType.getQualifiedName().toString());
+        if (parser != null) {
+          chain.add(parser);
+        }
+      }
+      chain.addAll(trailingParsers);
+      chain = Collections.unmodifiableList(chain);
+      parserChains.put(typeName, chain);
+    }
+    return chain;
+  }
+
+  /**
+   * Registers the parser for elements of the given type, replacing any previous one.
+   *
+   * @param typeName the qualified name of the class or interface
+   * @param parser a stateless parser
+   */
+  public void register(String typeName, ElementParser parser) {
+    parsers.put(typeName, parser);
+    parserChains.clear();
+  }
+}
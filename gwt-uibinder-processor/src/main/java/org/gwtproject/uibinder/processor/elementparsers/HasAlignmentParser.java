@@ -38,8 +38,8 @@ public class HasAlignmentParser implements ElementParser {
       UiBinderWriter writer) throws UnableToCompleteException {
 
     // Get fully qualified class name for horizontal alignment
-    TypeElement hAlignConstantType = AptUtil.getElementUtils().getTypeElement(
-        UiBinderApiPackage.current().getHorizontalAlignmentConstantFqn());
+    TypeElement hAlignConstantType = AptUtil.getWellKnownTypes()
+        .getTypeElement(UiBinderApiPackage.current().getHorizontalAlignmentConstantFqn());
     // Get horizontal alignment value
     String horizontalAlignment = elem.consumeAttributeWithDefault(
         "horizontalAlignment", null, hAlignConstantType.asType());
@@ -50,8 +50,8 @@ public class HasAlignmentParser implements ElementParser {
     }
 
     // Get fully qualified class name for vertical alignment
-    TypeElement vAlignConstantType = AptUtil.getElementUtils().getTypeElement(
-        UiBinderApiPackage.current().getVerticalAlignmentConstantFqn());
+    TypeElement vAlignConstantType = AptUtil.getWellKnownTypes()
+        .getTypeElement(UiBinderApiPackage.current().getVerticalAlignmentConstantFqn());
     // Get vertical alignment value
     String verticalAlignment = elem.consumeAttributeWithDefault(
         "verticalAlignment", null, vAlignConstantType.asType());
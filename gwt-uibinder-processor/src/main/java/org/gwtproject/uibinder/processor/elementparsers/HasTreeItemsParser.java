@@ -35,11 +35,11 @@ public class HasTreeItemsParser implements ElementParser {
   public void parse(XMLElement elem, String fieldName, TypeMirror type,
       UiBinderWriter writer) throws UnableToCompleteException {
     // Prepare base types.
-    TypeElement itemType = AptUtil.getElementUtils()
+    TypeElement itemType = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getTreeItemFqn());
-    TypeElement widgetType = AptUtil.getElementUtils()
+    TypeElement widgetType = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getWidgetFqn());
-    TypeElement isWidgetType = AptUtil.getElementUtils()
+    TypeElement isWidgetType = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getIsWidgetFqn());
 
     // Parse children.
@@ -109,8 +109,8 @@ public class HtmlInterpreter implements XMLElement.Interpreter<String> {
       Interpreter<String> messageInterpreter) {
     this.writer = writer;
 
-    this.safeHtmlType = AptUtil.getElementUtils()
-        .getTypeElement(UiBinderApiPackage.current().getSafeHtmlInterfaceFqn()).asType();
+    this.safeHtmlType = AptUtil.getWellKnownTypes()
+        .getType(UiBinderApiPackage.current().getSafeHtmlInterfaceFqn());
 
     this.pipe = new InterpreterPipe<String>();
 
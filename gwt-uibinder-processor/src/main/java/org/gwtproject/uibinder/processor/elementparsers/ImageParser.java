@@ -42,7 +42,7 @@ public class ImageParser implements ElementParser {
   }
 
   private boolean hasImageResourceConstructor(TypeMirror type) {
-    TypeElement imageResourceType = AptUtil.getElementUtils()
+    TypeElement imageResourceType = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getImageResourceFqn());
     ExecutableElement constructor = AptUtil
         .findConstructor(type, new TypeMirror[]{imageResourceType.asType()});
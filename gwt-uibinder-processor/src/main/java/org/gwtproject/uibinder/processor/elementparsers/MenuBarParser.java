@@ -45,10 +45,10 @@ public class MenuBarParser implements ElementParser {
     }
 
     // Prepare base types.
-    TypeElement itemType = AptUtil.getElementUtils()
+    TypeElement itemType = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getMenuItemFqn());
-    TypeElement separatorType = AptUtil.getElementUtils().getTypeElement(
-        UiBinderApiPackage.current().getMenuItemSeparatorFqn());
+    TypeElement separatorType = AptUtil.getWellKnownTypes()
+        .getTypeElement(UiBinderApiPackage.current().getMenuItemSeparatorFqn());
 
     // Parse children.
     for (XMLElement child : elem.consumeChildElements()) {
@@ -42,8 +42,8 @@ public class MenuItemParser implements ElementParser {
           "(" + UiBinderApiPackage.current().getCommandFqn() + ") null");
     }
 
-    final TypeElement menuBarType = AptUtil.getElementUtils().getTypeElement(
-        UiBinderApiPackage.current().getMenuBarFqn());
+    final TypeElement menuBarType = AptUtil.getWellKnownTypes()
+        .getTypeElement(UiBinderApiPackage.current().getMenuBarFqn());
 
     class MenuBarInterpreter implements Interpreter<Boolean> {
 
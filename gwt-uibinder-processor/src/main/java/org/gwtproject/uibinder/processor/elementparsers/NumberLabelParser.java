@@ -71,8 +71,7 @@ public class NumberLabelParser implements ElementParser {
   private String consumeCurrency(XMLElement elem, UiBinderWriter writer)
       throws UnableToCompleteException {
     String currencyData = elem.consumeAttribute("currencyData",
-        AptUtil.getElementUtils().getTypeElement(
-            UiBinderApiPackage.current().getI18nCurrencyDataFqn()).asType());
+        AptUtil.getWellKnownTypes().getType(UiBinderApiPackage.current().getI18nCurrencyDataFqn()));
     String currencyCode = elem.consumeStringAttribute("currencyCode");
 
     if (currencyData != null && currencyCode != null) {
@@ -84,8 +83,7 @@ public class NumberLabelParser implements ElementParser {
   private String consumeFormat(XMLElement elem, UiBinderWriter writer)
       throws UnableToCompleteException {
     String format = elem.consumeAttribute("format",
-        AptUtil.getElementUtils().getTypeElement(
-            UiBinderApiPackage.current().getI18nNumberFormatFqn()).asType());
+        AptUtil.getWellKnownTypes().getType(UiBinderApiPackage.current().getI18nNumberFormatFqn()));
     String predefinedFormat = elem.consumeRawAttribute("predefinedFormat");
     String customFormat = elem.consumeStringAttribute("customFormat");
 
@@ -133,7 +131,7 @@ public class NumberLabelParser implements ElementParser {
   }
 
   private boolean hasNumberFormatConstructor(TypeMirror type) {
-    TypeElement numberFormatType = AptUtil.getElementUtils()
+    TypeElement numberFormatType = AptUtil.getWellKnownTypes()
         .getTypeElement(UiBinderApiPackage.current().getI18nNumberFormatFqn());
     return AptUtil.findConstructor(type, new TypeMirror[]{numberFormatType.asType()}) != null;
   }
@@ -44,8 +44,8 @@ public class StackLayoutPanelParser implements ElementParser {
   public void parse(XMLElement panelElem, String fieldName, TypeMirror type,
       UiBinderWriter writer) throws UnableToCompleteException {
 
-    TypeElement unitEnumType = AptUtil.getElementUtils().getTypeElement(
-        UiBinderApiPackage.current().getDomStyleUnitFqn());
+    TypeElement unitEnumType = AptUtil.getWellKnownTypes()
+        .getTypeElement(UiBinderApiPackage.current().getDomStyleUnitFqn());
     String unit = panelElem.consumeAttributeWithDefault("unit",
         String.format("%s.%s", AptUtil.asQualifiedNameable(unitEnumType).getQualifiedName(), "PX"),
         unitEnumType.asType());
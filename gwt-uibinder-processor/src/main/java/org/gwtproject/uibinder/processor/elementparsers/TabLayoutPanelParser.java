@@ -47,8 +47,8 @@ public class TabLayoutPanelParser implements ElementParser {
 
     String size = panelElem.consumeRequiredDoubleAttribute("barHeight");
 
-    TypeElement unitEnumType = AptUtil.getElementUtils().getTypeElement(
-        UiBinderApiPackage.current().getDomStyleUnitFqn());
+    TypeElement unitEnumType = AptUtil.getWellKnownTypes()
+        .getTypeElement(UiBinderApiPackage.current().getDomStyleUnitFqn());
     String unit = panelElem.consumeAttributeWithDefault("barUnit",
         String.format("%s.%s", AptUtil.asQualifiedNameable(unitEnumType).getQualifiedName(), "PX"),
         unitEnumType.asType());
@@ -25,8 +25,8 @@ import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
 import org.gwtproject.uibinder.processor.messages.MessageWriter;
 import org.gwtproject.uibinder.processor.messages.MessagesWriter;
 
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -63,7 +63,7 @@ class WidgetPlaceholderInterpreter extends HtmlPlaceholderInterpreter {
   private final String ancestorExpression;
   private final String fieldName;
   private final Map<String, XMLElement> idToWidgetElement =
-      new HashMap<String, XMLElement>();
+      new LinkedHashMap<String, XMLElement>();
   private final Set<String> idIsHasHTML = new HashSet<String>();
   private final Set<String> idIsHasText = new HashSet<String>();
 
@@ -95,15 +95,13 @@ class WidgetPlaceholderInterpreter extends HtmlPlaceholderInterpreter {
     idToWidgetElement.put(idHolder, elem);
 
     if (AptUtil.isAssignableFrom(
-        AptUtil.getElementUtils()
-            .getTypeElement(UiBinderApiPackage.current().getHasHTMLFqn()).asType(),
+        AptUtil.getWellKnownTypes().getType(UiBinderApiPackage.current().getHasHTMLFqn()),
         type)) {
       return handleHasHTMLPlaceholder(elem, name, idHolder);
     }
 
     if (AptUtil.isAssignableFrom(
-        AptUtil.getElementUtils()
-            .getTypeElement(UiBinderApiPackage.current().getHasText()).asType(),
+        AptUtil.getWellKnownTypes().getType(UiBinderApiPackage.current().getHasText()),
         type)) {
       return handleHasTextPlaceholder(elem, name, idHolder);
     }
@@ -131,8 +129,9 @@ class WidgetPlaceholderInterpreter extends HtmlPlaceholderInterpreter {
         String elementPointer = idHolder + "Element";
         FieldWriter elementWriter = fieldManager.registerField(
             lazyDomElementPath, elementPointer);
-        elementWriter.setInitializer(String.format("new %s<Element>(%s)",
-            lazyDomElementPath, fieldManager.convertFieldToGetter(idHolder)));
+        elementWriter.setInitializer(String.format("new %s<%s>(%s)",
+            lazyDomElementPath, UiBinderApiPackage.current().getDomElementFqn(),
+            fieldManager.convertFieldToGetter(idHolder)));
 
         // Add attach/detach sections for this element.
         fieldWriter.addAttachStatement("%s.get();",
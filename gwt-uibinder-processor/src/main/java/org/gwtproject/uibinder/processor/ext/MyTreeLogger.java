@@ -38,12 +38,10 @@ public class MyTreeLogger {
 
   private Element currentElement;
   private final Messager messager;
-  private final TreeLogger adaptedTreeLogger;
+  private TreeLogger adaptedTreeLogger;
 
   public MyTreeLogger(Messager messager) {
     this.messager = messager;
-    LocalOutputStream localOutputStream = new LocalOutputStream(Kind.ERROR);
-    this.adaptedTreeLogger = new PrintWriterTreeLogger(new PrintWriter(localOutputStream));
   }
 
   public final void log(Kind kind, String msg) {
@@ -75,10 +73,28 @@ public class MyTreeLogger {
     this.currentElement = currentElement;
   }
 
+  /**
+   * Returns a TreeLogger of gwt-dev logging to this logger, which is created on first use as it
+   * loads gwt-dev's logging.
+   */
   public TreeLogger getAdapted() {
+    if (adaptedTreeLogger == null) {
+      adaptedTreeLogger = Adapter.create(new PrintWriter(new LocalOutputStream(Kind.ERROR)));
+    }
     return adaptedTreeLogger;
   }
 
+  /**
+   * Creates the adapted logger. Kept apart, so verifying this class does not load the loggers of
+   * gwt-dev.
+   */
+  private static class Adapter {
+
+    static TreeLogger create(PrintWriter out) {
+      return new PrintWriterTreeLogger(out);
+    }
+  }
+
   private class LocalOutputStream extends OutputStream {
     private Kind level;
 
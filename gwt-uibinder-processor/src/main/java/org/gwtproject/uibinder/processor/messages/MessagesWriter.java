@@ -29,7 +29,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -110,7 +110,7 @@ public class MessagesWriter {
       return Collections.emptySet();
     }
 
-    Set<AttributeMessage> attributeMessages = new HashSet<AttributeMessage>();
+    Set<AttributeMessage> attributeMessages = new LinkedHashSet<AttributeMessage>();
     for (XMLElement child : messageChildren) {
       String attributeName = consumeMessageElementAttribute(NAME, child);
       if (attributeName.length() == 0) {
@@ -186,7 +186,7 @@ public class MessagesWriter {
         if (!ElementKind.INTERFACE.equals(baseInterfaceType.getKind())) {
           logger.die(elem, "%s must be an interface", baseInterfaceAttr);
         }
-        TypeElement msgType = AptUtil.getElementUtils()
+        TypeElement msgType = AptUtil.getWellKnownTypes()
             .getTypeElement(UiBinderApiPackage.current().getI18nMessagesInterfaceFqn());
         if (msgType == null) {
           throw new RuntimeException("Internal Error: Messages interface not found");
@@ -208,11 +208,15 @@ public class MessagesWriter {
 
   /**
    * Returns the expression that will instantiate the Messages interface.
+   *
+   * <p>The deprecated GWT.create is still used, as the Messages interface is the
+   * com.google.gwt.i18n one for every api, and only GWT.create implements it.
    */
+  @SuppressWarnings("deprecation")
   public String getDeclaration() {
     return String.format(
-        "static %1$s messages = (%1$s) GWT.create(%1$s.class);",
-        getMessagesClassName());
+        "static %1$s messages = (%1$s) %2$s.create(%1$s.class);",
+        getMessagesClassName(), UiBinderApiPackage.current().getGWTFqn());
   }
 
   public String getMessagesClassName() {
@@ -30,11 +30,12 @@ public abstract class PlaceholderInterpreter implements
 
   protected final UiBinderWriter uiWriter;
   protected final MessageWriter message;
-  protected final Tokenator tokenator = new Tokenator();
+  protected final Tokenator tokenator;
 
   public PlaceholderInterpreter(UiBinderWriter writer, MessageWriter message) {
     this.uiWriter = writer;
     this.message = message;
+    this.tokenator = writer.newTokenator();
   }
 
   public String interpretElement(XMLElement elem)
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor.model;
+
+import org.gwtproject.uibinder.processor.ext.MyTreeLogger;
+import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Set;
+
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Parses the style sheets of {@code ui:style} elements for {@link ImplicitCssResource}.
+ *
+ * <p>The implementation is backed by the CSS and GSS parsers of gwt-dev, which take a while to load
+ * and warm up. Get it through {@link #get()} only once a binder actually has a style, so
+ * compilations whose templates have none never load it.
+ */
+interface CssEngine {
+
+  /**
+   * Returns the engine, loading it on first use.
+   */
+  static CssEngine get() {
+    return GwtCssEngine.INSTANCE;
+  }
+
+  /**
+   * Concatenates the given GSS files, converting CSS files among them to GSS.
+   */
+  String concatGss(List<URL> urls, MyTreeLogger logger) throws UnableToCompleteException;
+
+  /**
+   * Returns the class names of a GSS style sheet.
+   *
+   * @param imports the CssResource types whose scopes are imported
+   */
+  Set<String> getGssClassNames(String fileName, String gss, Set<TypeMirror> imports,
+      MyTreeLogger logger) throws UnableToCompleteException;
+
+  /**
+   * Returns the class names of the given CSS style sheets.
+   *
+   * @param imports the CssResource types whose scopes are imported
+   */
+  Set<String> getCssClassNames(List<URL> urls, Set<TypeMirror> imports, MyTreeLogger logger)
+      throws UnableToCompleteException;
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor.model;
+
+import org.gwtproject.uibinder.processor.ext.MyTreeLogger;
+import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
+import org.gwtproject.uibinder.processor.typeinfo.TypeInfoWrapper;
+
+import com.google.gwt.core.ext.typeinfo.JClassType;
+import com.google.gwt.resources.css.ExtractClassNamesVisitor;
+import com.google.gwt.resources.css.GenerateCssAst;
+import com.google.gwt.resources.css.ast.CssStylesheet;
+import com.google.gwt.resources.gss.ClassNamesCollector;
+import com.google.gwt.resources.rg.GssResourceGenerator;
+import com.google.gwt.thirdparty.common.css.SourceCode;
+import com.google.gwt.thirdparty.common.css.compiler.ast.CssTree;
+import com.google.gwt.thirdparty.common.css.compiler.ast.GssParser;
+import com.google.gwt.thirdparty.common.css.compiler.ast.GssParserException;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Set;
+
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * {@link CssEngine} of gwt-dev. This is the only class of the processor that refers to the CSS
+ * and GSS parsers, so they are loaded along with it.
+ */
+final class GwtCssEngine implements CssEngine {
+
+  static final CssEngine INSTANCE = new GwtCssEngine();
+
+  private GwtCssEngine() {
+  }
+
+  @Override
+  public String concatGss(List<URL> urls, MyTreeLogger logger)
+      throws UnableToCompleteException {
+    try {
+      return GssResourceGenerator.concatCssFiles(urls, logger.getAdapted());
+    } catch (com.google.gwt.core.ext.UnableToCompleteException e) {
+      // upstream UnableToCompleteException throw our own
+      throw new UnableToCompleteException();
+    }
+  }
+
+  @Override
+  public Set<String> getGssClassNames(String fileName, String gss, Set<TypeMirror> imports,
+      MyTreeLogger logger) throws UnableToCompleteException {
+    SourceCode sourceCode = new SourceCode(fileName, gss);
+    try {
+      CssTree tree = new GssParser(sourceCode).parse();
+      return new ClassNamesCollector().getClassNames(tree, TypeInfoWrapper.wrapJClassType(imports));
+    } catch (GssParserException e) {
+      logger.log(Kind.ERROR, "Unable to parse CSS", e);
+      throw new UnableToCompleteException();
+    }
+  }
+
+  @Override
+  public Set<String> getCssClassNames(List<URL> urls, Set<TypeMirror> imports,
+      MyTreeLogger logger) throws UnableToCompleteException {
+    try {
+      CssStylesheet sheet = GenerateCssAst.exec(logger.getAdapted(),
+          urls.toArray(new URL[urls.size()]));
+      return ExtractClassNamesVisitor.exec(sheet,
+          TypeInfoWrapper.wrapJClassType(imports).toArray(new JClassType[imports.size()]));
+    } catch (com.google.gwt.core.ext.UnableToCompleteException e) {
+      // upstream UnableToCompleteException throw our own
+      throw new UnableToCompleteException();
+    }
+  }
+}
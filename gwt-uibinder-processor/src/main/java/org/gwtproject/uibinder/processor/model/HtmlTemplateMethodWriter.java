@@ -16,7 +16,10 @@
 package org.gwtproject.uibinder.processor.model;
 
 import org.gwtproject.uibinder.processor.AptUtil;
+import org.gwtproject.uibinder.processor.FieldManager;
 import org.gwtproject.uibinder.processor.FieldReference;
+import org.gwtproject.uibinder.processor.FieldWriter;
+import org.gwtproject.uibinder.processor.FieldWriterType;
 import org.gwtproject.uibinder.processor.IndentedWriter;
 import org.gwtproject.uibinder.processor.Tokenator;
 import org.gwtproject.uibinder.processor.Tokenator.Resolver;
@@ -67,17 +70,22 @@ public class HtmlTemplateMethodWriter {
   }
 
   private enum ArgumentType {
-    STRING("String"), HTML("SafeHtml"), URI("SafeUri");
-
-    final String typeString;
-
-    ArgumentType(String typeString) {
-      this.typeString = typeString;
-    }
+    STRING, HTML, URI;
 
+    /**
+     * Returns the declared type of the argument, qualified as the generated source imports neither
+     * SafeHtml nor SafeUri.
+     */
     @Override
     public String toString() {
-      return typeString;
+      switch (this) {
+        case HTML:
+          return UiBinderApiPackage.current().getSafeHtmlInterfaceFqn();
+        case URI:
+          return UiBinderApiPackage.current().getSafeUriInterfaceFqn();
+        default:
+          return "String";
+      }
     }
   }
 
@@ -102,6 +110,34 @@ public class HtmlTemplateMethodWriter {
     this.tokenator = tokenator;
   }
 
+  /**
+   * Returns the arguments of {@code UiBinderUtil.fromTemplate} building the html of this template
+   * by cloning: the html with placeholders in place of the dom ids, the same for every instance,
+   * then the expressions of the ids. The placeholder of the id at index {@code i} is
+   * {@code UiBinderUtil.TEMPLATE_ID_PREFIX + i}.
+   */
+  public String getClonedTemplateCallArguments() {
+    ensureArgumentsResolved();
+    StringBuilder arguments = new StringBuilder();
+    StringBuilder ids = new StringBuilder();
+    int idIndex = 0;
+
+    for (Argument arg : methodArgs) {
+      if (arguments.length() > 0) {
+        arguments.append(", ");
+      }
+      if (isDomId(arg)) {
+        arguments.append(UiBinderApiPackage.current().getUiBinderUtilFqn())
+            .append(".TEMPLATE_ID_PREFIX + ").append(idIndex++);
+        ids.append(", ").append(arg.expression);
+      } else {
+        arguments.append(processArgExpression(arg));
+      }
+    }
+
+    return String.format("template.%s(%s).asString()%s", methodName, arguments, ids);
+  }
+
   public String getDirectTemplateCall() {
     ensureArgumentsResolved();
     return String.format("template.%s(%s)", methodName, getTemplateCallArguments());
@@ -238,6 +274,19 @@ public class HtmlTemplateMethodWriter {
     return b.toString();
   }
 
+  /**
+   * Returns true if the argument is a dom id holder, written either as the field or its getter.
+   */
+  private boolean isDomId(Argument arg) {
+    String fieldName = arg.expression;
+    if (fieldName.endsWith("()")) {
+      fieldName = FieldManager.stripFieldGetter(fieldName.substring(0, fieldName.length() - 2));
+    }
+    FieldWriter field = templates.getFieldManager().lookup(fieldName);
+    return arg.type == ArgumentType.STRING && field != null
+        && field.getFieldType() == FieldWriterType.DOM_ID_HOLDER;
+  }
+
   private String processArgExpression(Argument arg) {
     String raw = arg.expression;
     if (arg.type == ArgumentType.URI) {
@@ -16,6 +16,7 @@
 package org.gwtproject.uibinder.processor.model;
 
 import org.gwtproject.uibinder.processor.MortalLogger;
+import org.gwtproject.uibinder.processor.UiBinderContext;
 
 import com.google.gwt.resources.client.ImageResource.RepeatStyle;
 
@@ -23,6 +24,7 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import javax.lang.model.element.Element;
 import javax.lang.model.type.TypeMirror;
 
 /**
@@ -38,6 +40,8 @@ public class ImplicitClientBundle {
   private final String className;
   private final String fieldName;
   private final String cssBaseName;
+  private final Element originatingElement;
+  private final UiBinderContext context;
   private final MortalLogger logger;
 
   /**
@@ -45,13 +49,18 @@ public class ImplicitClientBundle {
    * @param uiBinderImplClassName The name of the generated ui binder implementation that owns the
    * bundle
    * @param fieldName The bundle's field name
+   * @param originatingElement The UiBinder interface the bundle is generated for
+   * @param context The context shared by all binders, holding the parsed stylesheet cache
    */
   public ImplicitClientBundle(String packageName, String uiBinderImplClassName,
-      String fieldName, MortalLogger logger) {
+      String fieldName, Element originatingElement, UiBinderContext context,
+      MortalLogger logger) {
     this.packageName = packageName;
     this.className = uiBinderImplClassName + "_GenBundle";
     this.cssBaseName = uiBinderImplClassName + "_GenCss_";
     this.fieldName = fieldName;
+    this.originatingElement = originatingElement;
+    this.context = context;
     this.logger = logger;
   }
 
@@ -71,7 +80,8 @@ public class ImplicitClientBundle {
       TypeMirror extendedInterface, String body, LinkedHashSet<TypeMirror> importTypes,
       Boolean gss) {
     ImplicitCssResource css = new ImplicitCssResource(packageName, cssBaseName + name, name, source,
-        extendedInterface, body, logger, importTypes, gss);
+        extendedInterface, body, logger, importTypes, gss, originatingElement,
+        context);
     cssMethods.add(css);
     return css;
   }
@@ -16,28 +16,22 @@
 package org.gwtproject.uibinder.processor.model;
 
 import org.gwtproject.uibinder.processor.AptUtil;
+import org.gwtproject.uibinder.processor.BinderProfile.Phase;
 import org.gwtproject.uibinder.processor.MortalLogger;
+import org.gwtproject.uibinder.processor.UiBinderContext;
 import org.gwtproject.uibinder.processor.attributeparsers.CssNameConverter;
-import org.gwtproject.uibinder.processor.ext.MyTreeLogger;
 import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
-import org.gwtproject.uibinder.processor.typeinfo.TypeInfoWrapper;
-
-import com.google.gwt.core.ext.typeinfo.JClassType;
-import com.google.gwt.resources.css.ExtractClassNamesVisitor;
-import com.google.gwt.resources.css.GenerateCssAst;
-import com.google.gwt.resources.css.ast.CssStylesheet;
-import com.google.gwt.resources.gss.ClassNamesCollector;
-import com.google.gwt.resources.rg.GssResourceGenerator;
-import com.google.gwt.thirdparty.common.css.SourceCode;
-import com.google.gwt.thirdparty.common.css.compiler.ast.CssTree;
-import com.google.gwt.thirdparty.common.css.compiler.ast.GssParser;
-import com.google.gwt.thirdparty.common.css.compiler.ast.GssParserException;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Resources;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -47,8 +41,8 @@ import java.util.List;
 import java.util.Set;
 
 import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
 import javax.lang.model.type.TypeMirror;
-import javax.tools.Diagnostic.Kind;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 
@@ -57,16 +51,21 @@ import javax.tools.StandardLocation;
  */
 public class ImplicitCssResource {
 
-  private static Set<String> getCssClassNames(String fileName, String cssSource,
-      Set<TypeMirror> imports, MyTreeLogger logger) throws UnableToCompleteException {
-    SourceCode sourceCode = new SourceCode(fileName, cssSource);
-    try {
-      CssTree tree = new GssParser(sourceCode).parse();
-      return new ClassNamesCollector().getClassNames(tree, TypeInfoWrapper.wrapJClassType(imports));
-    } catch (GssParserException e) {
-      logger.log(Kind.ERROR, "Unable to parse CSS", e);
-      throw new UnableToCompleteException();
+  /**
+   * Key of the shared class name cache: a hash of the style sheet contents and of the imported
+   * scopes, both of which determine the class names. Only the class names of style sheets without
+   * imports are shared with later compilations, as an imported type may change in between.
+   */
+  private static String getCacheKey(boolean gss, List<String> contents, Set<TypeMirror> imports) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putBoolean(gss);
+    for (String content : contents) {
+      hasher.putString(content, StandardCharsets.UTF_8).putByte((byte) 0);
+    }
+    for (TypeMirror importType : imports) {
+      hasher.putString(importType.toString(), StandardCharsets.UTF_8).putByte((byte) 0);
     }
+    return hasher.hash().toString();
   }
 
   private static final CssNameConverter nameConverter = new CssNameConverter();
@@ -79,6 +78,8 @@ public class ImplicitCssResource {
   private final MortalLogger logger;
   private final Set<TypeMirror> imports;
   private final boolean gss;
+  private final Element originatingElement;
+  private final UiBinderContext context;
 
   private FileObject generatedFile;
   private Set<String> cssClassNames;
@@ -89,7 +90,8 @@ public class ImplicitCssResource {
    */
   public ImplicitCssResource(String packageName, String className, String name,
       String[] source, TypeMirror extendedInterface, String body,
-      MortalLogger logger, Set<TypeMirror> importTypes, boolean gss) {
+      MortalLogger logger, Set<TypeMirror> importTypes, boolean gss,
+      Element originatingElement, UiBinderContext context) {
     this.packageName = packageName;
     this.className = className;
     this.name = name;
@@ -98,6 +100,8 @@ public class ImplicitCssResource {
     this.logger = logger;
     this.imports = Collections.unmodifiableSet(importTypes);
     this.gss = gss;
+    this.originatingElement = originatingElement;
+    this.context = context;
     sources = Arrays.asList(source);
   }
 
@@ -116,39 +120,57 @@ public class ImplicitCssResource {
   public Set<String> getCssClassNames() throws UnableToCompleteException {
     List<URL> urls = getExternalCss();
     if (cssClassNames == null) {
-      final FileObject bodyFile = getGeneratedFile();
-      if (bodyFile != null) {
-        try {
-          urls.add(bodyFile.toUri().toURL());
-        } catch (MalformedURLException e) {
-          throw new RuntimeException(e);
-        }
+      Phase previous = context.getBinderProfile().enter(Phase.CSS);
+      try {
+        cssClassNames = parseCssClassNames(urls);
+      } finally {
+        context.getBinderProfile().enter(previous);
       }
-      assert urls.size() > 0;
+    }
+    return cssClassNames;
+  }
 
-      if (gss) {
-        try {
-          String gssContent = GssResourceGenerator
-              .concatCssFiles(urls, logger.getTreeLogger().getAdapted());
-          String fileName = bodyFile != null ? bodyFile.getName() : name;
-          return getCssClassNames(fileName, gssContent, imports, logger.getTreeLogger());
-        } catch (com.google.gwt.core.ext.UnableToCompleteException e) {
-          // upstream UnableToCompleteException throw our own
-          throw new UnableToCompleteException();
-        }
-      } else {
+  private Set<String> parseCssClassNames(List<URL> urls) throws UnableToCompleteException {
+    Set<String> classNames;
+    final FileObject bodyFile = getGeneratedFile();
+    if (bodyFile != null) {
+      try {
+        urls.add(bodyFile.toUri().toURL());
+      } catch (MalformedURLException e) {
+        throw new RuntimeException(e);
+      }
+    }
+    assert urls.size() > 0;
+
+    CssEngine engine = CssEngine.get();
+    if (gss) {
+      String gssContent = engine.concatGss(urls, logger.getTreeLogger());
+      String key = getCacheKey(true, Collections.singletonList(gssContent), imports);
+      classNames = context.getCssClassNames(key);
+      if (classNames == null) {
+        String fileName = bodyFile != null ? bodyFile.getName() : name;
+        classNames = Collections.unmodifiableSet(
+            engine.getGssClassNames(fileName, gssContent, imports, logger.getTreeLogger()));
+        context.putCssClassNames(key, classNames, imports.isEmpty());
+      }
+    } else {
+      List<String> contents = new ArrayList<>();
+      for (URL url : urls) {
         try {
-          CssStylesheet sheet = GenerateCssAst.exec(logger.getTreeLogger().getAdapted(),
-              urls.toArray(new URL[urls.size()]));
-          cssClassNames = ExtractClassNamesVisitor.exec(sheet,
-              TypeInfoWrapper.wrapJClassType(imports).toArray(new JClassType[imports.size()]));
-        } catch (com.google.gwt.core.ext.UnableToCompleteException e) {
-          // upstream UnableToCompleteException throw our own
-          throw new UnableToCompleteException();
+          contents.add(Resources.toString(url, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+          logger.die("Unable to read %s: %s", url, e.getMessage());
         }
       }
+      String key = getCacheKey(false, contents, imports);
+      classNames = context.getCssClassNames(key);
+      if (classNames == null) {
+        classNames = Collections.unmodifiableSet(
+            engine.getCssClassNames(urls, imports, logger.getTreeLogger()));
+        context.putCssClassNames(key, classNames, imports.isEmpty());
+      }
     }
-    return cssClassNames;
+    return classNames;
   }
 
   /**
@@ -219,6 +241,14 @@ public class ImplicitCssResource {
     return rtn;
   }
 
+  /**
+   * Returns the name of the file the body of the style was written to, relative to the package, or
+   * null if it was not written.
+   */
+  public String getGeneratedFileName() {
+    return generatedFile == null ? null : getBodyFileName();
+  }
+
   private String getBodyFileName() {
     String bodyFileName = String.format("uibinder.%s.%s.%s", packageName, className,
         getCssFileExtension());
@@ -269,7 +299,8 @@ public class ImplicitCssResource {
         Filer filer = AptUtil.getFiler();
         FileObject resource = filer.createResource(StandardLocation.SOURCE_OUTPUT,
             packageName,
-            String.format("uibinder.%s.%s.%s", packageName, className, getCssFileExtension()));
+            String.format("uibinder.%s.%s.%s", packageName, className, getCssFileExtension()),
+            originatingElement);
 
         BufferedWriter out = new BufferedWriter(resource.openWriter());
         out.write(body);
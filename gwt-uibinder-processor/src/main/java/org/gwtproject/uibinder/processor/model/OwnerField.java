@@ -37,6 +37,7 @@ import javax.lang.model.type.TypeMirror;
 public class OwnerField {
 
   private final String name;
+  private final TypeMirror rawType;
   private final OwnerFieldClass fieldType;
   private final boolean isProvided;
 
@@ -57,6 +58,7 @@ public class OwnerField {
           + field.asType());
     }
 
+    this.rawType = fieldTypeMirror;
     this.fieldType = OwnerFieldClass.getFieldClass(fieldTypeMirror, logger, context);
 
     // Get the UiField annotation and process it
@@ -81,11 +83,12 @@ public class OwnerField {
   }
 
   /**
-   * Gets the type associated with this field.
+   * Gets the type associated with this field, including its type arguments. The {@link
+   * OwnerFieldClass} returned by {@link #getType()} is shared by all fields of the same erased type,
+   * so its raw type may carry different ones.
    */
   public TypeMirror getRawType() {
-    // This shorten getType().getRawType() and make tests easier.
-    return getType().getRawType();
+    return rawType;
   }
 
   /**
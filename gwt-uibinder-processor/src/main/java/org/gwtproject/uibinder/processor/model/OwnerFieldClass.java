@@ -19,6 +19,8 @@ import org.gwtproject.uibinder.processor.AptUtil;
 import org.gwtproject.uibinder.processor.MortalLogger;
 import org.gwtproject.uibinder.processor.UiBinderApiPackage;
 import org.gwtproject.uibinder.processor.UiBinderContext;
+import org.gwtproject.uibinder.processor.WarmCache;
+import org.gwtproject.uibinder.processor.WidgetIndex;
 import org.gwtproject.uibinder.processor.ext.UnableToCompleteException;
 
 import com.google.common.collect.LinkedHashMultimap;
@@ -26,6 +28,7 @@ import com.google.common.collect.Multimap;
 
 import java.beans.Introspector;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,6 +37,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
@@ -91,12 +96,177 @@ public class OwnerFieldClass {
       UiBinderContext context) throws UnableToCompleteException {
     OwnerFieldClass clazz = context.getOwnerFieldClass(forType);
     if (clazz == null) {
-      clazz = new OwnerFieldClass(forType, logger, context);
+      Snapshot indexed = context.getWidgetIndex().getFieldClass(forType);
+      if (indexed != null) {
+        clazz = indexed.restore(forType, logger, context);
+      }
+
+      WarmCache warmCache = context.getWarmCache();
+      String warmKey = clazz == null ? context.getWarmCacheKey(forType) : null;
+      if (warmKey != null) {
+        Snapshot snapshot = warmCache.getFieldClass(warmKey);
+        if (snapshot != null) {
+          clazz = snapshot.restore(forType, logger, context);
+        }
+      }
+      if (clazz == null) {
+        clazz = new OwnerFieldClass(forType, logger, context);
+        if (warmKey != null) {
+          warmCache.putFieldClass(warmKey, new Snapshot(clazz));
+        }
+      }
       context.putOwnerFieldClass(forType, clazz);
     }
     return clazz;
   }
 
+  /**
+   * The members a descriptor found, as names, so that they outlive the compilation. See {@link
+   * WarmCache} and {@link WidgetIndex}.
+   */
+  public static final class Snapshot {
+
+    /**
+     * Reads a snapshot from its lines in a {@link WidgetIndex}, or returns null if one of them is
+     * not understood.
+     */
+    public static Snapshot fromLines(List<String> lines) {
+      Snapshot snapshot = new Snapshot();
+      Set<String> ambiguousSetters = new HashSet<>();
+      for (String line : lines) {
+        String[] words = line.split(" ");
+        if ("setter".equals(words[0]) && (words.length == 2 || words.length == 3)) {
+          snapshot.setters.put(words[1], words.length == 3 ? words[2] : null);
+        } else if ("ambiguous".equals(words[0]) && words.length == 2) {
+          ambiguousSetters.add(words[1]);
+        } else if ("child".equals(words[0]) && words.length == 4 && words[2].matches("-?\\d+")) {
+          snapshot.uiChildren.put(words[1],
+              new SimpleEntry<>(words[3], Integer.valueOf(words[2])));
+        } else if ("constructor".equals(words[0]) && words.length == 2) {
+          snapshot.uiConstructor = words[1];
+        } else {
+          return null;
+        }
+      }
+      snapshot.ambiguousSetters = ambiguousSetters.isEmpty() ? null
+          : Collections.unmodifiableSet(ambiguousSetters);
+      return snapshot;
+    }
+
+    private final Map<String, String> setters = new TreeMap<>();
+    private Set<String> ambiguousSetters;
+    private final Map<String, SimpleEntry<String, Integer>> uiChildren = new TreeMap<>();
+    private String uiConstructor;
+
+    public Snapshot(OwnerFieldClass clazz) {
+      for (Map.Entry<String, ExecutableElement> setter : clazz.setters.entrySet()) {
+        setters.put(setter.getKey(),
+            setter.getValue() == null ? null : getSignature(setter.getValue()));
+      }
+      ambiguousSetters = clazz.ambiguousSetters == null ? null
+          : Collections.unmodifiableSet(new TreeSet<>(clazz.ambiguousSetters));
+      for (Map.Entry<String, SimpleEntry<ExecutableElement, Integer>> uiChild
+          : clazz.uiChildren.entrySet()) {
+        uiChildren.put(uiChild.getKey(), new SimpleEntry<>(
+            getSignature(uiChild.getValue().getKey()), uiChild.getValue().getValue()));
+      }
+      uiConstructor = clazz.uiConstructor == null ? null : getSignature(clazz.uiConstructor);
+    }
+
+    private Snapshot() {
+    }
+
+    /**
+     * Returns the lines of this snapshot in a {@link WidgetIndex}, sorted so that the index is
+     * reproducible.
+     */
+    public List<String> toLines() {
+      List<String> lines = new ArrayList<>();
+      for (Map.Entry<String, String> setter : setters.entrySet()) {
+        lines.add(setter.getValue() == null ? "setter " + setter.getKey()
+            : "setter " + setter.getKey() + " " + setter.getValue());
+      }
+      if (ambiguousSetters != null) {
+        for (String propertyName : new TreeSet<>(ambiguousSetters)) {
+          lines.add("ambiguous " + propertyName);
+        }
+      }
+      for (Map.Entry<String, SimpleEntry<String, Integer>> uiChild : uiChildren.entrySet()) {
+        lines.add("child " + uiChild.getKey() + " " + uiChild.getValue().getValue() + " "
+            + uiChild.getValue().getKey());
+      }
+      if (uiConstructor != null) {
+        lines.add("constructor " + uiConstructor);
+      }
+      return lines;
+    }
+
+    /**
+     * Returns the descriptor of the given type, with the members of this snapshot, or null if one
+     * of them cannot be found.
+     */
+    OwnerFieldClass restore(TypeMirror forType, MortalLogger logger, UiBinderContext context) {
+      ExecutableElement constructor = null;
+      if (uiConstructor != null) {
+        constructor = findMember(uiConstructor);
+        if (constructor == null) {
+          return null;
+        }
+      }
+
+      OwnerFieldClass clazz = new OwnerFieldClass(forType, logger, context, constructor);
+      for (Map.Entry<String, String> setter : setters.entrySet()) {
+        ExecutableElement method = null;
+        if (setter.getValue() != null) {
+          method = findMember(setter.getValue());
+          if (method == null) {
+            return null;
+          }
+        }
+        clazz.setters.put(setter.getKey(), method);
+      }
+      clazz.ambiguousSetters = ambiguousSetters;
+      for (Map.Entry<String, SimpleEntry<String, Integer>> uiChild : uiChildren.entrySet()) {
+        ExecutableElement method = findMember(uiChild.getValue().getKey());
+        if (method == null) {
+          return null;
+        }
+        clazz.uiChildren.put(uiChild.getKey(),
+            new SimpleEntry<>(method, uiChild.getValue().getValue()));
+      }
+      return clazz;
+    }
+
+    private static ExecutableElement findMember(String signature) {
+      TypeElement declaringType = AptUtil.getElementUtils()
+          .getTypeElement(signature.substring(0, signature.indexOf('#')));
+      if (declaringType == null) {
+        return null;
+      }
+      String name = signature.substring(signature.indexOf('#') + 1, signature.indexOf('('));
+      for (Element member : declaringType.getEnclosedElements()) {
+        if (member instanceof ExecutableElement && member.getSimpleName().contentEquals(name)
+            && signature.equals(getSignature((ExecutableElement) member))) {
+          return (ExecutableElement) member;
+        }
+      }
+      return null;
+    }
+
+    private static String getSignature(ExecutableElement member) {
+      StringBuilder signature = new StringBuilder()
+          .append(((TypeElement) member.getEnclosingElement()).getQualifiedName()).append('#')
+          .append(member.getSimpleName()).append('(');
+      for (VariableElement parameter : member.getParameters()) {
+        if (signature.charAt(signature.length() - 1) != '(') {
+          signature.append(',');
+        }
+        signature.append(AptUtil.getTypeUtils().erasure(parameter.asType()));
+      }
+      return signature.append(')').toString();
+    }
+  }
+
   private Set<String> ambiguousSetters;
   private final MortalLogger logger;
   private final TypeMirror rawType;
@@ -128,6 +298,17 @@ public class OwnerFieldClass {
     findUiChildren(forType);
   }
 
+  /**
+   * Creates a descriptor without setters or @UiChild methods, for {@link Snapshot#restore}.
+   */
+  private OwnerFieldClass(TypeMirror forType, MortalLogger logger, UiBinderContext context,
+      ExecutableElement uiConstructor) {
+    this.rawType = forType;
+    this.logger = logger;
+    this.context = context;
+    this.uiConstructor = uiConstructor;
+  }
+
   /**
    * Returns the field's raw type.
    */
@@ -320,11 +501,11 @@ public class OwnerFieldClass {
   private void findUiConstructor(TypeMirror fieldType) throws UnableToCompleteException {
     Element fieldElement = AptUtil.getTypeUtils().asElement(fieldType);
 
-    ElementFilter.constructorsIn(fieldElement.getEnclosedElements());
-
     for (ExecutableElement ctor : ElementFilter
         .constructorsIn(fieldElement.getEnclosedElements())) {
-      if (AptUtil.isAnnotationPresent(ctor, UiBinderApiPackage.current().getUiConstructorFqn())) {
+      // legacy widgets have the old @UiConstructor, as for @UiChild
+      if (AptUtil.isAnnotationPresent(ctor, UiBinderApiPackage.current().getUiConstructorFqn())
+          || AptUtil.isAnnotationPresent(ctor, UiBinderApiPackage.LEGACY.getUiConstructorFqn())) {
         if (uiConstructor != null) {
           logger.die(fieldElement.getSimpleName().toString()
               + " has more than one constructor annotated with @UiConstructor");
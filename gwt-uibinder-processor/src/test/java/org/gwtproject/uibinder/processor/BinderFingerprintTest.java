@@ -0,0 +1,244 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles a binder twice with {@code -Auibinder.incremental=true}, and checks whether the second
+ * compilation generates it again.
+ */
+class BinderFingerprintTest {
+
+  private static final String IMPL = "p.Owner_BinderImpl";
+
+  private Path root;
+  private Path sources;
+  private Path generated;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    root = Files.createTempDirectory("uibinder-fingerprint");
+    sources = root.resolve("src");
+    generated = root.resolve("gen");
+    Files.createDirectories(generated);
+    Files.createDirectories(root.resolve("out"));
+
+    write("org/gwtproject/uibinder/client/UiBinder.java",
+        "package org.gwtproject.uibinder.client;",
+        "public interface UiBinder<U, O> {",
+        "  U createAndBindUi(O owner);",
+        "}");
+    write("org/gwtproject/uibinder/client/UiTemplate.java",
+        "package org.gwtproject.uibinder.client;",
+        "public @interface UiTemplate {",
+        "  String value();",
+        "  boolean legacyWidgets() default false;",
+        "}");
+    write("p/Owner.java",
+        "package p;",
+        "public class Owner {",
+        "  @org.gwtproject.uibinder.client.UiTemplate(value = \"Owner.ui.xml\",",
+        "      legacyWidgets = true)",
+        "  interface Binder extends",
+        "      org.gwtproject.uibinder.client.UiBinder<com.google.gwt.dom.client.Element, Owner> {",
+        "  }",
+        "}");
+    write("p/Res.java",
+        "package p;",
+        "public class Res {",
+        "  public Labels labels() {",
+        "    return null;",
+        "  }",
+        "}");
+    write("p/Labels.java",
+        "package p;",
+        "public class Labels {",
+        "  public String text() {",
+        "    return null;",
+        "  }",
+        "}");
+    write("p/Constants.java",
+        "package p;",
+        "public class Constants {",
+        "  public static final String A = \"a\";",
+        "}");
+    write("p/data.txt", "data");
+    write("p/Owner.ui.xml",
+        "<ui:UiBinder xmlns:ui='urn:ui:com.google.gwt.uibinder'>",
+        "  <ui:with field='res' type='p.Res'/>",
+        "  <ui:import field='p.Constants.*'/>",
+        "  <ui:data field='data' src='data.txt'/>",
+        "  <ui:style>.a { color: red; }</ui:style>",
+        "  <div class='{style.a}'><span title='{res.labels.text}'/></div>",
+        "</ui:UiBinder>");
+
+    assertEquals(Collections.emptyList(), compile());
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    try (Stream<Path> paths = Files.walk(root)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Test
+  public void unchanged() throws Exception {
+    assertEquals(Collections.singletonList(IMPL + " is up to date"), compile());
+  }
+
+  @Test
+  public void changedTemplate() throws Exception {
+    write("p/Owner.ui.xml",
+        "<ui:UiBinder xmlns:ui='urn:ui:com.google.gwt.uibinder'>",
+        "  <div/>",
+        "</ui:UiBinder>");
+
+    assertEquals(Collections.singletonList("Regenerating " + IMPL + ": template changed"),
+        compile());
+  }
+
+  @Test
+  public void changedWithType() throws Exception {
+    write("p/Res.java",
+        "package p;",
+        "public class Res {",
+        "  public Labels labels() {",
+        "    return null;",
+        "  }",
+        "  public void other() {",
+        "  }",
+        "}");
+
+    assertEquals(Collections.singletonList("Regenerating " + IMPL + ": type p.Res changed"),
+        compile());
+  }
+
+  @Test
+  public void changedFieldReferenceType() throws Exception {
+    write("p/Labels.java",
+        "package p;",
+        "public class Labels {",
+        "  public String text() {",
+        "    return null;",
+        "  }",
+        "  public String title() {",
+        "    return null;",
+        "  }",
+        "}");
+
+    assertEquals(Collections.singletonList("Regenerating " + IMPL + ": type p.Labels changed"),
+        compile());
+  }
+
+  @Test
+  public void changedImportType() throws Exception {
+    write("p/Constants.java",
+        "package p;",
+        "public class Constants {",
+        "  public static final String A = \"a\";",
+        "  public static final String B = \"b\";",
+        "}");
+
+    assertEquals(
+        Collections.singletonList("Regenerating " + IMPL + ": type p.Constants changed"),
+        compile());
+  }
+
+  @Test
+  public void changedDataSource() throws Exception {
+    write("p/data.txt", "other data");
+
+    assertEquals(
+        Collections.singletonList("Regenerating " + IMPL + ": source p/data.txt changed"),
+        compile());
+  }
+
+  @Test
+  public void missingBundle() throws Exception {
+    Files.delete(generated.resolve("p/Owner_BinderImpl_GenBundle.java"));
+
+    assertEquals(Collections.singletonList(
+        "Regenerating " + IMPL + ": missing Owner_BinderImpl_GenBundle"), compile());
+  }
+
+  @Test
+  public void missingStyle() throws Exception {
+    Files.delete(generated.resolve("p/uibinder.p.Owner_BinderImpl_GenCss_style.gss"));
+
+    assertEquals(Collections.singletonList(
+        "Regenerating " + IMPL + ": missing p/uibinder.p.Owner_BinderImpl_GenCss_style.gss"),
+        compile());
+  }
+
+  /**
+   * Runs the processor on the owner, and returns the notes about its fingerprint.
+   */
+  private List<String> compile() throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+          Arrays.asList("-proc:only", "-Auibinder.incremental=true",
+              "-classpath", System.getProperty("java.class.path"),
+              "-sourcepath", sources + File.pathSeparator + generated,
+              "-s", generated.toString(), "-d", root.resolve("out").toString()),
+          null, fileManager.getJavaFileObjects(sources.resolve("p/Owner.java").toFile()));
+      task.setProcessors(Collections.singletonList(new UiBinderProcessor()));
+      assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+    }
+
+    List<String> notes = new ArrayList<>();
+    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+      String message = diagnostic.getMessage(null);
+      if (message.contains(IMPL + " is up to date") || message.startsWith("Regenerating")) {
+        notes.add(message);
+      }
+    }
+    return notes;
+  }
+
+  private void write(String path, String... lines) throws IOException {
+    Path file = sources.resolve(path);
+    Files.createDirectories(file.getParent());
+    Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.MissingFormatArgumentException;
+
+/**
+ * Checks that {@link IndentedWriter#format} formats like {@link String#format}.
+ */
+class IndentedWriterTest {
+
+  @Test
+  public void noSpecifier() {
+    assertFormat("no arguments");
+    assertFormat("");
+  }
+
+  @Test
+  public void sequential() {
+    assertFormat("%s", "a");
+    assertFormat("%s = %s;", "a", 1);
+    assertFormat("%s%s", null, "b");
+    assertFormat("%s.", "a", "unused");
+  }
+
+  @Test
+  public void positional() {
+    assertFormat("%2$s %1$s", "a", "b");
+    assertFormat("%1$s %1$s %s", "a", "b");
+    assertFormat("%s %1$s %s", "a", "b");
+    assertFormat("%10$s", 1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+  }
+
+  @Test
+  public void percent() {
+    assertFormat("100%%");
+    assertFormat("%%s %s", "a");
+    assertFormat("%s%%%s", "a", "b");
+  }
+
+  @Test
+  public void fallback() {
+    assertFormat("%d items", 3);
+    assertFormat("%-5s|", "a");
+    assertFormat("%s, %n", "a");
+    assertFormat("%1$d %2$s", 1, "b");
+  }
+
+  @Test
+  public void missingArgument() {
+    assertThrows(MissingFormatArgumentException.class,
+        () -> IndentedWriter.format("%s %s", new Object[] {"a"}));
+    assertThrows(MissingFormatArgumentException.class,
+        () -> IndentedWriter.format("%2$s", new Object[] {"a"}));
+  }
+
+  @Test
+  public void write() {
+    StringWriter out = new StringWriter();
+    IndentedWriter w = new IndentedWriter(new PrintWriter(out));
+    w.write("class %s {", "A");
+    w.indent();
+    w.write("int a = 100%;");
+    w.write("int %1$s = %1$s;", "b");
+    w.outdent();
+    w.write("}");
+
+    assertEquals("class A {\n  int a = 100%;\n  int b = b;\n}\n", out.toString());
+  }
+
+  private static void assertFormat(String format, Object... args) {
+    assertEquals(String.format(format, args), IndentedWriter.format(format, args), format);
+  }
+}
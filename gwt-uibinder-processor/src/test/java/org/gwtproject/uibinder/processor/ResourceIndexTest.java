@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.FileNotFoundException;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Checks that {@link ResourceIndex} asks the Filer once per resource, whether it is found or not.
+ */
+@ExtendWith(MockitoExtension.class)
+class ResourceIndexTest {
+
+  @Mock
+  private ProcessingEnvironment mockProcessingEnvironment;
+  @Mock
+  private Filer mockFiler;
+  @Mock
+  private FileObject mockFileObject;
+
+  private ResourceIndex index;
+
+  @BeforeEach
+  public void setup() {
+    when(mockProcessingEnvironment.getFiler()).thenReturn(mockFiler);
+    AptUtil.setProcessingEnvironment(mockProcessingEnvironment);
+    index = new ResourceIndex();
+    AptUtil.setResourceIndex(index);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    AptUtil.setProcessingEnvironment(null);
+  }
+
+  @Test
+  public void hit() throws Exception {
+    when(mockFiler.getResource(StandardLocation.SOURCE_PATH, "p", "Owner.ui.xml"))
+        .thenReturn(mockFileObject);
+
+    assertSame(mockFileObject, AptUtil.findResource("p", "Owner.ui.xml"));
+    assertSame(mockFileObject, AptUtil.findResource("p/Owner.ui.xml"));
+
+    verify(mockFiler).getResource(StandardLocation.SOURCE_PATH, "p", "Owner.ui.xml");
+    verifyNoMoreInteractions(mockFiler);
+    assertEquals(2, index.getLookups());
+    assertEquals(1, index.getProbes());
+    assertEquals(1, index.getProbeHits());
+  }
+
+  @Test
+  public void miss() throws Exception {
+    when(mockFiler.getResource(any(), any(), any())).thenReturn(null);
+    when(mockFiler.getResource(StandardLocation.CLASS_PATH, "p", "style.css"))
+        .thenThrow(new FileNotFoundException());
+
+    assertNull(AptUtil.findResource("p", "style.css"));
+    assertNull(AptUtil.findResource("p", "style.css"));
+
+    verify(mockFiler).getResource(StandardLocation.SOURCE_PATH, "p", "style.css");
+    verify(mockFiler).getResource(StandardLocation.CLASS_PATH, "p", "style.css");
+    verify(mockFiler).getResource(StandardLocation.CLASS_OUTPUT, "p", "style.css");
+    verifyNoMoreInteractions(mockFiler);
+    assertEquals(6, index.getLookups());
+    assertEquals(3, index.getProbes());
+    assertEquals(0, index.getProbeHits());
+  }
+
+  @Test
+  public void keyedByLocationAndName() throws Exception {
+    when(mockFiler.getResource(any(), any(), any())).thenReturn(null);
+    when(mockFiler.getResource(StandardLocation.CLASS_PATH, "p", "a.png"))
+        .thenReturn(mockFileObject);
+
+    assertSame(mockFileObject, AptUtil.findResource("p", "a.png"));
+    assertNull(AptUtil.findResource("q", "a.png"));
+    assertNull(AptUtil.findResource("p", "b.png"));
+
+    assertEquals(8, index.getProbes());
+    assertEquals(1, index.getProbeHits());
+  }
+
+  @Test
+  public void clear() throws Exception {
+    when(mockFiler.getResource(StandardLocation.SOURCE_PATH, "p", "Owner.ui.xml"))
+        .thenReturn(mockFileObject);
+
+    AptUtil.findResource("p", "Owner.ui.xml");
+    index.clear();
+    AptUtil.findResource("p", "Owner.ui.xml");
+
+    verify(mockFiler, times(2)).getResource(StandardLocation.SOURCE_PATH, "p", "Owner.ui.xml");
+    assertEquals(2, index.getLookups());
+    assertEquals(2, index.getProbes());
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.gwtproject.uibinder.processor.Tokenator.ValueAndInfo;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+
+/**
+ * Tests {@link Tokenator}.
+ */
+class TokenatorTest {
+
+  @Test
+  public void detokenate() {
+    Tokenator tokenator = new Tokenator();
+    String a = tokenator.nextToken("a");
+    String b = tokenator.nextToken("b");
+    String betokened = "<" + a + ">" + b + b;
+
+    assertEquals("<a>bb", tokenator.detokenate(betokened));
+
+    StringWriter out = new StringWriter();
+    try (PrintWriter pw = new PrintWriter(out)) {
+      tokenator.detokenate(betokened, pw);
+    }
+    assertEquals("<a>bb", out.toString());
+  }
+
+  @Test
+  public void orderedValues() {
+    Tokenator tokenator = new Tokenator();
+    Object info = new Object();
+    String a = tokenator.nextToken(info, "a");
+    String b = tokenator.nextToken("b");
+
+    List<ValueAndInfo> values = tokenator.getOrderedValues(b + " " + a + " " + b);
+    assertEquals(3, values.size());
+    assertEquals("b", values.get(0).value);
+    assertNull(values.get(0).info);
+    assertEquals("a", values.get(1).value);
+    assertSame(info, values.get(1).info);
+    assertEquals("b", values.get(2).value);
+  }
+
+  @Test
+  public void sharedScope() {
+    Tokenator first = new Tokenator();
+    Tokenator second = new Tokenator(first);
+    String a = first.nextToken("a");
+    String b = second.nextToken("b");
+
+    assertNotEquals(a, b);
+    assertEquals("a", first.detokenate(a));
+    assertEquals("b", second.detokenate(b));
+    assertEquals("ab", second.detokenate(first.detokenate(a) + b));
+  }
+
+  @Test
+  public void separateScopes() {
+    Tokenator first = new Tokenator();
+    Tokenator second = new Tokenator();
+
+    // ids are only unique within a scope, each binder vends the same tokens
+    String a = first.nextToken("a");
+    String b = second.nextToken("b");
+    assertEquals(a, b);
+    assertEquals("a", first.detokenate(a));
+    assertEquals("b", second.detokenate(b));
+  }
+
+  @Test
+  public void hasToken() {
+    Tokenator tokenator = new Tokenator();
+    String token = tokenator.nextToken("a");
+
+    assertTrue(Tokenator.hasToken(token));
+    assertTrue(Tokenator.hasToken("before " + token + " after"));
+    assertTrue(Tokenator.hasToken("--token--" + token));
+
+    assertFalse(Tokenator.hasToken(""));
+    assertFalse(Tokenator.hasToken("no token"));
+    assertFalse(Tokenator.hasToken("--token--"));
+    assertFalse(Tokenator.hasToken("--token----token--"));
+    assertFalse(Tokenator.hasToken("--token--1a--token--"));
+    assertFalse(Tokenator.hasToken("--token--12"));
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Checks the keys of the descriptors {@link UiBinderContext} shares through the {@link
+ * WarmCache}, on types read from a jar and compiled from source.
+ */
+class UiBinderContextTest {
+
+  /**
+   * Gets the warm cache key of a type in a new context, as a new compilation of the process would.
+   */
+  private static class KeyProcessor extends AbstractProcessor {
+
+    final String typeName;
+    boolean done;
+    String key;
+
+    KeyProcessor(String typeName) {
+      this.typeName = typeName;
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+      return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+      return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+      if (done) {
+        return false;
+      }
+      AptUtil.setProcessingEnvironment(processingEnv);
+      UiBinderApiPackage.setUiBinderApiPackage(UiBinderApiPackage.COM_GOOGLE_GWT_UIBINDER);
+      try {
+        UiBinderContext context = new UiBinderContext();
+        context.setWarmCache(WarmCache.get(WarmCache.DEFAULT_MAX_ENTRIES));
+        context.addSourceTypes(env.getRootElements());
+        key = context.getWarmCacheKey(
+            processingEnv.getElementUtils().getTypeElement(typeName).asType());
+        done = true;
+      } finally {
+        UiBinderApiPackage.setUiBinderApiPackage(null);
+        AptUtil.setProcessingEnvironment(null);
+      }
+      return false;
+    }
+  }
+
+  private Path root;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    root = Files.createTempDirectory("uibinder-warm-cache-key");
+    // the cache of the process is replaced when asked for another size
+    WarmCache.get(WarmCache.DEFAULT_MAX_ENTRIES + 1);
+    WarmCache.get(WarmCache.DEFAULT_MAX_ENTRIES);
+    writeWidget("  public void setCaption(String caption) {", "  }");
+    write("app/App.java",
+        "package app;",
+        "public class App {",
+        "  public void setText(String text) {",
+        "  }",
+        "}");
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    WarmCache.get(WarmCache.DEFAULT_MAX_ENTRIES + 1);
+    try (Stream<Path> paths = Files.walk(root)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Test
+  public void typeInJar() throws Exception {
+    String key = getWarmCacheKey("lib.Widget");
+
+    assertNotNull(key);
+    assertTrue(key.startsWith("COM_GOOGLE_GWT_UIBINDER:lib.Widget@"), key);
+    assertEquals(key, getWarmCacheKey("lib.Widget"));
+  }
+
+  @Test
+  public void typeCompiledFromSource() throws Exception {
+    assertNull(getWarmCacheKey("app.App"));
+  }
+
+  @Test
+  public void changedJar() throws Exception {
+    String key = getWarmCacheKey("lib.Widget");
+
+    writeWidget("  public void setCaption(String caption) {", "  }",
+        "  public void setBorder(String border) {", "  }");
+
+    String changed = getWarmCacheKey("lib.Widget");
+    assertNotNull(changed);
+    assertNotEquals(key, changed);
+  }
+
+  private String getWarmCacheKey(String typeName) throws IOException {
+    KeyProcessor processor = new KeyProcessor(typeName);
+    compile(Arrays.asList("-proc:only", "-classpath",
+        System.getProperty("java.class.path") + File.pathSeparator + root.resolve("lib.jar")),
+        processor, root.resolve("app-classes"), "app/App.java");
+    assertTrue(processor.done);
+    return processor.key;
+  }
+
+  /**
+   * Compiles {@code lib.Widget}, which only extends {@code Object}, into {@code lib.jar}.
+   */
+  private void writeWidget(String... members) throws IOException {
+    List<String> lines = new ArrayList<>(Arrays.asList(
+        "package lib;",
+        "public class Widget {"));
+    lines.addAll(Arrays.asList(members));
+    lines.add("}");
+    write("lib/Widget.java", lines.toArray(new String[0]));
+
+    Path classes = root.resolve("lib-classes");
+    compile(Collections.singletonList("-proc:none"), null, classes, "lib/Widget.java");
+    try (JarOutputStream out =
+        new JarOutputStream(Files.newOutputStream(root.resolve("lib.jar")))) {
+      out.putNextEntry(new JarEntry("lib/Widget.class"));
+      Files.copy(classes.resolve("lib/Widget.class"), out);
+      out.closeEntry();
+    }
+  }
+
+  private void compile(List<String> options, AbstractProcessor processor, Path classes,
+      String source) throws IOException {
+    Files.createDirectories(classes);
+    List<String> allOptions = new ArrayList<>(options);
+    allOptions.addAll(Arrays.asList("-d", classes.toString()));
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+          allOptions, null,
+          fileManager.getJavaFileObjects(root.resolve("src").resolve(source).toFile()));
+      if (processor != null) {
+        task.setProcessors(Collections.singletonList(processor));
+      }
+      assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+    }
+  }
+
+  private void write(String path, String... lines) throws IOException {
+    Path file = root.resolve("src").resolve(path);
+    Files.createDirectories(file.getParent());
+    Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+  }
+}
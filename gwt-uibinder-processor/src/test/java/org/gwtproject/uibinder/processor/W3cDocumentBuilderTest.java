@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.LocatorImpl;
+
+/**
+ * Tests {@link W3cDocumentBuilder}, which merges the text SAX reports in chunks.
+ */
+class W3cDocumentBuilderTest {
+
+  @Test
+  public void mergesChunks() throws Exception {
+    W3cDocumentBuilder builder = new W3cDocumentBuilder(null, "", null, null);
+    LocatorImpl locator = new LocatorImpl();
+    locator.setLineNumber(1);
+    builder.setDocumentLocator(locator);
+
+    builder.startElement("", "a", "a", new AttributesImpl());
+    characters(builder, "one ");
+    characters(builder, "two ");
+    characters(builder, "three");
+    builder.startElement("", "b", "b", new AttributesImpl());
+    builder.endElement("", "b", "b");
+    characters(builder, "four");
+    builder.endElement("", "a", "a");
+
+    NodeList children = builder.getDocument().getDocumentElement().getChildNodes();
+    assertEquals(3, children.getLength());
+    assertText("one two three", children.item(0));
+    assertEquals("b", children.item(1).getNodeName());
+    assertText("four", children.item(2));
+  }
+
+  @Test
+  public void mergesEntitiesAndCdata() throws Exception {
+    Document doc = new W3cDomHelper(null, null).documentFor(
+        "<a>x &amp; y<![CDATA[ <z> ]]>w&#33;<b>c</b>\n</a>", null);
+
+    NodeList children = doc.getDocumentElement().getChildNodes();
+    assertEquals(3, children.getLength());
+    assertText("x & y <z> w!", children.item(0));
+    assertText("c", children.item(1).getFirstChild());
+    assertText("\n", children.item(2));
+  }
+
+  @Test
+  public void noEmptyText() throws Exception {
+    Document doc = new W3cDomHelper(null, null).documentFor("<a><b/><c/></a>", null);
+
+    NodeList children = doc.getDocumentElement().getChildNodes();
+    assertEquals(2, children.getLength());
+    assertEquals("b", children.item(0).getNodeName());
+    assertEquals("c", children.item(1).getNodeName());
+  }
+
+  @Test
+  public void locations() throws Exception {
+    Document doc = new W3cDomHelper(null, null).documentFor("<a>\n\n<b/></a>", "p/Owner.ui.xml");
+
+    Element b = (Element) doc.getDocumentElement().getElementsByTagName("b").item(0);
+    XMLElement.Location location =
+        (XMLElement.Location) b.getUserData(XMLElement.LOCATION_KEY);
+    assertEquals(3, location.getLineNumber());
+  }
+
+  @Test
+  public void failsWithoutLogger() {
+    assertThrows(SAXParseException.class,
+        () -> new W3cDomHelper(null, null).documentFor("<a><b></a>", null));
+  }
+
+  private static void characters(W3cDocumentBuilder builder, String text) {
+    // pad the chunk, as parsers report text from the middle of their buffers
+    char[] chars = ("[" + text + "]").toCharArray();
+    builder.characters(chars, 1, text.length());
+  }
+
+  private static void assertText(String expected, Node node) {
+    assertEquals(Node.TEXT_NODE, node.getNodeType());
+    assertEquals(expected, node.getNodeValue());
+  }
+}
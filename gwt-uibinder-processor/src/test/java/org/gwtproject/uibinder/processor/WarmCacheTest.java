@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.gwtproject.uibinder.processor.model.OwnerFieldClass.Snapshot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+
+import javax.tools.FileObject;
+
+/**
+ * Checks that the {@link WarmCache} drops the field classes of a jar once the jar changes.
+ */
+class WarmCacheTest {
+
+  private Path jar;
+  private WarmCache cache;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    jar = Files.createTempFile("widgets", ".jar");
+    write("first", 1000);
+    // the cache of the process is replaced when asked for another size
+    WarmCache.get(WarmCache.DEFAULT_MAX_ENTRIES + 1);
+    cache = WarmCache.get(WarmCache.DEFAULT_MAX_ENTRIES);
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(jar);
+  }
+
+  @Test
+  public void unchangedJar() throws Exception {
+    String checksum = cache.getJarChecksum(jar.toFile());
+    assertNotNull(checksum);
+    Snapshot snapshot = put("p.Widget@" + checksum);
+
+    assertEquals(checksum, cache.getJarChecksum(jar.toFile()));
+    assertSame(snapshot, cache.getFieldClass("p.Widget@" + checksum));
+    assertEquals(0, cache.getInvalidations());
+  }
+
+  @Test
+  public void changedJar() throws Exception {
+    String checksum = cache.getJarChecksum(jar.toFile());
+    put("p.Widget@" + checksum);
+    put("p.Other@" + checksum + ",other");
+    put("p.Unrelated@unrelated");
+
+    write("second", 2000);
+    String changed = cache.getJarChecksum(jar.toFile());
+
+    assertNotEquals(checksum, changed);
+    assertEquals(2, cache.getInvalidations());
+    assertNull(cache.getFieldClass("p.Widget@" + checksum));
+    assertNull(cache.getFieldClass("p.Other@" + checksum + ",other"));
+    assertNotNull(cache.getFieldClass("p.Unrelated@unrelated"));
+  }
+
+  @Test
+  public void touchedJar() throws Exception {
+    String checksum = cache.getJarChecksum(jar.toFile());
+    Snapshot snapshot = put("p.Widget@" + checksum);
+
+    // read again, but found to be the same
+    write("first", 2000);
+
+    assertEquals(checksum, cache.getJarChecksum(jar.toFile()));
+    assertSame(snapshot, cache.getFieldClass("p.Widget@" + checksum));
+    assertEquals(0, cache.getInvalidations());
+  }
+
+  @Test
+  public void missingJar() throws Exception {
+    Files.delete(jar);
+
+    assertNull(cache.getJarChecksum(jar.toFile()));
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsed() {
+    WarmCache small = WarmCache.get(2);
+    Snapshot a = Snapshot.fromLines(Collections.emptyList());
+    small.putFieldClass("a", a);
+    small.putFieldClass("b", Snapshot.fromLines(Collections.emptyList()));
+    assertSame(a, small.getFieldClass("a"));
+    small.putFieldClass("c", Snapshot.fromLines(Collections.emptyList()));
+
+    assertSame(a, small.getFieldClass("a"));
+    assertNull(small.getFieldClass("b"));
+    assertEquals(2, small.getSize());
+    assertEquals(2, small.getHits());
+    assertEquals(1, small.getMisses());
+  }
+
+  @Test
+  public void getJar() throws Exception {
+    File file = jar.toFile();
+    assertEquals(file, WarmCache.getJar(
+        fileObject(URI.create("jar:" + file.toURI() + "!/p/Widget.class"))));
+    assertNull(WarmCache.getJar(fileObject(file.toURI())));
+    assertNull(WarmCache.getJar(fileObject(URI.create("jar:http://example.com/a.jar!/A.class"))));
+  }
+
+  private Snapshot put(String key) {
+    Snapshot snapshot = Snapshot.fromLines(Collections.emptyList());
+    cache.putFieldClass(key, snapshot);
+    return snapshot;
+  }
+
+  private void write(String content, long lastModified) throws Exception {
+    Files.write(jar, content.getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(jar, FileTime.fromMillis(lastModified));
+  }
+
+  private static FileObject fileObject(URI uri) {
+    FileObject fileObject = mock(FileObject.class);
+    when(fileObject.toUri()).thenReturn(uri);
+    return fileObject;
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.*;
+import static org.mockito.Mockito.*;
+
+import org.gwtproject.uibinder.CompilationExtension;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Checks {@link WellKnownTypes} against the {@link Types} of the compiler it caches answers of.
+ */
+@ExtendWith(CompilationExtension.class)
+class WellKnownTypesTest {
+
+  private Elements elements;
+  private Types types;
+  private WellKnownTypes wellKnownTypes;
+
+  @BeforeEach
+  public void setup(Elements elements, Types types) {
+    this.elements = elements;
+    this.types = mock(Types.class, delegatesTo(types));
+    wellKnownTypes = new WellKnownTypes(elements, this.types);
+  }
+
+  @Test
+  public void typeElement() {
+    assertSame(elements.getTypeElement("java.lang.String"),
+        wellKnownTypes.getTypeElement("java.lang.String"));
+    assertEquals(elements.getTypeElement("java.lang.String").asType(),
+        wellKnownTypes.getType("java.lang.String"));
+    assertNull(wellKnownTypes.getTypeElement("com.example.Missing"));
+    assertNull(wellKnownTypes.getType("com.example.Missing"));
+  }
+
+  @Test
+  public void isAssignable() {
+    TypeMirror integer = type("java.lang.Integer");
+    TypeMirror number = type("java.lang.Number");
+
+    assertTrue(wellKnownTypes.isAssignable(integer, number));
+    assertFalse(wellKnownTypes.isAssignable(number, integer));
+    assertTrue(wellKnownTypes.isAssignable(integer, integer));
+  }
+
+  @Test
+  public void isAssignableIgnoresTypeArguments() {
+    TypeElement list = elements.getTypeElement("java.util.List");
+    TypeElement collection = elements.getTypeElement("java.util.Collection");
+    TypeMirror listOfString = types.getDeclaredType(list, type("java.lang.String"));
+    TypeMirror collectionOfInteger = types.getDeclaredType(collection, type("java.lang.Integer"));
+
+    assertFalse(types.isAssignable(listOfString, collectionOfInteger));
+    assertTrue(wellKnownTypes.isAssignable(listOfString, collectionOfInteger));
+    assertFalse(wellKnownTypes.isAssignable(collectionOfInteger, listOfString));
+  }
+
+  @Test
+  public void isAssignablePrimitives() {
+    TypeMirror intType = types.getPrimitiveType(TypeKind.INT);
+    TypeMirror longType = types.getPrimitiveType(TypeKind.LONG);
+
+    assertTrue(wellKnownTypes.isAssignable(intType, longType));
+    assertFalse(wellKnownTypes.isAssignable(longType, intType));
+    assertFalse(wellKnownTypes.isAssignable(intType, type("java.lang.String")));
+  }
+
+  @Test
+  public void isAssignableRemembered() {
+    TypeMirror integer = type("java.lang.Integer");
+    TypeMirror number = type("java.lang.Number");
+
+    wellKnownTypes.isAssignable(integer, number);
+    wellKnownTypes.isAssignable(integer, number);
+    wellKnownTypes.isAssignable(number, integer);
+
+    verify(types, times(2)).isAssignable(any(), any());
+  }
+
+  @Test
+  public void isSameType() {
+    TypeMirror string = type("java.lang.String");
+
+    assertTrue(wellKnownTypes.isSameType(string, type("java.lang.String")));
+    assertFalse(wellKnownTypes.isSameType(string, type("java.lang.Object")));
+
+    // compared by name, without asking the compiler
+    verify(types, never()).isSameType(any(), any());
+  }
+
+  @Test
+  public void isSameTypeGenerics() {
+    TypeElement list = elements.getTypeElement("java.util.List");
+    TypeMirror listOfString = types.getDeclaredType(list, type("java.lang.String"));
+    TypeMirror listOfInteger = types.getDeclaredType(list, type("java.lang.Integer"));
+
+    assertTrue(wellKnownTypes.isSameType(listOfString,
+        types.getDeclaredType(list, type("java.lang.String"))));
+    assertFalse(wellKnownTypes.isSameType(listOfString, listOfInteger));
+    assertFalse(wellKnownTypes.isSameType(listOfString, types.erasure(listOfString)));
+  }
+
+  @Test
+  public void isSameTypeInnerClasses() {
+    TypeMirror entry = types.erasure(type("java.util.Map.Entry"));
+
+    assertTrue(wellKnownTypes.isSameType(entry, types.erasure(type("java.util.Map.Entry"))));
+    assertFalse(wellKnownTypes.isSameType(entry, type("java.util.Map")));
+  }
+
+  private TypeMirror type(String qualifiedName) {
+    return elements.getTypeElement(qualifiedName).asType();
+  }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2018 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.gwtproject.uibinder.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.gwtproject.uibinder.processor.model.OwnerFieldClass;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Builds a widget library with {@link WidgetIndexProcessor}, on top of a base library, then reads
+ * its index back from the jar the way binders do.
+ */
+class WidgetIndexTest {
+
+  private static final String WIDGET = "widgets.MyWidget";
+
+  /**
+   * Looks a type up in a new {@link WidgetIndex}, as the binders of a compilation would.
+   */
+  private static class LookupProcessor extends AbstractProcessor {
+
+    final String typeName;
+    final UiBinderApiPackage api;
+    final Set<String> sourceTypes;
+    WidgetIndex index;
+    OwnerFieldClass.Snapshot snapshot;
+
+    LookupProcessor(String typeName, UiBinderApiPackage api, Set<String> sourceTypes) {
+      this.typeName = typeName;
+      this.api = api;
+      this.sourceTypes = sourceTypes;
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+      return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+      return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+      if (index != null) {
+        return false;
+      }
+      AptUtil.setProcessingEnvironment(processingEnv);
+      UiBinderApiPackage.setUiBinderApiPackage(api);
+      try {
+        index = new WidgetIndex(sourceTypes);
+        snapshot = index.getFieldClass(
+            processingEnv.getElementUtils().getTypeElement(typeName).asType());
+      } finally {
+        UiBinderApiPackage.setUiBinderApiPackage(null);
+        AptUtil.setProcessingEnvironment(null);
+      }
+      return false;
+    }
+  }
+
+  private Path root;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    root = Files.createTempDirectory("uibinder-widget-index");
+    writeBase("  public void setColor(String color) {", "  }");
+    write("widgets/MyWidget.java",
+        "package widgets;",
+        "public class MyWidget extends lib.Base {",
+        "  public void setCaption(String caption) {",
+        "  }",
+        "}");
+    compile(Arrays.asList("-Auibinder.widgetIndex=true",
+        "-classpath", classPath("base.jar")),
+        new WidgetIndexProcessor(), root.resolve("widgets-classes"), "widgets/MyWidget.java");
+    jar("widgets-classes", "widgets.jar");
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    try (Stream<Path> paths = Files.walk(root)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Test
+  public void written() throws Exception {
+    List<String> lines = new ArrayList<>();
+    try (JarFile jar = new JarFile(root.resolve("widgets.jar").toFile())) {
+      JarEntry entry = jar.getJarEntry("widgets/" + WidgetIndex.RESOURCE_NAME);
+      assertNotNull(entry);
+      try (InputStream in = jar.getInputStream(entry)) {
+        lines.addAll(Arrays.asList(
+            new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8).split("\n")));
+      }
+    }
+
+    assertEquals("# UiBinder widget index 2", lines.get(0));
+    assertTrue(lines.stream().anyMatch(line -> line.startsWith("class lib.Base ")),
+        lines.toString());
+    assertTrue(lines.contains("type " + WIDGET), lines.toString());
+    assertTrue(lines.contains("api COM_GOOGLE_GWT_UIBINDER"), lines.toString());
+    assertTrue(lines.contains("super lib.Base"), lines.toString());
+    assertTrue(lines.contains("setter caption " + WIDGET + "#setCaption(java.lang.String)"),
+        lines.toString());
+    assertTrue(lines.contains("setter color lib.Base#setColor(java.lang.String)"),
+        lines.toString());
+  }
+
+  @Test
+  public void hit() throws Exception {
+    LookupProcessor lookup = lookup(WIDGET, UiBinderApiPackage.COM_GOOGLE_GWT_UIBINDER);
+
+    assertNotNull(lookup.snapshot);
+    assertTrue(lookup.snapshot.toLines()
+        .contains("setter caption " + WIDGET + "#setCaption(java.lang.String)"));
+    assertEquals(1, lookup.index.getHits());
+    assertEquals(1, lookup.index.getIndexedPackages());
+    assertEquals(0, lookup.index.getStaleEntries());
+  }
+
+  @Test
+  public void otherApi() throws Exception {
+    LookupProcessor lookup = lookup(WIDGET, UiBinderApiPackage.ORG_GWTPROJECT_UIBINDER);
+
+    assertNull(lookup.snapshot);
+    assertEquals(0, lookup.index.getHits());
+    assertEquals(1, lookup.index.getOtherApiEntries());
+  }
+
+  @Test
+  public void changedSupertype() throws Exception {
+    writeBase("  public void setColor(String color) {", "  }",
+        "  public void setBorder(String border) {", "  }");
+
+    LookupProcessor lookup = lookup(WIDGET, UiBinderApiPackage.COM_GOOGLE_GWT_UIBINDER);
+
+    assertNull(lookup.snapshot);
+    assertEquals(0, lookup.index.getHits());
+    assertEquals(1, lookup.index.getStaleEntries());
+  }
+
+  @Test
+  public void compiledFromSource() throws Exception {
+    LookupProcessor lookup = lookup(WIDGET, UiBinderApiPackage.COM_GOOGLE_GWT_UIBINDER,
+        new HashSet<>(Collections.singleton(WIDGET)));
+
+    assertNull(lookup.snapshot);
+    assertEquals(1, lookup.index.getStaleEntries());
+  }
+
+  @Test
+  public void notIndexed() throws Exception {
+    LookupProcessor lookup = lookup("lib.Base", UiBinderApiPackage.COM_GOOGLE_GWT_UIBINDER);
+
+    assertNull(lookup.snapshot);
+    assertEquals(0, lookup.index.getIndexedPackages());
+  }
+
+  private LookupProcessor lookup(String typeName, UiBinderApiPackage api) throws IOException {
+    return lookup(typeName, api, new HashSet<>());
+  }
+
+  private LookupProcessor lookup(String typeName, UiBinderApiPackage api,
+      Set<String> sourceTypes) throws IOException {
+    write("app/App.java",
+        "package app;",
+        "public class App {",
+        "}");
+    LookupProcessor lookup = new LookupProcessor(typeName, api, sourceTypes);
+    compile(Arrays.asList("-proc:only", "-classpath", classPath("base.jar", "widgets.jar")),
+        lookup, root.resolve("app-classes"), "app/App.java");
+    assertNotNull(lookup.index);
+    return lookup;
+  }
+
+  private void writeBase(String... members) throws IOException {
+    List<String> lines = new ArrayList<>(Arrays.asList(
+        "package lib;",
+        "public class Base extends com.google.gwt.user.client.ui.Label {"));
+    lines.addAll(Arrays.asList(members));
+    lines.add("}");
+    write("lib/Base.java", lines.toArray(new String[0]));
+
+    Path classes = root.resolve("base-classes");
+    compile(Collections.singletonList("-proc:none"), null, classes, "lib/Base.java");
+    jar("base-classes", "base.jar");
+  }
+
+  private void compile(List<String> options, Processor processor, Path classes,
+      String source) throws IOException {
+    Files.createDirectories(classes);
+    List<String> allOptions = new ArrayList<>(options);
+    if (!allOptions.contains("-classpath")) {
+      allOptions.addAll(Arrays.asList("-classpath", System.getProperty("java.class.path")));
+    }
+    allOptions.addAll(Arrays.asList("-d", classes.toString()));
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+          allOptions, null,
+          fileManager.getJavaFileObjects(root.resolve("src").resolve(source).toFile()));
+      if (processor != null) {
+        task.setProcessors(Collections.singletonList(processor));
+      }
+      assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+    }
+  }
+
+  private String classPath(String... jars) {
+    StringBuilder classPath = new StringBuilder(System.getProperty("java.class.path"));
+    for (String jar : jars) {
+      classPath.append(File.pathSeparator).append(root.resolve(jar));
+    }
+    return classPath.toString();
+  }
+
+  private void jar(String classes, String jar) throws IOException {
+    Path classesDir = root.resolve(classes);
+    List<Path> files = new ArrayList<>();
+    try (Stream<Path> paths = Files.walk(classesDir)) {
+      paths.filter(Files::isRegularFile).sorted().forEach(files::add);
+    }
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(root.resolve(jar)))) {
+      for (Path file : files) {
+        out.putNextEntry(new JarEntry(
+            classesDir.relativize(file).toString().replace(File.separatorChar, '/')));
+        Files.copy(file, out);
+        out.closeEntry();
+      }
+    }
+  }
+
+  private void write(String path, String... lines) throws IOException {
+    Path file = root.resolve("src").resolve(path);
+    Files.createDirectories(file.getParent());
+    Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+  }
+}
@@ -23,6 +23,7 @@ import org.gwtproject.uibinder.processor.AptUtil;
 import org.gwtproject.uibinder.processor.MortalLogger;
 import org.gwtproject.uibinder.processor.UiBinderApiPackage;
 import org.gwtproject.uibinder.processor.UiBinderContext;
+import org.gwtproject.uibinder.processor.model.OwnerFieldClass.Snapshot;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +32,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
@@ -119,4 +124,84 @@ class OwnerFieldClassTest {
 
     verifyNoMoreInteractions(mockLogger, mockContext);
   }
+
+  @Test
+  public void legacyUiConstructor(Elements elements) throws Exception {
+    TypeElement typeElement = elements.getTypeElement(LegacyConstructorWidget.class.getName());
+    OwnerFieldClass cut = new OwnerFieldClass(typeElement.asType(), mockLogger, mockContext);
+
+    ExecutableElement constructor = cut.getUiConstructor();
+    assertNotNull(constructor);
+    assertEquals(1, constructor.getParameters().size());
+
+    verifyNoMoreInteractions(mockLogger, mockContext);
+  }
+
+  @Test
+  public void snapshotRoundTrip(Elements elements) throws Exception {
+    TypeElement typeElement = elements.getTypeElement(AmbiguousSetterExample.class.getName());
+    OwnerFieldClass clazz = new OwnerFieldClass(typeElement.asType(), mockLogger, mockContext);
+
+    List<String> lines = new Snapshot(clazz).toLines();
+    assertTrue(lines.contains("ambiguous number"), lines.toString());
+    assertEquals(lines, Snapshot.fromLines(lines).toLines());
+
+    OwnerFieldClass restored =
+        Snapshot.fromLines(lines).restore(typeElement.asType(), mockLogger, mockContext);
+    assertNotNull(restored);
+    assertEquals(clazz.getSetter("text"), restored.getSetter("text"));
+    assertNull(restored.getUiConstructor());
+
+    restored.getSetter("number");
+    verify(mockLogger).die(startsWith("Ambiguous setter"));
+    verifyNoMoreInteractions(mockLogger, mockContext);
+  }
+
+  @Test
+  public void snapshotUiConstructor(Elements elements) throws Exception {
+    TypeElement typeElement = elements.getTypeElement(LegacyConstructorWidget.class.getName());
+    OwnerFieldClass clazz = new OwnerFieldClass(typeElement.asType(), mockLogger, mockContext);
+
+    List<String> lines = new Snapshot(clazz).toLines();
+    assertTrue(lines.contains(
+        "constructor " + LegacyConstructorWidget.class.getName() + "#<init>(java.lang.String)"),
+        lines.toString());
+
+    OwnerFieldClass restored =
+        Snapshot.fromLines(lines).restore(typeElement.asType(), mockLogger, mockContext);
+    assertNotNull(restored);
+    assertEquals(clazz.getUiConstructor(), restored.getUiConstructor());
+
+    verifyNoMoreInteractions(mockLogger, mockContext);
+  }
+
+  @Test
+  public void snapshotFromLines() throws Exception {
+    List<String> lines = Arrays.asList(
+        "setter a",
+        "setter b p.B#setB(java.lang.String)",
+        "ambiguous c",
+        "child tab -1 p.B#addTab(p.Tab,java.lang.String)",
+        "constructor p.B#<init>()");
+    assertEquals(lines, Snapshot.fromLines(lines).toLines());
+    assertEquals(Collections.emptyList(), Snapshot.fromLines(Collections.emptyList()).toLines());
+
+    assertNull(Snapshot.fromLines(Collections.singletonList("unknown a")));
+    assertNull(Snapshot.fromLines(Collections.singletonList("setter")));
+    assertNull(Snapshot.fromLines(Collections.singletonList("child tab x p.B#addTab()")));
+    assertNull(Snapshot.fromLines(Collections.singletonList("constructor")));
+  }
+
+  @Test
+  public void snapshotMissingMember(Elements elements) throws Exception {
+    TypeElement typeElement = elements.getTypeElement(AmbiguousSetterExample.class.getName());
+
+    assertNull(Snapshot.fromLines(Collections.singletonList("setter text p.Missing#setText()"))
+        .restore(typeElement.asType(), mockLogger, mockContext));
+    assertNull(Snapshot.fromLines(Collections.singletonList(
+        "setter text " + AmbiguousSetterExample.class.getName() + "#setText(java.lang.Object)"))
+        .restore(typeElement.asType(), mockLogger, mockContext));
+
+    verifyNoMoreInteractions(mockLogger, mockContext);
+  }
 }
\ No newline at end of file